@@ -5,14 +5,19 @@ import com.campus.EventInClubs.domain.model.Role;
 import com.campus.EventInClubs.domain.model.User;
 import com.campus.EventInClubs.repository.HallRepository;
 import com.campus.EventInClubs.repository.UserRepository;
+import com.campus.EventInClubs.service.EventService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.Instant;
 
 @Configuration
+@Slf4j
 public class DataInitializer {
 
     @Bean
@@ -108,7 +113,40 @@ public class DataInitializer {
             }
         };
     }
-}
-
-
 
+    /**
+     * Installs the hall booking exclusion constraint from V15 when missing,
+     * since ddl-auto does not create it. Approved bookings of a hall must stay
+     * more than 2 hours apart; widening both ranges by 1 hour makes them
+     * overlap exactly when they are not. Existing overlapping bookings keep it
+     * from being added, which is logged; the hall row lock in EventService
+     * still serializes new bookings.
+     */
+    @Bean
+    public CommandLineRunner ensureHallBookingConstraint(JdbcTemplate jdbcTemplate) {
+        return args -> {
+            Boolean exists = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ?)",
+                    Boolean.class, EventService.HALL_BOOKING_CONSTRAINT);
+            if (Boolean.TRUE.equals(exists)) {
+                return;
+            }
+            try {
+                jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS btree_gist");
+                jdbcTemplate.execute("ALTER TABLE events ADD CONSTRAINT " + EventService.HALL_BOOKING_CONSTRAINT + " " +
+                        "EXCLUDE USING gist (" +
+                        "    hall_id WITH =," +
+                        "    tsrange(start_date - INTERVAL '1 hour', end_date + INTERVAL '1 hour', '[]') WITH &&" +
+                        ") WHERE (hall_id IS NOT NULL" +
+                        "    AND approval_status = 'APPROVED'" +
+                        "    AND status NOT IN ('CANCELLED', 'COMPLETED')" +
+                        "    AND start_date IS NOT NULL" +
+                        "    AND end_date IS NOT NULL)");
+                log.info("Added hall booking constraint {}", EventService.HALL_BOOKING_CONSTRAINT);
+            } catch (DataAccessException e) {
+                log.warn("Could not add hall booking constraint {}: {}",
+                        EventService.HALL_BOOKING_CONSTRAINT, e.getMostSpecificCause().getMessage());
+            }
+        };
+    }
+}
@@ -1,10 +1,12 @@
 package com.campus.EventInClubs.controller;
 
 import com.campus.EventInClubs.dto.UserAchievementDto;
+import com.campus.EventInClubs.service.AchievementBackfillService;
 import com.campus.EventInClubs.service.AchievementService;
 import com.campus.EventInClubs.security.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -16,6 +18,7 @@ import java.util.Map;
 public class AchievementController {
 
     private final AchievementService achievementService;
+    private final AchievementBackfillService achievementBackfillService;
     private final JwtUtil jwtUtil;
 
     @GetMapping
@@ -42,7 +45,8 @@ public class AchievementController {
             }
             
             Long totalPoints = achievementService.getUserTotalPoints(userId);
-            return ResponseEntity.ok(Map.of("totalPoints", totalPoints));
+            String level = achievementService.getUserLevel(userId);
+            return ResponseEntity.ok(Map.of("totalPoints", totalPoints, "level", level));
         } catch (Exception e) {
             return ResponseEntity.status(401).build();
         }
@@ -73,4 +77,22 @@ public class AchievementController {
             return ResponseEntity.badRequest().body(List.of(Map.of("error", e.getMessage())));
         }
     }
+
+    // Re-apply achievement rules to every user (only for super admins)
+    @PostMapping("/backfill")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<Map<String, Object>> startBackfill(
+            @RequestParam(defaultValue = "false") boolean resume) {
+        try {
+            return ResponseEntity.accepted().body(achievementBackfillService.start(resume));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/backfill/status")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<Map<String, Object>> getBackfillStatus() {
+        return ResponseEntity.ok(achievementBackfillService.getStatus());
+    }
 }
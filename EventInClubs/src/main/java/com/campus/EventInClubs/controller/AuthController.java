@@ -7,16 +7,20 @@ import com.campus.EventInClubs.dto.RegisterRequest;
 import com.campus.EventInClubs.domain.model.User;
 import com.campus.EventInClubs.service.UserService;
 import com.campus.EventInClubs.service.SuperAdminRequestService;
+import com.campus.EventInClubs.security.GoogleIdTokenVerifier;
 import com.campus.EventInClubs.security.JwtUtil;
+import com.campus.EventInClubs.security.PasswordHasher;
+import io.jsonwebtoken.JwtException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -26,110 +30,194 @@ public class AuthController {
     private final UserService userService;
     private final SuperAdminRequestService superAdminRequestService;
     private final JwtUtil jwtUtil;
-    private final PasswordEncoder passwordEncoder;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final PasswordHasher passwordHasher;
+    private final GoogleIdTokenVerifier googleIdTokenVerifier;
 
     // ---------------- REGISTER ----------------
+    // Hashing runs on PasswordHasher's pool; the request thread is released meanwhile
     @PostMapping("/register")
-    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest req) {
+    public CompletableFuture<ResponseEntity<?>> register(@Valid @RequestBody RegisterRequest req) {
+        Role role;
         try {
-            Role role;
-            try {
-                role = Role.valueOf(req.getRole().toUpperCase());
-            } catch (IllegalArgumentException e) {
-                return ResponseEntity.badRequest()
-                        .body(Map.of("error", "role must be one of STUDENT, CLUB_ADMIN, SUPER_ADMIN"));
-            }
-
-            // SUPER_ADMIN functionality disabled - reject super admin registration attempts
-            if (role == Role.SUPER_ADMIN) {
-                return ResponseEntity.badRequest()
-                        .body(Map.of("error", "Super admin registration is currently disabled"));
-                // try {
-                //     superAdminRequestService.createSuperAdminRequest(req.getName(), req.getEmail(), req.getPassword());
-                //     return ResponseEntity.ok(Map.of(
-                //             "message", "Super admin request submitted successfully. Please wait for approval from an existing super admin.",
-                //             "type", "super_admin_request"
-                //     ));
-                // } catch (IllegalArgumentException e) {
-                //     return ResponseEntity.badRequest()
-                //             .body(Map.of("error", e.getMessage()));
-                // }
-            } else {
-                // Regular registration for students and club admins
-                userService.register(req.getName(), req.getEmail(), req.getPassword(), role);
-                return ResponseEntity.ok(Map.of("message", "user registered successfully"));
-            }
+            role = Role.valueOf(req.getRole().toUpperCase());
         } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest()
-                    .body(Map.of("error", e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.status(500)
-                    .body(Map.of("error", "Registration failed: " + e.getMessage()));
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(Map.of("error", "role must be one of STUDENT, CLUB_ADMIN, SUPER_ADMIN")));
+        }
+
+        // SUPER_ADMIN functionality disabled - reject super admin registration attempts
+        if (role == Role.SUPER_ADMIN) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(Map.of("error", "Super admin registration is currently disabled")));
+            // try {
+            //     superAdminRequestService.createSuperAdminRequest(req.getName(), req.getEmail(), req.getPassword());
+            //     return ResponseEntity.ok(Map.of(
+            //             "message", "Super admin request submitted successfully. Please wait for approval from an existing super admin.",
+            //             "type", "super_admin_request"
+            //     ));
+            // } catch (IllegalArgumentException e) {
+            //     return ResponseEntity.badRequest()
+            //             .body(Map.of("error", e.getMessage()));
+            // }
         }
+
+        // Regular registration for students and club admins
+        return userService.register(req.getName(), req.getEmail(), req.getPassword(), role)
+                .<ResponseEntity<?>>thenApply(user -> ResponseEntity.ok(Map.of("message", "user registered successfully")))
+                .exceptionally(e -> {
+                    Throwable cause = unwrap(e);
+                    if (cause instanceof IllegalArgumentException) {
+                        return ResponseEntity.badRequest().body(Map.of("error", cause.getMessage()));
+                    }
+                    if (cause instanceof RejectedExecutionException) {
+                        return tooManyRequests();
+                    }
+                    return ResponseEntity.status(500)
+                            .body(Map.of("error", "Registration failed: " + cause.getMessage()));
+                });
     }
 
     // ---------------- LOGIN ----------------
+    // The password check runs on PasswordHasher's pool; the request thread is released meanwhile
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest req) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest req) {
         User user = userService.findByEmail(req.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        if (!passwordEncoder.matches(req.getPassword(), user.getPasswordHash())) {
-            return ResponseEntity.status(401).body(Map.of("error", "Invalid credentials"));
+        return passwordHasher.matchesAsync(req.getPassword(), user.getPasswordHash())
+                .<ResponseEntity<?>>thenApply(matches -> {
+                    if (!matches) {
+                        return ResponseEntity.status(401).body(Map.of("error", "Invalid credentials"));
+                    }
+
+                    // SUPER_ADMIN functionality disabled - prevent super admin login
+                    if (user.getRole() == Role.SUPER_ADMIN) {
+                        return ResponseEntity.status(403).body(Map.of("error", "Super admin access is currently disabled"));
+                    }
+
+                    return ResponseEntity.ok(issueTokens(user));
+                })
+                .exceptionally(e -> {
+                    if (unwrap(e) instanceof RejectedExecutionException) {
+                        return tooManyRequests();
+                    }
+                    return ResponseEntity.status(500).body(Map.of("error", "Login failed"));
+                });
+    }
+
+    @GetMapping("/hashing-stats")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<Map<String, Object>> getHashingStats() {
+        return ResponseEntity.ok(passwordHasher.getStats());
+    }
+
+    // ---------------- GOOGLE LOGIN ----------------
+    // First sign-ins hash the placeholder password on PasswordHasher's pool; the request thread is released meanwhile
+    @PostMapping("/google")
+    public CompletableFuture<ResponseEntity<?>> googleLogin(@RequestBody GoogleLoginRequest req) {
+        if (req.getIdToken() == null || req.getIdToken().isBlank()) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(Map.of("error", "idToken is required")));
         }
 
-        // SUPER_ADMIN functionality disabled - prevent super admin login
-        if (user.getRole() == Role.SUPER_ADMIN) {
-            return ResponseEntity.status(403).body(Map.of("error", "Super admin access is currently disabled"));
+        // Verify id_token locally against Google's cached signing keys
+        GoogleIdTokenVerifier.GoogleIdentity identity;
+        try {
+            identity = googleIdTokenVerifier.verify(req.getIdToken());
+        } catch (JwtException | IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(401).body(Map.of("error", "Invalid Google token")));
+        } catch (IllegalStateException e) {
+            // Google's signing keys could not be loaded
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(503).body(Map.of("error", "Failed to verify Google token")));
         }
 
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name(), user.getId());
+        String email = identity.email();
+        String name = identity.name() != null ? identity.name() : "Google User";
 
-        return ResponseEntity.ok(Map.of(
-                "token", token,
-                "email", user.getEmail(),
-                "role", user.getRole().name()
-        ));
+        // Ensure user exists; if not, create a STUDENT by default
+        CompletableFuture<User> user = userService.findByEmail(email)
+                .map(CompletableFuture::completedFuture)
+                // UserService encodes the raw password; pass raw placeholder
+                .orElseGet(() -> userService.register(name, email, "google-oauth", Role.STUDENT));
+
+        return user
+                .<ResponseEntity<?>>thenApply(u -> ResponseEntity.ok(issueTokens(u)))
+                .exceptionally(e -> {
+                    Throwable cause = unwrap(e);
+                    if (cause instanceof RejectedExecutionException) {
+                        return tooManyRequests();
+                    }
+                    if (cause instanceof IllegalArgumentException) {
+                        // A concurrent first sign-in for the same email created the user
+                        return userService.findByEmail(email)
+                                .<ResponseEntity<?>>map(u -> ResponseEntity.ok(issueTokens(u)))
+                                .orElseGet(() -> ResponseEntity.status(500).body(Map.of("error", "Google login failed")));
+                    }
+                    return ResponseEntity.status(500).body(Map.of("error", "Google login failed"));
+                });
     }
 
-    // ---------------- GOOGLE LOGIN ----------------
-    @PostMapping("/google")
-    public ResponseEntity<?> googleLogin(@RequestBody GoogleLoginRequest req) {
+    // ---------------- REFRESH ----------------
+    // Exchanges a refresh token for a new access token and refresh token; the old refresh token is revoked
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody Map<String, String> body) {
+        String refreshToken = body.get("refreshToken");
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "refreshToken is required"));
+        }
         try {
-            if (req.getIdToken() == null || req.getIdToken().isBlank()) {
-                return ResponseEntity.badRequest().body(Map.of("error", "idToken is required"));
+            // Revoking is the single-use check; a replayed or concurrently used token is rejected here
+            JwtUtil.ParsedToken parsed = jwtUtil.consumeRefreshToken(refreshToken);
+            // Reload the user so role changes and deletions apply from the next access token on
+            User user = userService.findById(parsed.userId()).orElse(null);
+            if (user == null || !user.getEmail().equals(parsed.email())) {
+                return ResponseEntity.status(401).body(Map.of("error", "Invalid refresh token"));
             }
+            return ResponseEntity.ok(issueTokens(user));
+        } catch (JwtException | IllegalArgumentException e) {
+            return ResponseEntity.status(401).body(Map.of("error", "Invalid refresh token"));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", "Token refresh failed"));
+        }
+    }
 
-            // Verify id_token using Google's tokeninfo endpoint
-            String url = "https://oauth2.googleapis.com/tokeninfo?id_token=" + req.getIdToken();
-            Map<?,?> googleResponse = restTemplate.getForObject(url, Map.class);
-
-            if (googleResponse == null || googleResponse.get("email") == null) {
-                return ResponseEntity.status(401).body(Map.of("error", "Invalid Google token"));
+    // ---------------- LOGOUT ----------------
+    // Revokes the bearer access token and, when given, the refresh token
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                    @RequestBody(required = false) Map<String, String> body) {
+        try {
+            if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                jwtUtil.revoke(authHeader.substring(7));
             }
-
-            String email = googleResponse.get("email").toString();
-            Object nameObj = googleResponse.get("name");
-            String name = nameObj != null ? nameObj.toString() : "Google User";
-
-            // Ensure user exists; if not, create a STUDENT by default
-            User user = userService.findByEmail(email).orElseGet(() -> {
-                // UserService encodes the raw password; pass raw placeholder
-                userService.register(name, email, "google-oauth", Role.STUDENT);
-                return userService.findByEmail(email).orElseThrow();
-            });
-
-            String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name(), user.getId());
-            return ResponseEntity.ok(Map.of(
-                    "token", token,
-                    "email", user.getEmail(),
-                    "role", user.getRole().name()
-            ));
-        } catch (RestClientException ex) {
-            return ResponseEntity.status(401).body(Map.of("error", "Failed to verify Google token"));
+            if (body != null && body.get("refreshToken") != null) {
+                jwtUtil.revoke(body.get("refreshToken"));
+            }
+            return ResponseEntity.ok(Map.of("message", "Logged out"));
         } catch (Exception e) {
-            return ResponseEntity.status(500).body(Map.of("error", "Google login failed"));
+            return ResponseEntity.status(500).body(Map.of("error", "Logout failed"));
         }
     }
+
+    private Map<String, Object> issueTokens(User user) {
+        return Map.of(
+                "token", jwtUtil.generateToken(user.getEmail(), user.getRole().name(), user.getId()),
+                "refreshToken", jwtUtil.generateRefreshToken(user.getEmail(), user.getId()),
+                "email", user.getEmail(),
+                "role", user.getRole().name()
+        );
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    // Password hashing pool is saturated
+    private ResponseEntity<?> tooManyRequests() {
+        return ResponseEntity.status(429)
+                .header("Retry-After", "1")
+                .body(Map.of("error", "Too many sign-in requests right now, please try again shortly"));
+    }
 }
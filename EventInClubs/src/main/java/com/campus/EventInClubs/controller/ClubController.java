@@ -3,11 +3,13 @@ package com.campus.EventInClubs.controller;
 import com.campus.EventInClubs.domain.model.Role;
 import com.campus.EventInClubs.domain.model.User;
 import com.campus.EventInClubs.dto.ClubDto;
+import com.campus.EventInClubs.service.ClubCounterReconciliationService;
 import com.campus.EventInClubs.service.ClubService;
 import com.campus.EventInClubs.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +26,7 @@ public class ClubController {
     
     private final ClubService clubService;
     private final UserService userService;
+    private final ClubCounterReconciliationService counterReconciliationService;
     
     @GetMapping
     public ResponseEntity<List<ClubDto>> getAllActiveClubs() {
@@ -38,9 +41,9 @@ public class ClubController {
     }
     
     @GetMapping("/top")
-    public ResponseEntity<List<ClubDto>> getTopClubs() {
+    public ResponseEntity<List<ClubDto>> getTopClubs(@RequestParam(defaultValue = "0") int limit) {
         try {
-            List<ClubDto> clubs = clubService.getTopClubs();
+            List<ClubDto> clubs = clubService.getTopClubs(limit);
             return ResponseEntity.ok(clubs);
         } catch (Exception e) {
             log.error("Error fetching top clubs", e);
@@ -60,9 +63,10 @@ public class ClubController {
     }
     
     @GetMapping("/top/category/{category}")
-    public ResponseEntity<List<ClubDto>> getTopClubsByCategory(@PathVariable String category) {
+    public ResponseEntity<List<ClubDto>> getTopClubsByCategory(@PathVariable String category,
+                                                               @RequestParam(defaultValue = "0") int limit) {
         try {
-            List<ClubDto> clubs = clubService.getTopClubsByCategory(category);
+            List<ClubDto> clubs = clubService.getTopClubsByCategory(category, limit);
             return ResponseEntity.ok(clubs);
         } catch (Exception e) {
             log.error("Error fetching top clubs by category: {}", category, e);
@@ -219,4 +223,23 @@ public class ClubController {
             return ResponseEntity.internalServerError().build();
         }
     }
+    
+    // Member/event counter drift found by the reconciliation job
+    @GetMapping("/counters/drift")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCounterDrift() {
+        return ResponseEntity.ok(counterReconciliationService.getDriftMetrics());
+    }
+    
+    @PostMapping("/counters/reconcile")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<Map<String, Object>> reconcileCounters() {
+        try {
+            return ResponseEntity.ok(counterReconciliationService.reconcileNow());
+        } catch (Exception e) {
+            log.error("Error reconciling club counters", e);
+            return ResponseEntity.internalServerError()
+                    .body(Map.of("error", "Internal server error"));
+        }
+    }
 }
@@ -2,6 +2,9 @@ package com.campus.EventInClubs.controller;
 
 import com.campus.EventInClubs.domain.model.ClubMembership;
 import com.campus.EventInClubs.dto.ClubMembershipDto;
+import com.campus.EventInClubs.dto.ClubRosterDto;
+import com.campus.EventInClubs.dto.MembershipImportRequest;
+import com.campus.EventInClubs.dto.MembershipImportResultDto;
 import com.campus.EventInClubs.service.ClubMembershipService;
 import com.campus.EventInClubs.security.JwtUtil;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +28,23 @@ public class ClubMembershipController {
         return ResponseEntity.ok(members);
     }
 
+    @GetMapping("/roster")
+    public ResponseEntity<?> getClubRoster(@PathVariable Long clubId,
+                                           @RequestParam(required = false) String role,
+                                           @RequestParam(required = false) String q,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(defaultValue = "50") int size) {
+        try {
+            ClubMembership.MembershipRole roleFilter = role != null && !role.isBlank()
+                    ? ClubMembership.MembershipRole.valueOf(role.toUpperCase()) : null;
+            ClubRosterDto roster = membershipService.getClubRoster(clubId, roleFilter, q, cursor,
+                    Math.max(1, Math.min(size, 200)));
+            return ResponseEntity.ok(roster);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid role or cursor"));
+        }
+    }
+
     @PostMapping("/join")
     public ResponseEntity<ClubMembershipDto> joinClub(@PathVariable Long clubId, 
                                                      @RequestHeader("Authorization") String token) {
@@ -41,6 +61,23 @@ public class ClubMembershipController {
         }
     }
 
+    @PostMapping("/import")
+    public ResponseEntity<?> importMembers(@PathVariable Long clubId,
+                                           @RequestBody MembershipImportRequest request,
+                                           @RequestHeader("Authorization") String token) {
+        try {
+            Long userId = jwtUtil.extractUserId(token.substring(7));
+            if (userId == null) {
+                return ResponseEntity.status(401).body(Map.of("error", "Invalid token"));
+            }
+            
+            MembershipImportResultDto result = membershipService.importMembers(clubId, request, userId);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PostMapping("/leave")
     public ResponseEntity<Map<String, String>> leaveClub(@PathVariable Long clubId, 
                                                         @RequestHeader("Authorization") String token) {
@@ -1,6 +1,9 @@
 package com.campus.EventInClubs.controller;
 
 import com.campus.EventInClubs.dto.CommentDto;
+import com.campus.EventInClubs.dto.CommentTreeDto;
+import com.campus.EventInClubs.dto.SearchPageDto;
+import com.campus.EventInClubs.service.FullTextSearchIndex;
 import com.campus.EventInClubs.service.CommentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,6 +33,40 @@ public class CommentController {
         }
     }
     
+    @GetMapping("/idea/{ideaId}/tree")
+    public ResponseEntity<CommentTreeDto> getCommentTree(@PathVariable Long ideaId,
+                                                         @RequestParam(defaultValue = "0") int page,
+                                                         @RequestParam(defaultValue = "20") int size,
+                                                         @RequestParam(defaultValue = "3") int maxDepth,
+                                                         @RequestParam(defaultValue = "10") int maxReplies) {
+        try {
+            CommentTreeDto tree = commentService.getCommentTree(ideaId, page, size, maxDepth, maxReplies);
+            return ResponseEntity.ok(tree);
+        } catch (Exception e) {
+            log.error("Error fetching comment tree for idea: {}", ideaId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    @GetMapping("/idea/{ideaId}/search")
+    public ResponseEntity<SearchPageDto<CommentDto>> searchCommentsByIdea(@PathVariable Long ideaId,
+                                                                          @RequestParam String q,
+                                                                          @RequestParam(defaultValue = "0") int page,
+                                                                          @RequestParam(defaultValue = "20") int size) {
+        try {
+            if (q == null || q.trim().isEmpty()) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            SearchPageDto<CommentDto> comments = commentService.searchCommentsByIdea(
+                    ideaId, q.trim(), Math.max(0, page), Math.max(1, Math.min(size, FullTextSearchIndex.MAX_PAGE_SIZE)));
+            return ResponseEntity.ok(comments);
+        } catch (Exception e) {
+            log.error("Error searching comments for idea: {} with query: {}", ideaId, q, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<CommentDto>> getCommentsByUser(@PathVariable Long userId) {
         try {
@@ -1,16 +1,29 @@
 package com.campus.EventInClubs.controller;
 
 import com.campus.EventInClubs.domain.model.Hall;
+import com.campus.EventInClubs.dto.HallAssignmentDto;
+import com.campus.EventInClubs.dto.HallFreeSlotsDto;
+import com.campus.EventInClubs.service.HallAllocationService;
 import com.campus.EventInClubs.service.HallService;
+import com.campus.EventInClubs.service.HallUtilizationService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/halls")
@@ -20,6 +33,9 @@ import java.util.Optional;
 public class HallController {
     
     private final HallService hallService;
+    private final HallAllocationService hallAllocationService;
+    private final HallUtilizationService hallUtilizationService;
+    private final ObjectMapper objectMapper;
     
     @GetMapping
     public ResponseEntity<List<Hall>> getAllHalls() {
@@ -58,7 +74,7 @@ public class HallController {
             
             // Log each hall before filtering
             for (Hall hall : availableHalls) {
-                log.info("Hall from DB: {} - Capacity: {} (Required: {})", 
+                log.debug("Hall from DB: {} - Capacity: {} (Required: {})", 
                         hall.getName(), hall.getSeatingCapacity(), participants);
             }
             
@@ -66,7 +82,7 @@ public class HallController {
             List<Hall> suitableHalls = availableHalls.stream()
                     .filter(hall -> {
                         boolean suitable = hall.getSeatingCapacity() >= participants;
-                        log.info("Filtering {} (capacity {}): {}", hall.getName(), hall.getSeatingCapacity(), suitable ? "PASS" : "FAIL");
+                        log.debug("Filtering {} (capacity {}): {}", hall.getName(), hall.getSeatingCapacity(), suitable ? "PASS" : "FAIL");
                         return suitable;
                     })
                     .collect(java.util.stream.Collectors.toList());
@@ -75,7 +91,7 @@ public class HallController {
             
             // Log final result
             for (Hall hall : suitableHalls) {
-                log.info("Final result: {} - Capacity: {}", hall.getName(), hall.getSeatingCapacity());
+                log.debug("Final result: {} - Capacity: {}", hall.getName(), hall.getSeatingCapacity());
             }
             
             return ResponseEntity.ok(suitableHalls);
@@ -107,6 +123,120 @@ public class HallController {
         }
     }
     
+    /**
+     * Free windows per hall for a booking of the given size and length
+     * within [from, to], written out hall by hall as a JSON array.
+     */
+    @GetMapping("/free-slots")
+    public ResponseEntity<?> getFreeSlots(
+            @RequestParam Integer participants,
+            @RequestParam Integer durationMinutes,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        
+        Stream<HallFreeSlotsDto> freeSlots;
+        try {
+            freeSlots = hallService.findFreeSlots(participants, durationMinutes, from, to);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error finding free hall slots", e);
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to find free slots"));
+        }
+        
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                Iterator<HallFreeSlotsDto> halls = freeSlots.iterator();
+                while (halls.hasNext()) {
+                    json.writeObject(halls.next());
+                    json.flush();
+                }
+                json.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+    
+    /**
+     * Proposes halls for all pending-approval events; nothing is saved.
+     */
+    @GetMapping("/allocation/plan")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> getAllocationPlan(@RequestParam(defaultValue = "false") boolean includeAssigned) {
+        try {
+            return ResponseEntity.ok(hallAllocationService.proposePlan(includeAssigned));
+        } catch (Exception e) {
+            log.error("Error planning hall allocation", e);
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to plan hall allocation"));
+        }
+    }
+    
+    /**
+     * Applies a plan's assignments in one transaction; all or nothing.
+     */
+    @PostMapping("/allocation/apply")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> applyAllocationPlan(@RequestBody List<HallAssignmentDto> assignments) {
+        try {
+            int applied = hallAllocationService.applyPlan(assignments);
+            return ResponseEntity.ok(Map.of("applied", applied));
+        } catch (RuntimeException e) {
+            log.error("Error applying hall allocation: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error applying hall allocation", e);
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to apply hall allocation"));
+        }
+    }
+    
+    /**
+     * Occupied minutes per hall, day and hour for every date in [from, to].
+     */
+    @GetMapping("/utilization/heatmap")
+    public ResponseEntity<?> getUtilizationHeatmap(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long hallId) {
+        try {
+            return ResponseEntity.ok(hallUtilizationService.getHeatmap(from, to, hallId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error building hall utilization heatmap", e);
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to load hall utilization"));
+        }
+    }
+    
+    /**
+     * Occupied minutes per hour of day over [from, to], busiest hour first.
+     */
+    @GetMapping("/utilization/peak-hours")
+    public ResponseEntity<?> getPeakHours(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long hallId) {
+        try {
+            return ResponseEntity.ok(hallUtilizationService.getPeakHours(from, to, hallId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error computing hall peak hours", e);
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to load peak hours"));
+        }
+    }
+    
+    @PostMapping("/utilization/rebuild")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> rebuildUtilization() {
+        try {
+            return ResponseEntity.ok(hallUtilizationService.rebuildNow());
+        } catch (Exception e) {
+            log.error("Error rebuilding hall utilization rollups", e);
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to rebuild hall utilization"));
+        }
+    }
+    
     @PostMapping
     public ResponseEntity<Hall> createHall(@RequestBody Hall hall) {
         try {
@@ -1,10 +1,16 @@
 package com.campus.EventInClubs.controller;
 
 import com.campus.EventInClubs.dto.IdeaDto;
+import com.campus.EventInClubs.dto.SearchPageDto;
+import com.campus.EventInClubs.dto.SimilarIdeaDto;
+import com.campus.EventInClubs.security.AuthenticatedUser;
+import com.campus.EventInClubs.service.FullTextSearchIndex;
 import com.campus.EventInClubs.service.IdeaService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -86,13 +92,16 @@ public class IdeaController {
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<IdeaDto>> searchIdeas(@RequestParam String q) {
+    public ResponseEntity<SearchPageDto<IdeaDto>> searchIdeas(@RequestParam String q,
+                                                              @RequestParam(defaultValue = "0") int page,
+                                                              @RequestParam(defaultValue = "20") int size) {
         try {
             if (q == null || q.trim().isEmpty()) {
                 return ResponseEntity.badRequest().build();
             }
             
-            List<IdeaDto> ideas = ideaService.searchIdeas(q.trim());
+            SearchPageDto<IdeaDto> ideas = ideaService.searchIdeas(
+                    q.trim(), Math.max(0, page), Math.max(1, Math.min(size, FullTextSearchIndex.MAX_PAGE_SIZE)));
             return ResponseEntity.ok(ideas);
         } catch (Exception e) {
             log.error("Error searching ideas with query: {}", q, e);
@@ -100,6 +109,40 @@ public class IdeaController {
         }
     }
     
+    // Likely duplicates of a draft idea, checked before submission
+    @PostMapping("/similar")
+    public ResponseEntity<List<SimilarIdeaDto>> findSimilarIdeas(@RequestBody IdeaDto ideaDto,
+                                                                 @RequestParam(required = false) Long problemId,
+                                                                 @RequestParam(required = false) Long eventId) {
+        try {
+            if (problemId == null && eventId == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            List<SimilarIdeaDto> similar = ideaService.findSimilarIdeas(
+                    problemId, eventId, ideaDto.getTitle(), ideaDto.getDescription());
+            return ResponseEntity.ok(similar);
+        } catch (Exception e) {
+            log.error("Error finding similar ideas for problem: {}, event: {}", problemId, eventId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    @GetMapping("/duplicates/problem/{problemId}")
+    @PreAuthorize("hasAnyRole('CLUB_ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<List<List<SimilarIdeaDto>>> getDuplicateClusters(@PathVariable Long problemId,
+                                                                           @AuthenticationPrincipal AuthenticatedUser user) {
+        try {
+            if (!ideaService.canViewDuplicateClusters(problemId, user.userId())) {
+                return ResponseEntity.status(403).build();
+            }
+            return ResponseEntity.ok(ideaService.getDuplicateClustersForProblem(problemId));
+        } catch (Exception e) {
+            log.error("Error clustering duplicate ideas for problem: {}", problemId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<IdeaDto> getIdeaById(@PathVariable Long id) {
         try {
@@ -1,6 +1,8 @@
 package com.campus.EventInClubs.controller;
 
 import com.campus.EventInClubs.dto.ProblemDto;
+import com.campus.EventInClubs.dto.SearchPageDto;
+import com.campus.EventInClubs.service.FullTextSearchIndex;
 import com.campus.EventInClubs.service.ProblemService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,6 +11,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/problems")
@@ -64,13 +67,16 @@ public class ProblemController {
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<ProblemDto>> searchProblems(@RequestParam String q) {
+    public ResponseEntity<SearchPageDto<ProblemDto>> searchProblems(@RequestParam String q,
+                                                                    @RequestParam(defaultValue = "0") int page,
+                                                                    @RequestParam(defaultValue = "20") int size) {
         try {
             if (q == null || q.trim().isEmpty()) {
                 return ResponseEntity.badRequest().build();
             }
             
-            List<ProblemDto> problems = problemService.searchProblems(q.trim());
+            SearchPageDto<ProblemDto> problems = problemService.searchProblems(
+                    q.trim(), Math.max(0, page), Math.max(1, Math.min(size, FullTextSearchIndex.MAX_PAGE_SIZE)));
             return ResponseEntity.ok(problems);
         } catch (Exception e) {
             log.error("Error searching problems with query: {}", q, e);
@@ -79,11 +85,15 @@ public class ProblemController {
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<ProblemDto> getProblemById(@PathVariable Long id) {
+    public ResponseEntity<ProblemDto> getProblemById(@PathVariable Long id,
+                                                     @RequestParam(required = false) Long userId) {
         try {
-            return problemService.getProblemById(id)
-                    .map(ResponseEntity::ok)
-                    .orElse(ResponseEntity.notFound().build());
+            Optional<ProblemDto> problem = problemService.getProblemById(id);
+            if (problem.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            problemService.recordView(id, userId);
+            return ResponseEntity.ok(problem.get());
         } catch (Exception e) {
             log.error("Error fetching problem with id: {}", id, e);
             return ResponseEntity.internalServerError().build();
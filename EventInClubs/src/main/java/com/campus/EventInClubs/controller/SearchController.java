@@ -0,0 +1,34 @@
+package com.campus.EventInClubs.controller;
+
+import com.campus.EventInClubs.dto.UnifiedSearchDto;
+import com.campus.EventInClubs.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class SearchController {
+    
+    private final SearchService searchService;
+    
+    @GetMapping
+    public ResponseEntity<UnifiedSearchDto> search(@RequestParam String q,
+                                                   @RequestParam(defaultValue = "5") int limit) {
+        try {
+            if (q == null || q.trim().isEmpty()) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            UnifiedSearchDto results = searchService.search(q.trim(), Math.max(1, Math.min(limit, 20)));
+            return ResponseEntity.ok(results);
+        } catch (Exception e) {
+            log.error("Error running unified search with query: {}", q, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
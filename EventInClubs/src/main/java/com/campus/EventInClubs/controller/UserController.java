@@ -5,6 +5,7 @@ import com.campus.EventInClubs.domain.model.User;
 import com.campus.EventInClubs.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -60,4 +61,37 @@ public class UserController {
             return ResponseEntity.status(500).build();
         }
     }
+
+    @PutMapping("/{id}/role")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> updateRole(@PathVariable Long id, @RequestBody Map<String, String> body) {
+        try {
+            Role role = Role.valueOf(body.getOrDefault("role", "").toUpperCase());
+            User user = userService.updateRole(id, role);
+            return ResponseEntity.ok(Map.of("id", user.getId(), "role", user.getRole().name()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to update role"));
+        }
+    }
+
+    @PutMapping("/{id}/profile")
+    @PreAuthorize("isAuthenticated() and (hasRole('SUPER_ADMIN') or #id == authentication.principal.userId())")
+    public ResponseEntity<?> updateProfile(@PathVariable Long id, @RequestBody Map<String, String> body) {
+        try {
+            User user = userService.updateProfile(id, body.get("name"), body.get("email"));
+            return ResponseEntity.ok(Map.of("id", user.getId(), "name", user.getName(), "email", user.getEmail()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to update profile"));
+        }
+    }
+
+    @GetMapping("/cache-stats")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(userService.getCacheStats());
+    }
 }
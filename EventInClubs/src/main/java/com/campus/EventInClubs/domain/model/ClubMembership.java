@@ -12,6 +12,8 @@ import java.time.Instant;
 @Entity
 @Table(name = "club_memberships", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "club_id"})
+}, indexes = {
+    @Index(name = "idx_club_memberships_club_active_role", columnList = "club_id, is_active, role")
 })
 public class ClubMembership {
 
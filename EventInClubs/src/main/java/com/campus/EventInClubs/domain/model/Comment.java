@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.Instant;
 
 @Getter
@@ -13,6 +14,7 @@ import java.time.Instant;
 @Builder
 @Entity
 @Table(name = "comments")
+@DynamicUpdate // entity saves must not overwrite counters maintained by atomic UPDATEs
 public class Comment {
 
     @Id
@@ -47,6 +49,10 @@ public class Comment {
     @Builder.Default
     private Integer likeCount = 0;
 
+    @Column(name = "reply_count")
+    @Builder.Default
+    private Integer replyCount = 0;
+
     @Column(name = "is_active", nullable = false)
     @Builder.Default
     private Boolean isActive = true;
@@ -128,6 +128,11 @@ public class Event {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
+    // Optimistic lock; concurrent approvals or edits of the same event fail instead of overwriting each other
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+    
     public enum EventStatus {
         DRAFT,              // Event is being planned by Club Admin
         PENDING_APPROVAL,   // Submitted by Club Admin, waiting for Super Admin approval
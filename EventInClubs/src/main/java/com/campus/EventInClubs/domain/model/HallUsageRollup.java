@@ -0,0 +1,39 @@
+package com.campus.EventInClubs.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+
+/**
+ * Minutes a hall is occupied by approved bookings within one hour of one
+ * day. Maintained by HallUtilizationService.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "hall_usage_rollups", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"hall_id", "usage_date", "hour_of_day"})
+}, indexes = {
+    @Index(name = "idx_hall_usage_rollups_date", columnList = "usage_date")
+})
+public class HallUsageRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "hall_id", nullable = false)
+    private Long hallId;
+
+    @Column(name = "usage_date", nullable = false)
+    private LocalDate usageDate;
+
+    @Column(name = "hour_of_day", nullable = false)
+    private Integer hourOfDay; // 0-23
+
+    @Column(name = "occupied_minutes", nullable = false)
+    private Integer occupiedMinutes; // 0-60
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.Instant;
 
 @Getter
@@ -13,6 +14,7 @@ import java.time.Instant;
 @Builder
 @Entity
 @Table(name = "ideas")
+@DynamicUpdate // entity saves must not overwrite counters maintained by atomic UPDATEs
 public class Idea {
 
     @Id
@@ -10,7 +10,11 @@ import java.time.Instant;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "user_achievements")
+@Table(name = "user_achievements", uniqueConstraints = {
+    // Each level is awarded once; live awards and the backfill insert with ON CONFLICT DO NOTHING
+    @UniqueConstraint(name = "uk_user_achievements_award",
+            columnNames = {"user_id", "achievement_type", "achievement_level"})
+})
 public class UserAchievement {
 
     @Id
@@ -0,0 +1,17 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClubRosterDto {
+    private Long clubId;
+    private List<ClubMembershipDto> members;
+    private String nextCursor; // pass back as ?cursor= for the next page, null on the last page
+    private boolean hasMore;
+}
@@ -3,6 +3,7 @@ package com.campus.EventInClubs.dto;
 import lombok.*;
 
 import java.time.Instant;
+import java.util.List;
 
 @Getter
 @Setter
@@ -20,4 +21,10 @@ public class CommentDto {
     private Boolean isActive;
     private Instant createdAt;
     private Instant updatedAt;
+    private String highlight; // search snippet with <mark> tags, set by search only
+    
+    // Populated only by the threaded comment tree endpoint
+    private List<CommentDto> replies;
+    private Integer replyCount;
+    private Boolean hasMoreReplies;
 }
@@ -0,0 +1,20 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CommentTreeDto {
+    private Long ideaId;
+    private Integer page;
+    private Integer size;
+    private Integer totalThreads;
+    private Integer totalComments;
+    private Boolean hasNext;
+    private List<CommentDto> threads; // top-level comments, newest first, with nested replies
+}
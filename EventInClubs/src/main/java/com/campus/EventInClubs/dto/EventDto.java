@@ -38,6 +38,7 @@ public class EventDto {
     private String pptFileUrl;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version; // send back on update to reject edits based on a stale copy
     
     // Deadline status fields
     private Boolean isExpired;
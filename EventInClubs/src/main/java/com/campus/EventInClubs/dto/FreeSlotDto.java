@@ -0,0 +1,16 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FreeSlotDto {
+    private LocalDateTime start; // earliest start that clears the previous booking's buffer
+    private LocalDateTime end; // latest end that clears the next booking's buffer
+    private long durationMinutes;
+}
@@ -0,0 +1,19 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HallAllocationPlanDto {
+    private List<HallAssignmentDto> assignments; // post these back to apply the plan
+    private List<Long> unassignedEventIds; // no free hall large enough, or missing dates
+    private int eventsConsidered;
+    private int totalWastedSeats;
+    private LocalDateTime generatedAt;
+}
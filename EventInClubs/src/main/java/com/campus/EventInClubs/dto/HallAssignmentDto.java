@@ -0,0 +1,23 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HallAssignmentDto {
+    private Long eventId;
+    private String eventTitle;
+    private Integer participants;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private Long hallId;
+    private String hallName;
+    private Integer hallCapacity;
+    private Long previousHallId; // hall chosen at submission, null if none
+    private Integer wastedSeats;
+}
@@ -0,0 +1,17 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HallDayUsageDto {
+    private LocalDate date;
+    private int occupiedMinutes;
+    private double utilization; // share of the day's 1440 minutes
+    private int[] hourlyMinutes; // occupied minutes per hour of day, index 0-23
+}
@@ -0,0 +1,18 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HallFreeSlotsDto {
+    private Long hallId;
+    private String hallName;
+    private Integer seatingCapacity;
+    private String location;
+    private List<FreeSlotDto> slots;
+}
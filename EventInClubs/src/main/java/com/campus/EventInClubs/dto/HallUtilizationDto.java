@@ -0,0 +1,19 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HallUtilizationDto {
+    private Long hallId;
+    private String hallName;
+    private Integer seatingCapacity;
+    private long totalOccupiedMinutes;
+    private double utilization; // share of all minutes in the range
+    private List<HallDayUsageDto> days; // one per date in the range, empty days included
+}
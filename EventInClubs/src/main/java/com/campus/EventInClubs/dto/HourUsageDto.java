@@ -0,0 +1,14 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HourUsageDto {
+    private int hour; // hour of day, 0-23
+    private long occupiedMinutes; // summed over the halls and days in the range
+    private double utilization; // share of the hall-minutes available in this hour
+}
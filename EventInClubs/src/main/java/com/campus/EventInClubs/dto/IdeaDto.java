@@ -3,6 +3,7 @@ package com.campus.EventInClubs.dto;
 import lombok.*;
 
 import java.time.Instant;
+import java.util.List;
 
 @Getter
 @Setter
@@ -20,12 +21,17 @@ public class IdeaDto {
     private String status; // SUBMITTED, UNDER_REVIEW, APPROVED, IMPLEMENTED, REJECTED
     private Long problemId;
     private String problemTitle;
+    private Long clubId;
+    private String clubName;
     private Long submittedById;
     private String submittedByName;
     private Boolean isActive;
     private Boolean isFeatured;
     private Long upvotes;
     private Long downvotes;
+    private Integer commentCount;
     private Instant createdAt;
     private Instant updatedAt;
+    private List<SimilarIdeaDto> possibleDuplicates; // set on create only
+    private String highlight; // search snippet with <mark> tags, set by search only
 }
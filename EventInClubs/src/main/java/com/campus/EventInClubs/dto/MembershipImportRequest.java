@@ -0,0 +1,15 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MembershipImportRequest {
+    private List<Long> userIds;
+    private List<String> emails;
+}
@@ -0,0 +1,21 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MembershipImportResultDto {
+    private Long clubId;
+    private int requested;
+    private int added;
+    private int reactivated; // former members whose membership was restored
+    private int alreadyMembers;
+    private List<Long> bannedUserIds; // skipped, bans are never lifted by an import
+    private List<Long> unknownUserIds;
+    private List<String> unknownEmails;
+}
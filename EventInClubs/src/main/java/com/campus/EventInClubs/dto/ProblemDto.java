@@ -24,6 +24,8 @@ public class ProblemDto {
     private Instant deadline;
     private Boolean isExpired;
     private Boolean isViewOnly; // deadline passed but not yet removed
+    private Long viewCount; // includes views not yet flushed to the database
     private Instant createdAt;
     private Instant updatedAt;
+    private String highlight; // search snippet with <mark> tags, set by search only
 }
@@ -0,0 +1,18 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchPageDto<T> {
+    private Integer page;
+    private Integer size;
+    private Integer total; // all matching documents, not just this page
+    private Boolean hasNext;
+    private List<T> results; // best match first
+}
@@ -0,0 +1,15 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchSuggestionDto {
+    private String type; // CLUB, EVENT, IDEA or PROBLEM
+    private Long id;
+    private String label;
+    private Boolean exactMatch; // false when the match needed typo correction
+}
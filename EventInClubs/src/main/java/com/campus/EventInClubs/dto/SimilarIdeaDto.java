@@ -0,0 +1,14 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimilarIdeaDto {
+    private Long ideaId;
+    private String title;
+    private Double similarity; // estimated Jaccard similarity, 0.0 - 1.0
+}
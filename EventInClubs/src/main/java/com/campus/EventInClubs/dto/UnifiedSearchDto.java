@@ -0,0 +1,18 @@
+package com.campus.EventInClubs.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UnifiedSearchDto {
+    private String query;
+    private List<SearchSuggestionDto> clubs;
+    private List<SearchSuggestionDto> events;
+    private List<SearchSuggestionDto> ideas;
+    private List<SearchSuggestionDto> problems;
+}
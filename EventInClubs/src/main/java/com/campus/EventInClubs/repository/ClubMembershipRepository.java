@@ -1,17 +1,57 @@
 package com.campus.EventInClubs.repository;
 
 import com.campus.EventInClubs.domain.model.ClubMembership;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ClubMembershipRepository extends JpaRepository<ClubMembership, Long> {
     
+    // Roster row joined with the member's user, without loading entities
+    interface RosterRow {
+        Long getId();
+        Long getUserId();
+        String getUserName();
+        String getUserEmail();
+        ClubMembership.MembershipRole getRole();
+        ClubMembership.MembershipStatus getStatus();
+        Instant getJoinedAt();
+        String getSortName();
+    }
+    
+    /**
+     * One roster page ordered by (lower-cased name, membership id), starting
+     * after the given keyset. Pass an empty afterName and afterId 0 for the
+     * first page, all roles for no role filter and "%" for no search. The
+     * search pattern must be lower-cased with LIKE wildcards escaped by '!'.
+     */
+    @Query("SELECT cm.id AS id, u.id AS userId, u.name AS userName, u.email AS userEmail, " +
+           "cm.role AS role, cm.status AS status, cm.joinedAt AS joinedAt, " +
+           "COALESCE(LOWER(u.name), '') AS sortName " +
+           "FROM ClubMembership cm JOIN cm.user u " +
+           "WHERE cm.club.id = :clubId AND cm.isActive = true AND cm.role IN :roles " +
+           "AND (COALESCE(LOWER(u.name), '') LIKE :pattern ESCAPE '!' " +
+           "OR COALESCE(LOWER(u.name), '') LIKE :wordPattern ESCAPE '!' " +
+           "OR LOWER(u.email) LIKE :pattern ESCAPE '!') " +
+           "AND (COALESCE(LOWER(u.name), '') > :afterName " +
+           "OR (COALESCE(LOWER(u.name), '') = :afterName AND cm.id > :afterId)) " +
+           "ORDER BY COALESCE(LOWER(u.name), ''), cm.id")
+    List<RosterRow> findRosterPage(@Param("clubId") Long clubId,
+                                   @Param("roles") Collection<ClubMembership.MembershipRole> roles,
+                                   @Param("pattern") String pattern,
+                                   @Param("wordPattern") String wordPattern,
+                                   @Param("afterName") String afterName,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
+    
     List<ClubMembership> findByClubIdAndIsActiveTrue(Long clubId);
     List<ClubMembership> findByUserIdAndIsActiveTrue(Long userId);
     Optional<ClubMembership> findByUserIdAndClubIdAndIsActiveTrue(Long userId, Long clubId);
@@ -23,4 +63,13 @@ public interface ClubMembershipRepository extends JpaRepository<ClubMembership,
     List<ClubMembership> findByClubIdAndRole(@Param("clubId") Long clubId, @Param("role") ClubMembership.MembershipRole role);
     
     boolean existsByUserIdAndClubIdAndIsActiveTrue(Long userId, Long clubId);
+    
+    @Query("SELECT cm.role FROM ClubMembership cm " +
+           "WHERE cm.user.id = :userId AND cm.club.id = :clubId AND cm.isActive = true")
+    Optional<ClubMembership.MembershipRole> findActiveRole(@Param("userId") Long userId, @Param("clubId") Long clubId);
+    
+    // Existing memberships (active or not) of the given users: user id, is active, status
+    @Query("SELECT cm.user.id, cm.isActive, cm.status FROM ClubMembership cm " +
+           "WHERE cm.club.id = :clubId AND cm.user.id IN :userIds")
+    List<Object[]> findMembershipStatesByUserIds(@Param("clubId") Long clubId, @Param("userIds") List<Long> userIds);
 }
@@ -3,6 +3,7 @@ package com.campus.EventInClubs.repository;
 import com.campus.EventInClubs.domain.model.ApprovalStatus;
 import com.campus.EventInClubs.domain.model.Club;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -20,6 +21,10 @@ public interface ClubRepository extends JpaRepository<Club, Long> {
     List<Club> findByCategory(String category);
     
     List<Club> findByIsActiveTrue();
+    
+    // Active clubs with their admin loaded, for the club directory snapshot
+    @Query("SELECT c FROM Club c LEFT JOIN FETCH c.adminUser WHERE c.isActive = true")
+    List<Club> findActiveClubsWithAdmin();
     List<Club> findByIsActiveTrueAndApprovalStatus(ApprovalStatus approvalStatus);
     List<Club> findByApprovalStatus(ApprovalStatus approvalStatus);
     
@@ -34,6 +39,14 @@ public interface ClubRepository extends JpaRepository<Club, Long> {
     @Query("SELECT c FROM Club c WHERE c.isActive = true AND c.category = :category ORDER BY c.rating DESC")
     List<Club> findTopClubsByCategory(@Param("category") String category);
     
+    // Autocomplete index rows: id, name, short name
+    @Query("SELECT c.id, c.name, c.shortName FROM Club c WHERE c.isActive = true")
+    List<Object[]> findActiveClubNameRows();
+    
+    // Permission checks: club id, admin user id (null when the club has no admin)
+    @Query("SELECT c.id, a.id FROM Club c LEFT JOIN c.adminUser a WHERE c.id = :clubId")
+    List<Object[]> findAdminRow(@Param("clubId") Long clubId);
+    
     boolean existsByName(String name);
     
     boolean existsByShortName(String shortName);
@@ -41,4 +54,15 @@ public interface ClubRepository extends JpaRepository<Club, Long> {
     long countByIsActiveTrue();
     
     long countByApprovalStatus(ApprovalStatus approvalStatus);
+    
+    // Counter maintenance; atomic so concurrent joins never lose an update
+    @Modifying
+    @Query("UPDATE Club c SET c.memberCount = CASE WHEN COALESCE(c.memberCount, 0) + :delta < 0 THEN 0 " +
+           "ELSE COALESCE(c.memberCount, 0) + :delta END WHERE c.id = :clubId")
+    int adjustMemberCount(@Param("clubId") Long clubId, @Param("delta") int delta);
+    
+    @Modifying
+    @Query("UPDATE Club c SET c.eventCount = CASE WHEN COALESCE(c.eventCount, 0) + :delta < 0 THEN 0 " +
+           "ELSE COALESCE(c.eventCount, 0) + :delta END WHERE c.id = :clubId")
+    int adjustEventCount(@Param("clubId") Long clubId, @Param("delta") int delta);
 }
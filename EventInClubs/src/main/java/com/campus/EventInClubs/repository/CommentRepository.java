@@ -4,6 +4,7 @@ import com.campus.EventInClubs.domain.model.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -47,6 +48,32 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query("SELECT c FROM Comment c WHERE c.idea.id = :ideaId AND c.content LIKE %:searchTerm% ORDER BY c.createdAt DESC")
     List<Comment> searchCommentsByIdeaId(@Param("ideaId") Long ideaId, @Param("searchTerm") String searchTerm);
     
+    // Flat projection of an idea's active comments with author names, used to assemble the thread tree in memory
+    @Query("SELECT c.id, c.parentComment.id, u.id, u.name, c.content, c.isActive, c.createdAt, c.updatedAt " +
+           "FROM Comment c JOIN c.user u WHERE c.idea.id = :ideaId AND c.isActive = true " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Object[]> findActiveCommentRowsByIdeaId(@Param("ideaId") Long ideaId);
+    
+    // Text of active comments for the search index
+    @Query("SELECT c.id, c.idea.id, c.content FROM Comment c WHERE c.isActive = true")
+    List<Object[]> findActiveCommentTextRows();
+    
+    // Counter maintenance
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = COALESCE(c.replyCount, 0) + :delta WHERE c.id = :commentId")
+    int adjustReplyCount(@Param("commentId") Long commentId, @Param("delta") int delta);
+    
+    @Modifying
+    @Query(value = "UPDATE comments c SET reply_count = sub.cnt FROM (" +
+                   "SELECT p.id, COUNT(r.id) AS cnt FROM comments p " +
+                   "LEFT JOIN comments r ON r.parent_comment_id = p.id AND r.is_active = true " +
+                   "GROUP BY p.id) sub " +
+                   "WHERE c.id = sub.id AND c.reply_count IS DISTINCT FROM sub.cnt", nativeQuery = true)
+    int repairReplyCounts();
+    
     // Additional method for achievement service
     Long countByUserIdAndIsActiveTrue(Long userId);
+    
+    @Query("SELECT c.user.id, COUNT(c) FROM Comment c WHERE c.isActive = true AND c.user.id IN :userIds GROUP BY c.user.id")
+    List<Object[]> countActiveCommentsGroupedByUser(@Param("userIds") List<Long> userIds);
 }
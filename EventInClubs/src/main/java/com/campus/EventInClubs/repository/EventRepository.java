@@ -61,4 +61,38 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     List<Event> findExpiredEvents(@Param("oneHourAgo") LocalDateTime oneHourAgo);
     
     long countByIsActiveTrue();
+    
+    // Autocomplete index rows: id, title
+    @Query("SELECT e.id, e.title FROM Event e WHERE e.isActive IS NULL OR e.isActive = true")
+    List<Object[]> findActiveEventTitleRows();
+    
+    // Hall availability rows for bookings that hold a hall: event id, hall id, start, end
+    @Query("SELECT e.id, e.hall.id, e.startDate, e.endDate FROM Event e WHERE e.hall IS NOT NULL " +
+           "AND e.approvalStatus = 'APPROVED' AND e.status NOT IN ('CANCELLED', 'COMPLETED')")
+    List<Object[]> findHallBookingRows();
+    
+    // Committed bookings of the hall overlapping [from, to] once widened by the buffer, or undated ones
+    @Query("SELECT COUNT(e) > 0 FROM Event e WHERE e.hall.id = :hallId AND e.id <> :excludeEventId " +
+           "AND e.approvalStatus = 'APPROVED' AND e.status NOT IN ('CANCELLED', 'COMPLETED') " +
+           "AND (e.startDate IS NULL OR e.endDate IS NULL " +
+           "     OR (e.startDate <= :bufferedTo AND e.endDate >= :bufferedFrom))")
+    boolean existsHallBookingConflict(@Param("hallId") Long hallId,
+                                      @Param("excludeEventId") Long excludeEventId,
+                                      @Param("bufferedFrom") LocalDateTime bufferedFrom,
+                                      @Param("bufferedTo") LocalDateTime bufferedTo);
+    
+    // Any committed booking of the hall; an undated booking conflicts with all of them
+    @Query("SELECT COUNT(e) > 0 FROM Event e WHERE e.hall.id = :hallId AND e.id <> :excludeEventId " +
+           "AND e.approvalStatus = 'APPROVED' AND e.status NOT IN ('CANCELLED', 'COMPLETED')")
+    boolean existsHallBooking(@Param("hallId") Long hallId, @Param("excludeEventId") Long excludeEventId);
+    
+    // Bookings counted towards hall utilization, completed ones included: event id, hall id, start, end
+    @Query("SELECT e.id, e.hall.id, e.startDate, e.endDate FROM Event e WHERE e.hall IS NOT NULL " +
+           "AND e.approvalStatus = 'APPROVED' AND e.status <> 'CANCELLED' " +
+           "AND e.startDate IS NOT NULL AND e.endDate IS NOT NULL")
+    List<Object[]> findHallUsageRows();
+    
+    @Query("SELECT e FROM Event e LEFT JOIN FETCH e.hall WHERE e.status = 'PENDING_APPROVAL' " +
+           "AND (e.isActive IS NULL OR e.isActive = true) ORDER BY e.startDate")
+    List<Event> findActivePendingApprovalEvents();
 }
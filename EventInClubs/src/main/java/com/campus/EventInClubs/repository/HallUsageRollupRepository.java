@@ -0,0 +1,21 @@
+package com.campus.EventInClubs.repository;
+
+import com.campus.EventInClubs.domain.model.HallUsageRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface HallUsageRollupRepository extends JpaRepository<HallUsageRollup, Long> {
+    
+    // Heatmap rows: hall id, date, hour of day, occupied minutes
+    @Query("SELECT r.hallId, r.usageDate, r.hourOfDay, r.occupiedMinutes FROM HallUsageRollup r " +
+           "WHERE r.usageDate BETWEEN :from AND :to AND (:hallId IS NULL OR r.hallId = :hallId) " +
+           "AND r.occupiedMinutes > 0")
+    List<Object[]> findUsageRows(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                 @Param("hallId") Long hallId);
+}
@@ -5,15 +5,71 @@ import com.campus.EventInClubs.domain.model.Idea.IdeaStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 
 @Repository
 public interface IdeaRepository extends JpaRepository<Idea, Long> {
     
+    /**
+     * Scalar projection of an idea with its submitter, problem and club joined,
+     * so listings can build IdeaDtos without touching lazy associations.
+     */
+    interface IdeaListingRow {
+        Long getId();
+        String getTitle();
+        String getDescription();
+        String getImplementationPlan();
+        String getExpectedOutcome();
+        String getPptFileUrl();
+        IdeaStatus getStatus();
+        Boolean getIsActive();
+        Boolean getIsFeatured();
+        Integer getCommentCount();
+        Instant getCreatedAt();
+        Instant getUpdatedAt();
+        Long getProblemId();
+        String getProblemTitle();
+        Long getClubId();
+        String getClubName();
+        Long getSubmittedById();
+        String getSubmittedByName();
+    }
+    
+    String IDEA_LISTING_SELECT = "SELECT i.id AS id, i.title AS title, i.description AS description, " +
+            "i.implementationPlan AS implementationPlan, i.expectedOutcome AS expectedOutcome, " +
+            "i.pptFileUrl AS pptFileUrl, i.status AS status, i.isActive AS isActive, i.isFeatured AS isFeatured, " +
+            "i.commentCount AS commentCount, i.createdAt AS createdAt, i.updatedAt AS updatedAt, " +
+            "p.id AS problemId, p.title AS problemTitle, c.id AS clubId, c.name AS clubName, " +
+            "u.id AS submittedById, u.name AS submittedByName " +
+            "FROM Idea i JOIN i.submittedBy u LEFT JOIN i.problem p LEFT JOIN p.club c ";
+    
+    // Listing projections
+    @Query(IDEA_LISTING_SELECT + "WHERE i.isActive = true ORDER BY i.createdAt DESC")
+    List<IdeaListingRow> findActiveIdeaRows();
+    
+    @Query(IDEA_LISTING_SELECT + "WHERE p.id = :problemId AND i.isActive = true ORDER BY i.createdAt DESC")
+    List<IdeaListingRow> findActiveIdeaRowsByProblemId(@Param("problemId") Long problemId);
+    
+    @Query(IDEA_LISTING_SELECT + "WHERE u.id = :userId AND i.isActive = true ORDER BY i.createdAt DESC")
+    List<IdeaListingRow> findActiveIdeaRowsByUserId(@Param("userId") Long userId);
+    
+    @Query(IDEA_LISTING_SELECT + "WHERE i.isFeatured = true AND i.isActive = true ORDER BY i.createdAt DESC")
+    List<IdeaListingRow> findFeaturedIdeaRows();
+    
+    @Query(IDEA_LISTING_SELECT + "WHERE i.id IN :ideaIds")
+    List<IdeaListingRow> findIdeaRowsByIds(@Param("ideaIds") List<Long> ideaIds);
+    
+    // Owning club of an idea, through its problem or else its event
+    @Query("SELECT COALESCE(pc.id, ec.id) FROM Idea i LEFT JOIN i.problem p LEFT JOIN p.club pc " +
+           "LEFT JOIN i.event e LEFT JOIN e.club ec WHERE i.id = :ideaId")
+    List<Long> findClubIdByIdeaId(@Param("ideaId") Long ideaId);
+    
     // Basic queries
     List<Idea> findByIsActiveTrueOrderByCreatedAtDesc();
     List<Idea> findByProblemId(Long problemId);
@@ -71,6 +127,34 @@ public interface IdeaRepository extends JpaRepository<Idea, Long> {
     Long countBySubmittedByIdAndIsActiveTrue(Long submittedById);
     Long countBySubmittedByIdAndStatusAndIsActiveTrue(Long submittedById, IdeaStatus status);
     
+    // Grouped counts for the achievement backfill
+    @Query("SELECT i.submittedBy.id, COUNT(i) FROM Idea i WHERE i.isActive = true AND i.submittedBy.id IN :userIds " +
+           "GROUP BY i.submittedBy.id")
+    List<Object[]> countActiveIdeasGroupedByUser(@Param("userIds") List<Long> userIds);
+    
+    @Query("SELECT i.submittedBy.id, COUNT(i) FROM Idea i WHERE i.isActive = true AND i.status IN :statuses " +
+           "AND i.submittedBy.id IN :userIds GROUP BY i.submittedBy.id")
+    List<Object[]> countActiveIdeasByStatusGroupedByUser(@Param("userIds") List<Long> userIds,
+                                                         @Param("statuses") List<IdeaStatus> statuses);
+    
+    // Text of active ideas for the similarity index
+    @Query("SELECT i.id, p.id, e.id, i.title, i.description FROM Idea i LEFT JOIN i.problem p LEFT JOIN i.event e " +
+           "WHERE i.isActive = true")
+    List<Object[]> findActiveIdeaTextRows();
+    
+    // Counter maintenance
+    @Modifying
+    @Query("UPDATE Idea i SET i.commentCount = COALESCE(i.commentCount, 0) + :delta WHERE i.id = :ideaId")
+    int adjustCommentCount(@Param("ideaId") Long ideaId, @Param("delta") int delta);
+    
+    @Modifying
+    @Query(value = "UPDATE ideas i SET comment_count = sub.cnt FROM (" +
+                   "SELECT i2.id, COUNT(c.id) AS cnt FROM ideas i2 " +
+                   "LEFT JOIN comments c ON c.idea_id = i2.id AND c.is_active = true " +
+                   "GROUP BY i2.id) sub " +
+                   "WHERE i.id = sub.id AND i.comment_count IS DISTINCT FROM sub.cnt", nativeQuery = true)
+    int repairCommentCounts();
+    
     // Method to count ideas by user and event (for limiting submissions)
     Long countByEventIdAndSubmittedByIdAndIsActiveTrue(Long eventId, Long submittedById);
 }
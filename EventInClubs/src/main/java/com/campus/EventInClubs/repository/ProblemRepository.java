@@ -37,8 +37,12 @@ public interface ProblemRepository extends JpaRepository<Problem, Long> {
     @Query("SELECT p FROM Problem p WHERE p.status = 'OPEN' AND p.category = :category ORDER BY p.createdAt DESC")
     List<Problem> findActiveProblemsByCategory(@Param("category") String category);
     
-    @Query("SELECT p FROM Problem p WHERE p.status = 'OPEN' AND p.deadline > :now ORDER BY p.ideaCount DESC, p.viewCount DESC")
-    List<Problem> findTrendingProblems(@Param("now") Instant now);
+    // Active problems not yet expired at :expiredBefore, ranked by ideas then buffered page views
+    @Query("SELECT p FROM Problem p WHERE p.isActive = true AND " +
+           "(p.deadline IS NULL OR p.deadline > :expiredBefore) ORDER BY " +
+           "(SELECT COUNT(i) FROM Idea i WHERE i.problem.id = p.id AND i.isActive = true) DESC, " +
+           "p.viewCount DESC, p.createdAt DESC")
+    List<Problem> findTrendingProblems(@Param("expiredBefore") Instant expiredBefore);
     
     @Query("SELECT p FROM Problem p WHERE p.club.id = :clubId ORDER BY p.createdAt DESC")
     Page<Problem> findByClubIdWithPagination(@Param("clubId") Long clubId, Pageable pageable);
@@ -54,13 +58,32 @@ public interface ProblemRepository extends JpaRepository<Problem, Long> {
            "ORDER BY p.createdAt DESC")
     List<Problem> searchActiveProblems(@Param("searchTerm") String searchTerm);
     
-    // Trending problems method
-    @Query("SELECT p FROM Problem p WHERE p.isActive = true ORDER BY " +
-           "(SELECT COUNT(i) FROM Idea i WHERE i.problem.id = p.id AND i.isActive = true) DESC, " +
-           "p.createdAt DESC")
-    List<Problem> findTrendingProblems();
+    // Text of active problems for the search index
+    @Query("SELECT p.id, p.title, p.description, p.category FROM Problem p WHERE p.isActive = true")
+    List<Object[]> findActiveProblemTextRows();
+    
+    // Club that posted a problem, empty when the problem does not exist
+    @Query("SELECT p.club.id FROM Problem p WHERE p.id = :problemId")
+    List<Long> findClubIdById(@Param("problemId") Long problemId);
+    
+    // Deadlines of active problems for the expiry queue
+    @Query("SELECT p.id, p.deadline FROM Problem p WHERE p.isActive = true AND p.deadline IS NOT NULL")
+    List<Object[]> findActiveProblemDeadlineRows();
+    
+    // Listings of active problems not yet expired at :expiredBefore (deadline + grace period)
+    @Query("SELECT p FROM Problem p JOIN FETCH p.club JOIN FETCH p.postedBy WHERE p.isActive = true AND " +
+           "(p.deadline IS NULL OR p.deadline > :expiredBefore) ORDER BY p.createdAt DESC")
+    List<Problem> findUnexpiredProblems(@Param("expiredBefore") Instant expiredBefore);
+    
+    @Query("SELECT p FROM Problem p JOIN FETCH p.club JOIN FETCH p.postedBy WHERE p.club.id = :clubId AND " +
+           "p.isActive = true AND (p.deadline IS NULL OR p.deadline > :expiredBefore) ORDER BY p.createdAt DESC")
+    List<Problem> findUnexpiredProblemsByClubId(@Param("clubId") Long clubId, @Param("expiredBefore") Instant expiredBefore);
+    
+    @Query("SELECT p FROM Problem p JOIN FETCH p.club JOIN FETCH p.postedBy WHERE p.category = :category AND " +
+           "p.isActive = true AND (p.deadline IS NULL OR p.deadline > :expiredBefore) ORDER BY p.createdAt DESC")
+    List<Problem> findUnexpiredProblemsByCategory(@Param("category") String category, @Param("expiredBefore") Instant expiredBefore);
     
-    // Find problems that are expired (deadline + 1 hour has passed)
-    @Query("SELECT p FROM Problem p WHERE p.isActive = true AND p.deadline IS NOT NULL AND p.deadline < :oneHourAgo")
-    List<Problem> findExpiredProblems(@Param("oneHourAgo") Instant oneHourAgo);
+    @Query("SELECT p FROM Problem p JOIN FETCH p.club JOIN FETCH p.postedBy WHERE p.id IN :ids AND " +
+           "p.isActive = true AND (p.deadline IS NULL OR p.deadline > :expiredBefore)")
+    List<Problem> findUnexpiredProblemsByIds(@Param("ids") List<Long> ids, @Param("expiredBefore") Instant expiredBefore);
 }
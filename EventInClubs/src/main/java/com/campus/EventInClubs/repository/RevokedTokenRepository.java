@@ -0,0 +1,31 @@
+package com.campus.EventInClubs.repository;
+
+import com.campus.EventInClubs.domain.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+    
+    // Returns 0 when the jti is already revoked; the unique jti makes concurrent inserts of the same id exclusive
+    @Modifying
+    @Query(value = "INSERT INTO revoked_tokens (jti, expires_at, revoked_at) VALUES (:jti, :expiresAt, :revokedAt) " +
+                   "ON CONFLICT (jti) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("jti") String jti, @Param("expiresAt") Instant expiresAt,
+                       @Param("revokedAt") Instant revokedAt);
+    
+    // Revocations still in force that were made after the given time: jti, expires at, revoked at
+    @Query("SELECT r.jti, r.expiresAt, r.revokedAt FROM RevokedToken r " +
+           "WHERE r.expiresAt > :now AND r.revokedAt > :since")
+    List<Object[]> findActiveRowsRevokedAfter(@Param("now") Instant now, @Param("since") Instant since);
+    
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
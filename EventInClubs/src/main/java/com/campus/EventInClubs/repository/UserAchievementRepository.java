@@ -19,6 +19,12 @@ public interface UserAchievementRepository extends JpaRepository<UserAchievement
     @Query("SELECT SUM(ua.pointsEarned) FROM UserAchievement ua WHERE ua.user.id = :userId")
     Long getTotalPointsByUserId(@Param("userId") Long userId);
     
+    @Query("SELECT ua.user.id, SUM(ua.pointsEarned) FROM UserAchievement ua GROUP BY ua.user.id")
+    List<Object[]> getTotalPointsGroupedByUser();
+    
+    @Query("SELECT ua.user.id, ua.achievementType, ua.level FROM UserAchievement ua WHERE ua.user.id IN :userIds")
+    List<Object[]> findAwardKeysByUserIds(@Param("userIds") List<Long> userIds);
+    
     @Query("SELECT ua FROM UserAchievement ua WHERE ua.user.id = :userId AND ua.achievementType = :type AND ua.level = :level")
     Optional<UserAchievement> findByUserIdAndTypeAndLevel(@Param("userId") Long userId, 
                                                          @Param("type") UserAchievement.AchievementType type,
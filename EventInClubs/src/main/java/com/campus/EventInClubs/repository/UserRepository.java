@@ -2,13 +2,26 @@ package com.campus.EventInClubs.repository;
 
 import com.campus.EventInClubs.domain.model.Role;
 import com.campus.EventInClubs.domain.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+    boolean existsByEmailIgnoreCase(String email);
     List<User> findByRole(Role role);
     long countByRole(Role role);
+
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    long countByIdGreaterThan(Long id);
+
+    // Resolves bulk imports in one query: id, lower-cased email
+    @Query("SELECT u.id, LOWER(u.email) FROM User u WHERE u.id IN :ids OR LOWER(u.email) IN :emails")
+    List<Object[]> findIdAndEmailByIdsOrEmails(@Param("ids") List<Long> ids, @Param("emails") List<String> emails);
 }
@@ -44,9 +44,15 @@ public interface VoteRepository extends JpaRepository<Vote, Long> {
     // Additional method for achievement service
     Long countByUserId(Long userId);
     
+    @Query("SELECT v.user.id, COUNT(v) FROM Vote v WHERE v.user.id IN :userIds GROUP BY v.user.id")
+    List<Object[]> countVotesGroupedByUser(@Param("userIds") List<Long> userIds);
+    
     @Query("SELECT v.idea.id, COUNT(v) as voteCount FROM Vote v WHERE v.idea.id IN :ideaIds GROUP BY v.idea.id ORDER BY voteCount DESC")
     List<Object[]> countVotesByIdeaIds(@Param("ideaIds") List<Long> ideaIds);
     
+    @Query("SELECT v.idea.id, v.voteType, COUNT(v) FROM Vote v WHERE v.idea.id IN :ideaIds GROUP BY v.idea.id, v.voteType")
+    List<Object[]> countVotesByIdeaIdsAndType(@Param("ideaIds") List<Long> ideaIds);
+    
     boolean existsByUserIdAndIdeaId(Long userId, Long ideaId);
     
     void deleteByUserIdAndIdeaId(Long userId, Long ideaId);
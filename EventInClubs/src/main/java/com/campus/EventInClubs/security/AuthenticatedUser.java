@@ -0,0 +1,15 @@
+package com.campus.EventInClubs.security;
+
+import java.security.Principal;
+
+/**
+ * Principal of a JWT-authenticated request, built from the token's signed
+ * claims without loading the user.
+ */
+public record AuthenticatedUser(Long userId, String email, String role) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
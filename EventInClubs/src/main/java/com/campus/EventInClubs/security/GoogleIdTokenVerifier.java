@@ -0,0 +1,238 @@
+package com.campus.EventInClubs.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigInteger;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Verifies Google ID tokens locally against Google's published signing keys
+ * (JWKS) instead of calling the tokeninfo endpoint per login. The key set is
+ * fetched at startup and refreshed in the background shortly before the
+ * expiry given by its Cache-Control/Expires headers; a token signed with an
+ * unknown key triggers at most one early refresh per minute. When a refresh
+ * fails the previous keys stay in use and the fetch is retried.
+ */
+@Component
+@Slf4j
+public class GoogleIdTokenVerifier {
+
+    private static final String GOOGLE_JWKS_URL = "https://www.googleapis.com/oauth2/v3/certs";
+    // Web client id of the frontend (Frontend/.env VITE_GOOGLE_CLIENT_ID)
+    private static final String GOOGLE_CLIENT_ID = "31065908321-bolt6eq8313hhgbahajebnk1mtn8mjhg.apps.googleusercontent.com";
+    private static final Set<String> GOOGLE_ISSUERS = Set.of("accounts.google.com", "https://accounts.google.com");
+
+    private static final long DEFAULT_MAX_AGE_SECONDS = 3600;
+    // Refresh this long before the key set expires
+    private static final long REFRESH_MARGIN_SECONDS = 300;
+    private static final long MIN_REFRESH_SECONDS = 60;
+    private static final long RETRY_SECONDS = 60;
+    private static final long MIN_ON_DEMAND_INTERVAL_MILLIS = 60_000;
+    private static final long CLOCK_SKEW_SECONDS = 60;
+    private static final int HTTP_TIMEOUT_MILLIS = 5000;
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    /** Identity claims of a verified Google ID token */
+    public record GoogleIdentity(String subject, String email, String name) {}
+
+    private final String jwksUrl;
+    private final String clientId;
+    private final RestTemplate restTemplate;
+    private final Clock clock;
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "google-jwks-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long keysExpireAt;
+    private volatile long lastFetchAttempt;
+
+    public GoogleIdTokenVerifier() {
+        this(GOOGLE_JWKS_URL, GOOGLE_CLIENT_ID, Clock.systemUTC());
+    }
+
+    /**
+     * For pointing the verifier at a stand-in key server.
+     */
+    GoogleIdTokenVerifier(String jwksUrl, String clientId, Clock clock) {
+        this.jwksUrl = jwksUrl;
+        this.clientId = clientId;
+        this.clock = clock;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(HTTP_TIMEOUT_MILLIS);
+        requestFactory.setReadTimeout(HTTP_TIMEOUT_MILLIS);
+        this.restTemplate = new RestTemplate(requestFactory);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refresher.execute(this::refreshAndReschedule);
+    }
+
+    /**
+     * Checks the token's signature, issuer, audience, expiry and verified
+     * email. Throws JwtException or IllegalArgumentException when the token
+     * is not acceptable, and IllegalStateException when no signing keys
+     * could be loaded.
+     */
+    public GoogleIdentity verify(String idToken) {
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return signingKey(header.getKeyId());
+                    }
+                })
+                .requireAudience(clientId)
+                .setAllowedClockSkewSeconds(CLOCK_SKEW_SECONDS)
+                .setClock(() -> new Date(clock.millis()))
+                .build()
+                .parseClaimsJws(idToken)
+                .getBody();
+
+        if (!GOOGLE_ISSUERS.contains(claims.getIssuer())) {
+            throw new JwtException("Unexpected issuer: " + claims.getIssuer());
+        }
+        if (claims.get("email") == null || !Boolean.parseBoolean(String.valueOf(claims.get("email_verified")))) {
+            throw new JwtException("Google account email is missing or unverified");
+        }
+        return new GoogleIdentity(claims.getSubject(), claims.get("email", String.class), claims.get("name", String.class));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private Key signingKey(String keyId) {
+        PublicKey key = keyId != null ? keys.get(keyId) : null;
+        if (key == null || clock.millis() >= keysExpireAt) {
+            // Unknown key (rotation) or an expired set: fetch now unless we just tried
+            refreshOnDemand();
+            key = keyId != null ? keys.get(keyId) : null;
+        }
+        if (key == null) {
+            if (keys.isEmpty()) {
+                throw new IllegalStateException("Google signing keys are unavailable");
+            }
+            throw new JwtException("Unknown Google signing key: " + keyId);
+        }
+        return key;
+    }
+
+    private synchronized void refreshOnDemand() {
+        if (clock.millis() - lastFetchAttempt < MIN_ON_DEMAND_INTERVAL_MILLIS) {
+            return;
+        }
+        try {
+            fetchKeys();
+        } catch (Exception e) {
+            log.warn("On-demand refresh of Google signing keys failed: {}", e.getMessage());
+        }
+    }
+
+    private void refreshAndReschedule() {
+        long delaySeconds = refreshKeys();
+        try {
+            refresher.schedule(this::refreshAndReschedule, delaySeconds, TimeUnit.SECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    // Fetches the key set and returns the delay in seconds until the next scheduled refresh
+    long refreshKeys() {
+        try {
+            long maxAge = fetchKeys();
+            return Math.max(MIN_REFRESH_SECONDS, maxAge - REFRESH_MARGIN_SECONDS);
+        } catch (Exception e) {
+            log.warn("Failed to refresh Google signing keys, retrying in {}s: {}", RETRY_SECONDS, e.getMessage());
+            return RETRY_SECONDS;
+        }
+    }
+
+    // Returns the key set's lifetime in seconds
+    private synchronized long fetchKeys() {
+        lastFetchAttempt = clock.millis();
+        ResponseEntity<Map> response = restTemplate.getForEntity(jwksUrl, Map.class);
+        Map<?, ?> body = response.getBody();
+        Object entries = body != null ? body.get("keys") : null;
+        if (!(entries instanceof List<?> list) || list.isEmpty()) {
+            throw new IllegalStateException("JWKS response has no keys");
+        }
+
+        Map<String, PublicKey> loaded = new HashMap<>();
+        for (Object entry : list) {
+            if (entry instanceof Map<?, ?> jwk && "RSA".equals(jwk.get("kty")) && jwk.get("kid") != null) {
+                loaded.put(jwk.get("kid").toString(), rsaKey(jwk.get("n").toString(), jwk.get("e").toString()));
+            }
+        }
+        if (loaded.isEmpty()) {
+            throw new IllegalStateException("JWKS response has no RSA keys");
+        }
+
+        long maxAge = maxAgeSeconds(response.getHeaders());
+        keys = Map.copyOf(loaded);
+        keysExpireAt = clock.millis() + maxAge * 1000;
+        log.debug("Loaded {} Google signing keys, valid for {}s", loaded.size(), maxAge);
+        return maxAge;
+    }
+
+    private long maxAgeSeconds(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null) {
+            Matcher matcher = MAX_AGE.matcher(cacheControl);
+            if (matcher.find()) {
+                return Long.parseLong(matcher.group(1));
+            }
+        }
+        long expires = headers.getExpires();
+        if (expires > 0) {
+            return Math.max(0, (expires - clock.millis()) / 1000);
+        }
+        return DEFAULT_MAX_AGE_SECONDS;
+    }
+
+    private static PublicKey rsaKey(String modulus, String exponent) {
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            RSAPublicKeySpec spec = new RSAPublicKeySpec(
+                    new BigInteger(1, decoder.decode(modulus)),
+                    new BigInteger(1, decoder.decode(exponent)));
+            return KeyFactory.getInstance("RSA").generatePublic(spec);
+        } catch (Exception e) {
+            throw new IllegalStateException("Invalid RSA key in JWKS response", e);
+        }
+    }
+}
@@ -2,22 +2,51 @@ package com.campus.EventInClubs.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
     private final String SECRET_KEY = "mysecretkeymysecretkeymysecretkey"; 
-    private final long EXPIRATION_TIME = 1000 * 60 * 60; 
+    // Access tokens are short-lived; clients renew them with a refresh token
+    private final long EXPIRATION_TIME = 1000 * 60 * 15; 
+    private final long REFRESH_EXPIRATION_TIME = 1000L * 60 * 60 * 24 * 7;
+    private static final String TOKEN_TYPE_CLAIM = "type";
+    private static final String REFRESH_TOKEN_TYPE = "refresh";
 
     private final Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
 
+    // Verified tokens are dropped all at once when this many are cached
+    private static final int MAX_CACHED_TOKENS = 10_000;
+
+    /** Signed claims of a verified token; tokenId is the jti used for revocation */
+    public record ParsedToken(String email, String role, Long userId, long expiresAtMillis,
+                              String tokenId, boolean refresh) {}
+
+    private final TokenRevocationList revocationList;
+
+    private final Map<String, ParsedToken> verified = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
     public String generateToken(String email, String role) {
         return Jwts.builder()
                 .setSubject(email)
                 .claim("role", role)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -29,31 +58,120 @@ public class JwtUtil {
                 .setSubject(email)
                 .claim("role", role)
                 .claim("userId", userId)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String extractEmail(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+    /**
+     * Long-lived token that can only be exchanged for new tokens at
+     * /api/auth/refresh, never used for access.
+     */
+    public String generateRefreshToken(String email, Long userId) {
+        return Jwts.builder()
+                .setSubject(email)
+                .claim("userId", userId)
+                .claim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE)
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + REFRESH_EXPIRATION_TIME))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
     }
 
-    public Long extractUserId(String token) {
+    /**
+     * Verifies an access token and returns its claims. Verified tokens are
+     * cached by SHA-256 hash until they expire, so the filter and the
+     * controllers handling the same request (and later requests with the
+     * same token) don't parse and verify it again; the revocation check
+     * still runs every time. Throws JwtException for invalid, expired,
+     * revoked or refresh tokens.
+     */
+    public ParsedToken parse(String token) {
+        ParsedToken parsed = verify(token);
+        if (parsed.refresh()) {
+            throw new JwtException("Refresh tokens cannot be used for access");
+        }
+        checkNotRevoked(parsed);
+        return parsed;
+    }
+
+    /**
+     * Verifies a refresh token and revokes it in the same step, so it can be
+     * exchanged only once: the revocation insert is the check, and a second
+     * (or concurrent) use finds the id already taken. Throws JwtException
+     * for anything else.
+     */
+    public ParsedToken consumeRefreshToken(String token) {
+        ParsedToken parsed = verify(token);
+        if (!parsed.refresh()) {
+            throw new JwtException("Not a refresh token");
+        }
+        checkNotRevoked(parsed);
+        if (parsed.tokenId() == null
+                || !revocationList.revoke(parsed.tokenId(), Instant.ofEpochMilli(parsed.expiresAtMillis()))) {
+            throw new JwtException("Refresh token has already been used");
+        }
+        return parsed;
+    }
+
+    /**
+     * Revokes the token until it expires. Already expired or invalid tokens
+     * need no revocation and are ignored.
+     */
+    public void revoke(String token) {
+        ParsedToken parsed;
+        try {
+            parsed = verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return;
+        }
+        if (parsed.tokenId() != null) {
+            revocationList.revoke(parsed.tokenId(), Instant.ofEpochMilli(parsed.expiresAtMillis()));
+        }
+    }
+
+    private ParsedToken verify(String token) {
+        String hash = hash(token);
+        ParsedToken cached = verified.get(hash);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > System.currentTimeMillis()) {
+                hits.increment();
+                return cached;
+            }
+            verified.remove(hash);
+        }
+        misses.increment();
         Claims claims = Jwts.parserBuilder().setSigningKey(key).build()
                 .parseClaimsJws(token)
                 .getBody();
-        return claims.get("userId", Long.class);
+        Date expiration = claims.getExpiration();
+        ParsedToken parsed = new ParsedToken(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.get("userId", Long.class),
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE,
+                claims.getId(),
+                REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM, String.class)));
+        if (verified.size() >= MAX_CACHED_TOKENS) {
+            verified.clear();
+        }
+        verified.put(hash, parsed);
+        return parsed;
+    }
+
+    public String extractEmail(String token) {
+        return parse(token).email();
+    }
+
+    public Long extractUserId(String token) {
+        return parse(token).userId();
     }
 
     public String extractRole(String token) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.get("role", String.class);
+        return parse(token).role();
     }
 
     public Long getUserIdFromToken(String token) {
@@ -62,10 +180,35 @@ public class JwtUtil {
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            parse(token);
             return true;
-        } catch (JwtException e) {
+        } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        return Map.of(
+                "hits", hitCount,
+                "misses", missCount,
+                "hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount),
+                "cachedTokens", verified.size());
+    }
+
+    private void checkNotRevoked(ParsedToken parsed) {
+        if (parsed.tokenId() != null && revocationList.isRevoked(parsed.tokenId())) {
+            throw new JwtException("Token has been revoked");
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
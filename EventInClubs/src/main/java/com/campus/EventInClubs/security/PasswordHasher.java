@@ -0,0 +1,204 @@
+package com.campus.EventInClubs.security;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt hashing and verification on a small dedicated pool instead of
+ * Tomcat request threads, so a login spike can use at most that many cores
+ * and never starves unrelated requests. Work beyond the pool and its short
+ * queue is rejected straight away with RejectedExecutionException, which
+ * the auth endpoints turn into 429. The observed time per hash is compared
+ * with the login rate we need to sustain in getStats; the benchmark profile
+ * (PasswordHashingBenchmark) measures the strengths offline.
+ */
+@Component
+@RequiredArgsConstructor
+public class PasswordHasher {
+
+    /** BCrypt cost factor; each step doubles the time per hash */
+    public static final int BCRYPT_STRENGTH = 10;
+
+    // Peak logins per second the pool should sustain (exam week)
+    private static final int TARGET_LOGINS_PER_SECOND = 50;
+    private static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    private static final int QUEUE_CAPACITY = 64;
+    private static final long WAIT_TIMEOUT_SECONDS = 10;
+    private static final int WINDOW_SECONDS = 60;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            THREADS, THREADS, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+            r -> {
+                Thread thread = new Thread(r, "password-hashing-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+
+    // Completed hashes per second over the last minute, as a ring of one-second slots
+    private final AtomicLongArray slotSeconds = new AtomicLongArray(WINDOW_SECONDS);
+    private final AtomicLongArray slotCounts = new AtomicLongArray(WINDOW_SECONDS);
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    /**
+     * Hashes a password on the pool, waiting for the result.
+     */
+    public String encode(String rawPassword) {
+        return await(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Hashes a password on the pool without blocking the caller. The future
+     * fails with RejectedExecutionException when the pool is saturated.
+     */
+    public CompletableFuture<String> encodeAsync(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks a password on the pool without blocking the caller. The future
+     * fails with RejectedExecutionException when the pool is saturated.
+     */
+    public CompletableFuture<Boolean> matchesAsync(String rawPassword, String passwordHash) {
+        return submit(() -> passwordEncoder.matches(rawPassword, passwordHash));
+    }
+
+    public Map<String, Object> getStats() {
+        long now = System.currentTimeMillis() / 1000;
+        long lastMinute = 0;
+        for (int slot = 0; slot < WINDOW_SECONDS; slot++) {
+            long second = slotSeconds.get(slot);
+            if (second < now && second >= now - WINDOW_SECONDS) {
+                lastMinute += slotCounts.get(slot);
+            }
+        }
+        int previousSlot = (int) ((now - 1) % WINDOW_SECONDS);
+        long completedCount = completed.sum();
+        double averageHashMillis = completedCount == 0 ? 0.0 : hashNanos.sum() / 1_000_000.0 / completedCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", THREADS);
+        stats.put("activeThreads", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("queueCapacity", QUEUE_CAPACITY);
+        stats.put("completed", completedCount);
+        stats.put("rejected", rejected.sum());
+        stats.put("hashesLastSecond", slotSeconds.get(previousSlot) == now - 1 ? slotCounts.get(previousSlot) : 0);
+        stats.put("hashesPerSecondLastMinute", (double) lastMinute / WINDOW_SECONDS);
+        stats.put("averageHashMillis", averageHashMillis);
+        stats.put("bcryptStrength", BCRYPT_STRENGTH);
+        stats.put("estimatedCapacityPerSecond", capacityPerSecond(averageHashMillis));
+        stats.put("targetLoginsPerSecond", TARGET_LOGINS_PER_SECOND);
+        stats.put("suggestedStrength", suggestedStrength(averageHashMillis));
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(timed(work), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> T await(Supplier<T> work) {
+        Supplier<T> task = timed(work);
+        Future<T> future;
+        try {
+            future = executor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+        try {
+            return future.get(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new RejectedExecutionException("Password hashing timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while hashing a password");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private <T> Supplier<T> timed(Supplier<T> work) {
+        return () -> {
+            long started = System.nanoTime();
+            try {
+                return work.get();
+            } finally {
+                hashNanos.add(System.nanoTime() - started);
+                completed.increment();
+                recordCompletion();
+            }
+        };
+    }
+
+    private void recordCompletion() {
+        long second = System.currentTimeMillis() / 1000;
+        int slot = (int) (second % WINDOW_SECONDS);
+        long slotSecond = slotSeconds.get(slot);
+        // The first completion in a new second resets the slot; approximate, a racing completion may be lost
+        if (slotSecond != second && slotSeconds.compareAndSet(slot, slotSecond, second)) {
+            slotCounts.set(slot, 0);
+        }
+        slotCounts.incrementAndGet(slot);
+    }
+
+    // Estimates stay at 0 until the pool has hashed something
+    private static double capacityPerSecond(double averageHashMillis) {
+        return averageHashMillis > 0 ? THREADS * 1000.0 / averageHashMillis : 0.0;
+    }
+
+    // Highest strength (4-31) whose estimated capacity still meets the target
+    private static int suggestedStrength(double averageHashMillis) {
+        double capacity = capacityPerSecond(averageHashMillis);
+        if (capacity <= 0) {
+            return BCRYPT_STRENGTH;
+        }
+        int strength = BCRYPT_STRENGTH;
+        while (strength > 4 && capacity < TARGET_LOGINS_PER_SECOND) {
+            strength--;
+            capacity *= 2;
+        }
+        while (strength < 31 && capacity / 2 >= TARGET_LOGINS_PER_SECOND) {
+            strength++;
+            capacity /= 2;
+        }
+        return strength;
+    }
+}
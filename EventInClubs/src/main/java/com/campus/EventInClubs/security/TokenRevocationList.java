@@ -0,0 +1,145 @@
+package com.campus.EventInClubs.security;
+
+import com.campus.EventInClubs.repository.RevokedTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Revoked token ids (jti) persisted in revoked_tokens and mirrored in
+ * memory, so checking a token costs no query. A Bloom filter answers the
+ * common "not revoked" case without touching the exact set; only its rare
+ * positives are confirmed against the set. Entries are compacted once the
+ * token would have expired anyway, which also rebuilds the filter. Other
+ * instances' revocations are picked up by a periodic sync.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationList {
+
+    private static final int EXPECTED_REVOCATIONS = 100_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    // jti -> token expiry in epoch millis
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter = new BloomFilter(EXPECTED_REVOCATIONS, FALSE_POSITIVE_RATE);
+    private volatile Instant lastSync = Instant.EPOCH;
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder filterPositives = new LongAdder();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadAll() {
+        int loaded = syncFromDatabase();
+        log.info("Loaded {} revoked tokens", loaded);
+    }
+
+    public boolean isRevoked(String jti) {
+        checks.increment();
+        if (!filter.mightContain(jti)) {
+            return false;
+        }
+        filterPositives.increment();
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * Revokes the token id until expiresAt. Persisted with the surrounding
+     * transaction; it takes effect in memory right away, since honouring a
+     * revocation whose write later rolls back is harmless. Returns false
+     * when the id was already revoked (here or by another instance) or
+     * needs no revocation, so of two concurrent calls for one id only one
+     * gets true.
+     */
+    @Transactional
+    public boolean revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt.isBefore(Instant.now())) {
+            return false;
+        }
+        boolean inserted = revokedTokenRepository.insertIfAbsent(jti, expiresAt, Instant.now()) > 0;
+        remember(jti, expiresAt.toEpochMilli());
+        return inserted;
+    }
+
+    /**
+     * Runs every minute to pick up revocations made by other instances
+     */
+    @Scheduled(fixedDelay = 60000)
+    @Transactional(readOnly = true)
+    public void syncRevocations() {
+        try {
+            syncFromDatabase();
+        } catch (Exception e) {
+            log.error("Error syncing revoked tokens: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs every 15 minutes to drop revocations of tokens that have expired
+     * and rebuild the Bloom filter without them
+     */
+    @Scheduled(fixedRate = 900000)
+    @Transactional
+    public void compact() {
+        try {
+            Instant now = Instant.now();
+            int deleted = revokedTokenRepository.deleteExpired(now);
+            int dropped = compactMemory(now.toEpochMilli());
+            log.debug("Compacted revoked tokens: {} rows deleted, {} entries dropped, {} remaining",
+                    deleted, dropped, revoked.size());
+        } catch (Exception e) {
+            log.error("Error compacting revoked tokens: {}", e.getMessage(), e);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "revokedTokens", revoked.size(),
+                "checks", checks.sum(),
+                "filterPositives", filterPositives.sum());
+    }
+
+    private int syncFromDatabase() {
+        Instant now = Instant.now();
+        List<Object[]> rows = revokedTokenRepository.findActiveRowsRevokedAfter(now, lastSync);
+        Instant newest = lastSync;
+        for (Object[] row : rows) {
+            remember((String) row[0], ((Instant) row[1]).toEpochMilli());
+            Instant revokedAt = (Instant) row[2];
+            if (revokedAt.isAfter(newest)) {
+                newest = revokedAt;
+            }
+        }
+        lastSync = newest;
+        return rows.size();
+    }
+
+    // The filter is written before the set so a concurrent check never misses a revocation
+    private synchronized void remember(String jti, long expiresAt) {
+        filter.add(jti);
+        revoked.put(jti, expiresAt);
+    }
+
+    private synchronized int compactMemory(long now) {
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        BloomFilter rebuilt = new BloomFilter(Math.max(EXPECTED_REVOCATIONS, revoked.size() * 2), FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        return before - revoked.size();
+    }
+}
@@ -0,0 +1,211 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Idea;
+import com.campus.EventInClubs.domain.model.UserAchievement;
+import com.campus.EventInClubs.repository.CommentRepository;
+import com.campus.EventInClubs.repository.IdeaRepository;
+import com.campus.EventInClubs.repository.UserAchievementRepository;
+import com.campus.EventInClubs.repository.UserRepository;
+import com.campus.EventInClubs.repository.VoteRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Applies achievement rules to the whole user base, e.g. after a new
+ * AchievementType or changed thresholds. Users are walked in id order in
+ * chunks; each chunk runs a few grouped count queries, diffs the result
+ * against existing awards and batch-inserts the missing rows in its own
+ * transaction, skipping any that a live award inserted in the meantime.
+ * The last committed user id is kept as a cursor so a failed run can
+ * resume where it stopped. Backfilled awards do not send notifications.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AchievementBackfillService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final List<Idea.IdeaStatus> IMPLEMENTED_STATUSES =
+            List.of(Idea.IdeaStatus.IMPLEMENTING, Idea.IdeaStatus.COMPLETED);
+
+    private final UserRepository userRepository;
+    private final IdeaRepository ideaRepository;
+    private final VoteRepository voteRepository;
+    private final CommentRepository commentRepository;
+    private final UserAchievementRepository achievementRepository;
+    private final AchievementService achievementService;
+    private final UserPointsCache userPointsCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "achievement-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private volatile String state = "IDLE";
+    private volatile long cursorUserId = 0L;
+    private volatile long totalUsers = 0L;
+    private volatile long processedUsers = 0L;
+    private volatile long awardsInserted = 0L;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String lastError;
+
+    /**
+     * Starts a backfill in the background. With resume=true the run continues
+     * after the last committed chunk of the previous run; otherwise it starts
+     * from the first user.
+     */
+    public Map<String, Object> start(boolean resume) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Achievement backfill is already running");
+        }
+
+        long startAfter = resume ? cursorUserId : 0L;
+        cursorUserId = startAfter;
+        totalUsers = userRepository.countByIdGreaterThan(startAfter);
+        processedUsers = 0L;
+        awardsInserted = 0L;
+        startedAt = Instant.now();
+        finishedAt = null;
+        lastError = null;
+        state = "RUNNING";
+
+        executor.submit(this::run);
+        log.info("Started achievement backfill after user {} ({} users to scan)", startAfter, totalUsers);
+        return getStatus();
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("state", state);
+        status.put("cursorUserId", cursorUserId);
+        status.put("totalUsers", totalUsers);
+        status.put("processedUsers", processedUsers);
+        status.put("awardsInserted", awardsInserted);
+        status.put("percentComplete", totalUsers > 0 ? Math.round((processedUsers * 100.0) / totalUsers) : 100);
+        status.put("startedAt", startedAt);
+        status.put("finishedAt", finishedAt);
+        status.put("error", lastError);
+        return status;
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                List<Long> userIds = userRepository.findIdsAfter(cursorUserId, PageRequest.of(0, CHUNK_SIZE));
+                if (userIds.isEmpty()) {
+                    break;
+                }
+
+                Integer inserted = transactionTemplate.execute(tx -> backfillChunk(userIds));
+                awardsInserted += inserted != null ? inserted : 0;
+                processedUsers += userIds.size();
+                cursorUserId = userIds.get(userIds.size() - 1);
+
+                log.info("Achievement backfill progress: {}/{} users, {} awards inserted",
+                        processedUsers, totalUsers, awardsInserted);
+            }
+            state = "COMPLETED";
+            log.info("Completed achievement backfill: {} awards inserted for {} users", awardsInserted, processedUsers);
+        } catch (Exception e) {
+            state = "FAILED";
+            lastError = e.getMessage();
+            log.error("Achievement backfill failed after user {}: {}", cursorUserId, e.getMessage(), e);
+        } finally {
+            finishedAt = Instant.now();
+            running.set(false);
+        }
+    }
+
+    private int backfillChunk(List<Long> userIds) {
+        Map<Long, Long> ideaCounts = toCountMap(ideaRepository.countActiveIdeasGroupedByUser(userIds));
+        Map<Long, Long> voteCounts = toCountMap(voteRepository.countVotesGroupedByUser(userIds));
+        Map<Long, Long> commentCounts = toCountMap(commentRepository.countActiveCommentsGroupedByUser(userIds));
+        Map<Long, Long> implementedCounts = toCountMap(
+                ideaRepository.countActiveIdeasByStatusGroupedByUser(userIds, IMPLEMENTED_STATUSES));
+
+        Set<String> existing = new HashSet<>();
+        for (Object[] row : achievementRepository.findAwardKeysByUserIds(userIds)) {
+            existing.add(awardKey((Long) row[0], (UserAchievement.AchievementType) row[1], (Integer) row[2]));
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (Long userId : userIds) {
+            List<AchievementService.QualifyingAward> awards = achievementService.qualifyingAwards(
+                    ideaCounts.getOrDefault(userId, 0L),
+                    voteCounts.getOrDefault(userId, 0L),
+                    commentCounts.getOrDefault(userId, 0L),
+                    implementedCounts.getOrDefault(userId, 0L));
+
+            for (AchievementService.QualifyingAward award : awards) {
+                if (existing.contains(awardKey(userId, award.type(), award.level()))) {
+                    continue;
+                }
+                rows.add(new Object[]{userId, award.type().name(), award.level(),
+                        award.points(), award.description(), now});
+            }
+        }
+
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        // A live award for a user in this chunk may land between the read above and this insert;
+        // the unique award key skips those rows, and only rows actually inserted earn points
+        int[] counts = jdbcTemplate.batchUpdate(
+                "INSERT INTO user_achievements (user_id, achievement_type, achievement_level, points_earned, " +
+                "description, earned_at) VALUES (?, ?, ?, ?, ?, ?) " +
+                "ON CONFLICT (user_id, achievement_type, achievement_level) DO NOTHING",
+                rows);
+        Map<Long, Long> pointsByUser = new HashMap<>();
+        int inserted = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                Object[] row = rows.get(i);
+                pointsByUser.merge((Long) row[0], ((Integer) row[3]).longValue(), Long::sum);
+                inserted++;
+            }
+        }
+        pointsByUser.forEach(userPointsCache::addPoints);
+        return inserted;
+    }
+
+    private Map<Long, Long> toCountMap(List<Object[]> rows) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    private String awardKey(Long userId, UserAchievement.AchievementType type, Integer level) {
+        return userId + ":" + type.name() + ":" + level;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
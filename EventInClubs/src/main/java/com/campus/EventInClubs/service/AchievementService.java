@@ -10,9 +10,11 @@ import com.campus.EventInClubs.repository.VoteRepository;
 import com.campus.EventInClubs.repository.CommentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +33,25 @@ public class AchievementService {
     private final VoteRepository voteRepository;
     private final CommentRepository commentRepository;
     private final NotificationService notificationService;
+    private final UserPointsCache userPointsCache;
+    private final JdbcTemplate jdbcTemplate;
+    
+    // Leveled achievement thresholds and points, shared with AchievementBackfillService
+    static final int FIRST_IDEA_POINTS = 10;
+    static final String FIRST_IDEA_DESCRIPTION = "Congratulations on submitting your first idea!";
+    static final int[] IDEA_MASTER_THRESHOLDS = {5, 10, 25, 50};
+    static final int[] IDEA_MASTER_POINTS = {25, 50, 100, 200};
+    static final int[] HELPFUL_VOTER_THRESHOLDS = {10, 50, 100, 250};
+    static final int[] HELPFUL_VOTER_POINTS = {15, 50, 100, 250};
+    static final int[] ENGAGED_COMMENTER_THRESHOLDS = {5, 20, 50, 100};
+    static final int[] ENGAGED_COMMENTER_POINTS = {20, 75, 150, 300};
+    static final int[] PROBLEM_SOLVER_THRESHOLDS = {1, 3, 5, 10};
+    static final int[] PROBLEM_SOLVER_POINTS = {50, 150, 300, 500};
+    
+    /**
+     * An achievement level a user qualifies for, independent of whether it was already awarded.
+     */
+    record QualifyingAward(UserAchievement.AchievementType type, int level, int points, String description) {}
     
     public List<UserAchievementDto> getUserAchievements(Long userId) {
         List<UserAchievement> achievements = achievementRepository.findByUserIdOrderByEarnedAtDesc(userId);
@@ -40,8 +61,11 @@ public class AchievementService {
     }
     
     public Long getUserTotalPoints(Long userId) {
-        Long points = achievementRepository.getTotalPointsByUserId(userId);
-        return points != null ? points : 0L;
+        return userPointsCache.getTotalPoints(userId);
+    }
+    
+    public String getUserLevel(Long userId) {
+        return userPointsCache.getLevel(userId);
     }
     
     public void checkAndAwardAchievements(Long userId) {
@@ -66,13 +90,13 @@ public class AchievementService {
         
         // First idea achievement
         if (ideaCount >= 1 && !hasAchievement(user.getId(), UserAchievement.AchievementType.FIRST_IDEA)) {
-            awardAchievement(user, UserAchievement.AchievementType.FIRST_IDEA, 1, 10, 
-                "Congratulations on submitting your first idea!");
+            awardAchievement(user, UserAchievement.AchievementType.FIRST_IDEA, 1, FIRST_IDEA_POINTS, 
+                FIRST_IDEA_DESCRIPTION);
         }
         
         // Idea master achievements (multiple levels)
         checkLeveledAchievement(user, UserAchievement.AchievementType.IDEA_MASTER, ideaCount,
-                new int[]{5, 10, 25, 50}, new int[]{25, 50, 100, 200});
+                IDEA_MASTER_THRESHOLDS, IDEA_MASTER_POINTS);
     }
     
     private void checkVotingAchievements(User user) {
@@ -80,7 +104,7 @@ public class AchievementService {
         
         // Helpful voter achievements
         checkLeveledAchievement(user, UserAchievement.AchievementType.HELPFUL_VOTER, voteCount,
-                new int[]{10, 50, 100, 250}, new int[]{15, 50, 100, 250});
+                HELPFUL_VOTER_THRESHOLDS, HELPFUL_VOTER_POINTS);
     }
     
     private void checkCommentingAchievements(User user) {
@@ -88,7 +112,7 @@ public class AchievementService {
         
         // Engaged commenter achievements
         checkLeveledAchievement(user, UserAchievement.AchievementType.ENGAGED_COMMENTER, commentCount,
-                new int[]{5, 20, 50, 100}, new int[]{20, 75, 150, 300});
+                ENGAGED_COMMENTER_THRESHOLDS, ENGAGED_COMMENTER_POINTS);
     }
     
     private void checkImplementationAchievements(User user) {
@@ -99,7 +123,7 @@ public class AchievementService {
         
         // Problem solver achievements
         checkLeveledAchievement(user, UserAchievement.AchievementType.PROBLEM_SOLVER, implementedCount,
-                new int[]{1, 3, 5, 10}, new int[]{50, 150, 300, 500});
+                PROBLEM_SOLVER_THRESHOLDS, PROBLEM_SOLVER_POINTS);
     }
     
     private void checkLeveledAchievement(User user, UserAchievement.AchievementType type, 
@@ -115,6 +139,38 @@ public class AchievementService {
         }
     }
     
+    /**
+     * Evaluates the same rules as checkAndAwardAchievements against precomputed
+     * activity counts, without touching the database.
+     */
+    List<QualifyingAward> qualifyingAwards(long ideaCount, long voteCount, long commentCount, long implementedCount) {
+        List<QualifyingAward> awards = new java.util.ArrayList<>();
+        if (ideaCount >= 1) {
+            awards.add(new QualifyingAward(UserAchievement.AchievementType.FIRST_IDEA, 1,
+                    FIRST_IDEA_POINTS, FIRST_IDEA_DESCRIPTION));
+        }
+        addQualifyingLevels(awards, UserAchievement.AchievementType.IDEA_MASTER, ideaCount,
+                IDEA_MASTER_THRESHOLDS, IDEA_MASTER_POINTS);
+        addQualifyingLevels(awards, UserAchievement.AchievementType.HELPFUL_VOTER, voteCount,
+                HELPFUL_VOTER_THRESHOLDS, HELPFUL_VOTER_POINTS);
+        addQualifyingLevels(awards, UserAchievement.AchievementType.ENGAGED_COMMENTER, commentCount,
+                ENGAGED_COMMENTER_THRESHOLDS, ENGAGED_COMMENTER_POINTS);
+        addQualifyingLevels(awards, UserAchievement.AchievementType.PROBLEM_SOLVER, implementedCount,
+                PROBLEM_SOLVER_THRESHOLDS, PROBLEM_SOLVER_POINTS);
+        return awards;
+    }
+    
+    private void addQualifyingLevels(List<QualifyingAward> awards, UserAchievement.AchievementType type,
+                                     long currentCount, int[] thresholds, int[] points) {
+        for (int i = 0; i < thresholds.length; i++) {
+            if (currentCount >= thresholds[i]) {
+                int level = i + 1;
+                awards.add(new QualifyingAward(type, level, points[i],
+                        getAchievementDescription(type, level, thresholds[i])));
+            }
+        }
+    }
+    
     private boolean hasAchievement(Long userId, UserAchievement.AchievementType type) {
         return achievementRepository.findByUserIdAndAchievementType(userId, type).isPresent();
     }
@@ -125,16 +181,16 @@ public class AchievementService {
     
     private void awardAchievement(User user, UserAchievement.AchievementType type, 
                                 int level, int points, String description) {
-        UserAchievement achievement = UserAchievement.builder()
-                .user(user)
-                .achievementType(type)
-                .level(level)
-                .pointsEarned(points)
-                .description(description)
-                .earnedAt(Instant.now())
-                .build();
-        
-        achievementRepository.save(achievement);
+        // The unique award key makes this a no-op when a concurrent award or the backfill got there first
+        List<Long> insertedIds = jdbcTemplate.queryForList(
+                "INSERT INTO user_achievements (user_id, achievement_type, achievement_level, points_earned, " +
+                "description, earned_at) VALUES (?, ?, ?, ?, ?, ?) " +
+                "ON CONFLICT (user_id, achievement_type, achievement_level) DO NOTHING RETURNING id",
+                Long.class, user.getId(), type.name(), level, points, description, Timestamp.from(Instant.now()));
+        if (insertedIds.isEmpty()) {
+            return;
+        }
+        userPointsCache.addPoints(user.getId(), points);
         
         // Send notification
         notificationService.createNotification(
@@ -142,7 +198,7 @@ public class AchievementService {
             "Achievement Unlocked!",
             "You've earned the '" + getAchievementTitle(type, level) + "' achievement! +" + points + " points",
             com.campus.EventInClubs.domain.model.Notification.NotificationType.ACHIEVEMENT,
-            achievement.getId(),
+            insertedIds.get(0),
             "ACHIEVEMENT"
         );
         
@@ -223,12 +279,7 @@ public class AchievementService {
     }
     
     private String calculateUserLevel(Long points) {
-        if (points >= 1000) return "Diamond";
-        if (points >= 500) return "Platinum";
-        if (points >= 250) return "Gold";
-        if (points >= 100) return "Silver";
-        if (points >= 25) return "Bronze";
-        return "Beginner";
+        return UserPointsCache.levelForPoints(points);
     }
     
     private String getTrophyForLevel(String level) {
@@ -0,0 +1,319 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.repository.ClubRepository;
+import com.campus.EventInClubs.repository.EventRepository;
+import com.campus.EventInClubs.repository.IdeaRepository;
+import com.campus.EventInClubs.repository.ProblemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory word trie over club names, event titles, idea titles and problem
+ * titles for navbar autocomplete. Every query word is matched as a prefix of
+ * an indexed word, tolerating one typo from four characters and two from
+ * eight; all query words must match the same entry. Loaded at startup and
+ * kept current by the owning services after their writes commit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AutocompleteIndex {
+
+    public enum EntryType { CLUB, EVENT, IDEA, PROBLEM }
+
+    public record Suggestion(EntryType type, Long id, String label, int distance) {}
+
+    private record EntryRef(EntryType type, Long id) {}
+
+    private record Entry(EntryRef ref, String label, String normalizedLabel, Set<String> words) {}
+
+    private static final class TrieNode {
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        // Entries having the word ending at this node
+        private final Set<EntryRef> refs = new HashSet<>();
+    }
+
+    private static final int MAX_QUERY_WORDS = 6;
+    private static final int MAX_PREFIX_MATCHES = 5000;
+
+    private final ClubRepository clubRepository;
+    private final EventRepository eventRepository;
+    private final IdeaRepository ideaRepository;
+    private final ProblemRepository problemRepository;
+
+    private final Map<EntryRef, Entry> entries = new HashMap<>();
+    private TrieNode root = new TrieNode();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        List<Object[]> clubs = clubRepository.findActiveClubNameRows();
+        List<Object[]> events = eventRepository.findActiveEventTitleRows();
+        List<Object[]> ideas = ideaRepository.findActiveIdeaTextRows();
+        List<Object[]> problems = problemRepository.findActiveProblemTextRows();
+
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            root = new TrieNode();
+            for (Object[] row : clubs) {
+                put(EntryType.CLUB, (Long) row[0], (String) row[1], (String) row[2]);
+            }
+            for (Object[] row : events) {
+                put(EntryType.EVENT, (Long) row[0], (String) row[1], null);
+            }
+            for (Object[] row : ideas) {
+                put(EntryType.IDEA, (Long) row[0], (String) row[3], null);
+            }
+            for (Object[] row : problems) {
+                put(EntryType.PROBLEM, (Long) row[0], (String) row[1], null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded autocomplete index: {} clubs, {} events, {} ideas, {} problems",
+                clubs.size(), events.size(), ideas.size(), problems.size());
+    }
+
+    /**
+     * Adds or replaces an entry once the surrounding transaction commits.
+     * Aliases (e.g. a club's short name) are matched but not displayed.
+     */
+    public void index(EntryType type, Long id, String label, String alias) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(new EntryRef(type, id));
+                put(type, id, label, alias);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Removes an entry once the surrounding transaction commits.
+     */
+    public void remove(EntryType type, Long id) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(new EntryRef(type, id));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Returns the best matches for the query grouped by type, at most
+     * limitPerType each. Fewer typos rank first, then labels starting with
+     * the query, then shorter labels.
+     */
+    public Map<EntryType, List<Suggestion>> suggest(String query, int limitPerType) {
+        Map<EntryType, List<Suggestion>> results = new EnumMap<>(EntryType.class);
+        for (EntryType type : EntryType.values()) {
+            results.put(type, new ArrayList<>());
+        }
+        List<String> queryWords = new ArrayList<>(new LinkedHashSet<>(words(query)));
+        if (queryWords.isEmpty()) {
+            return results;
+        }
+        if (queryWords.size() > MAX_QUERY_WORDS) {
+            queryWords = queryWords.subList(0, MAX_QUERY_WORDS);
+        }
+        String normalizedQuery = String.join(" ", queryWords);
+
+        lock.readLock().lock();
+        try {
+            // Most selective (longest) word first so later intersections stay small
+            queryWords.sort(Comparator.comparing(String::length).reversed());
+            Map<EntryRef, Integer> distances = null;
+            for (String word : queryWords) {
+                Map<EntryRef, Integer> matches = prefixMatches(word, maxEdits(word));
+                if (distances == null) {
+                    distances = matches;
+                } else {
+                    Map<EntryRef, Integer> combined = new HashMap<>();
+                    for (Map.Entry<EntryRef, Integer> match : distances.entrySet()) {
+                        Integer distance = matches.get(match.getKey());
+                        if (distance != null) {
+                            combined.put(match.getKey(), match.getValue() + distance);
+                        }
+                    }
+                    distances = combined;
+                }
+                if (distances.isEmpty()) {
+                    return results;
+                }
+            }
+
+            for (Map.Entry<EntryRef, Integer> match : distances.entrySet()) {
+                Entry entry = entries.get(match.getKey());
+                results.get(entry.ref().type())
+                        .add(new Suggestion(entry.ref().type(), entry.ref().id(), entry.label(), match.getValue()));
+            }
+
+            Comparator<Suggestion> ranking = Comparator.comparingInt(Suggestion::distance)
+                    .thenComparing(s -> !entries.get(new EntryRef(s.type(), s.id())).normalizedLabel().startsWith(normalizedQuery))
+                    .thenComparingInt(s -> s.label().length())
+                    .thenComparing(Suggestion::id, Comparator.reverseOrder());
+            for (EntryType type : EntryType.values()) {
+                List<Suggestion> suggestions = results.get(type);
+                suggestions.sort(ranking);
+                if (suggestions.size() > limitPerType) {
+                    results.put(type, new ArrayList<>(suggestions.subList(0, limitPerType)));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return results;
+    }
+
+    // Callers must hold the write lock
+    private void put(EntryType type, Long id, String label, String alias) {
+        if (label == null || label.isBlank()) {
+            return;
+        }
+        Set<String> entryWords = new HashSet<>(words(label));
+        entryWords.addAll(words(alias));
+        if (entryWords.isEmpty()) {
+            return;
+        }
+        EntryRef ref = new EntryRef(type, id);
+        entries.put(ref, new Entry(ref, label, String.join(" ", words(label)), entryWords));
+        for (String word : entryWords) {
+            TrieNode node = root;
+            for (int i = 0; i < word.length(); i++) {
+                node = node.children.computeIfAbsent(word.charAt(i), c -> new TrieNode());
+            }
+            node.refs.add(ref);
+        }
+    }
+
+    // Callers must hold the write lock
+    private void delete(EntryRef ref) {
+        Entry entry = entries.remove(ref);
+        if (entry == null) {
+            return;
+        }
+        for (String word : entry.words()) {
+            removeWord(root, word, 0, ref);
+        }
+    }
+
+    // Returns true when the child became empty and was pruned
+    private boolean removeWord(TrieNode node, String word, int depth, EntryRef ref) {
+        if (depth == word.length()) {
+            node.refs.remove(ref);
+        } else {
+            char c = word.charAt(depth);
+            TrieNode child = node.children.get(c);
+            if (child != null && removeWord(child, word, depth + 1, ref)) {
+                node.children.remove(c);
+            }
+        }
+        return node != root && node.refs.isEmpty() && node.children.isEmpty();
+    }
+
+    /**
+     * Finds entries having a word that starts with the query word within
+     * maxEdits Levenshtein edits, keeping the smallest distance per entry.
+     * Walks the trie carrying one row of the edit-distance matrix per node
+     * and prunes branches whose row minimum already exceeds maxEdits. A
+     * word's distance is the best final-column value over all its prefixes,
+     * so the walk keeps descending past the first prefix that fits.
+     */
+    private Map<EntryRef, Integer> prefixMatches(String word, int maxEdits) {
+        Map<EntryRef, Integer> matches = new HashMap<>();
+        int[] firstRow = new int[word.length() + 1];
+        for (int i = 0; i <= word.length(); i++) {
+            firstRow[i] = i;
+        }
+        for (Map.Entry<Character, TrieNode> child : root.children.entrySet()) {
+            walk(child.getValue(), child.getKey(), word, firstRow, firstRow[word.length()], maxEdits, matches);
+        }
+        return matches;
+    }
+
+    // best is the smallest final-column value seen on the path to this node
+    private void walk(TrieNode node, char c, String word, int[] previousRow, int best, int maxEdits,
+                      Map<EntryRef, Integer> matches) {
+        if (matches.size() >= MAX_PREFIX_MATCHES) {
+            return;
+        }
+        int columns = word.length() + 1;
+        int[] row = new int[columns];
+        row[0] = previousRow[0] + 1;
+        int rowMin = row[0];
+        for (int i = 1; i < columns; i++) {
+            int substitution = previousRow[i - 1] + (word.charAt(i - 1) == c ? 0 : 1);
+            row[i] = Math.min(Math.min(row[i - 1] + 1, previousRow[i] + 1), substitution);
+            rowMin = Math.min(rowMin, row[i]);
+        }
+        best = Math.min(best, row[columns - 1]);
+
+        if (rowMin > maxEdits || rowMin >= best) {
+            // No longer prefix can do better: every word below matches at best
+            if (best <= maxEdits) {
+                collect(node, best, matches);
+            }
+            return;
+        }
+        if (best <= maxEdits) {
+            for (EntryRef ref : node.refs) {
+                matches.merge(ref, best, Math::min);
+            }
+        }
+        for (Map.Entry<Character, TrieNode> child : node.children.entrySet()) {
+            walk(child.getValue(), child.getKey(), word, row, best, maxEdits, matches);
+        }
+    }
+
+    private void collect(TrieNode node, int distance, Map<EntryRef, Integer> matches) {
+        for (EntryRef ref : node.refs) {
+            matches.merge(ref, distance, Math::min);
+        }
+        for (TrieNode child : node.children.values()) {
+            if (matches.size() >= MAX_PREFIX_MATCHES) {
+                return;
+            }
+            collect(child, distance, matches);
+        }
+    }
+
+    private static int maxEdits(String word) {
+        if (word.length() >= 8) return 2;
+        if (word.length() >= 4) return 1;
+        return 0;
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+}
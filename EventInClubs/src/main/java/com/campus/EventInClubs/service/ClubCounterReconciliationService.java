@@ -0,0 +1,112 @@
+package com.campus.EventInClubs.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recomputes Club.memberCount and Club.eventCount from club_memberships and
+ * events, correcting drift in the atomically maintained counters. A single
+ * UPDATE ... FROM over one grouped subquery fixes every drifted club and
+ * returns the old and new values, which feed the drift metrics.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ClubCounterReconciliationService {
+
+    private static final String RECONCILE_SQL =
+            "UPDATE clubs c SET member_count = s.members, event_count = s.events FROM (" +
+            "SELECT c2.id, c2.member_count AS old_members, c2.event_count AS old_events, " +
+            "COALESCE(m.cnt, 0) AS members, COALESCE(e.cnt, 0) AS events FROM clubs c2 " +
+            "LEFT JOIN (SELECT club_id, COUNT(*) AS cnt FROM club_memberships WHERE is_active = true " +
+            "GROUP BY club_id) m ON m.club_id = c2.id " +
+            "LEFT JOIN (SELECT club_id, COUNT(*) AS cnt FROM events GROUP BY club_id) e ON e.club_id = c2.id) s " +
+            "WHERE c.id = s.id AND (c.member_count IS DISTINCT FROM s.members OR c.event_count IS DISTINCT FROM s.events) " +
+            "RETURNING c.id, s.old_members, s.members, s.old_events, s.events";
+
+    private record Drift(Long clubId, long memberDrift, long eventDrift) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClubDirectory clubDirectory;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong totalClubsCorrected = new AtomicLong();
+    private volatile Map<String, Object> lastRun = Map.of();
+
+    /**
+     * Runs hourly at half past to correct drifted club member and event counters
+     */
+    @Scheduled(cron = "0 30 * * * *")
+    public void reconcileCounters() {
+        try {
+            Map<String, Object> result = reconcileNow();
+            if ((int) result.get("clubsCorrected") > 0) {
+                log.warn("Club counter reconciliation corrected {} clubs (member drift {}, event drift {})",
+                        result.get("clubsCorrected"), result.get("memberDrift"), result.get("eventDrift"));
+            } else {
+                log.debug("Club counters are consistent");
+            }
+        } catch (Exception e) {
+            log.error("Error during club counter reconciliation: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Manually trigger reconciliation (for testing or admin purposes)
+     */
+    public Map<String, Object> reconcileNow() {
+        List<Drift> drifts = jdbcTemplate.query(RECONCILE_SQL, (rs, rowNum) -> new Drift(
+                rs.getLong("id"),
+                rs.getLong("members") - rs.getLong("old_members"),
+                rs.getLong("events") - rs.getLong("old_events")));
+
+        long memberDrift = 0;
+        long eventDrift = 0;
+        long maxDrift = 0;
+        Long worstClubId = null;
+        for (Drift drift : drifts) {
+            memberDrift += Math.abs(drift.memberDrift());
+            eventDrift += Math.abs(drift.eventDrift());
+            long clubDrift = Math.abs(drift.memberDrift()) + Math.abs(drift.eventDrift());
+            if (clubDrift > maxDrift) {
+                maxDrift = clubDrift;
+                worstClubId = drift.clubId();
+            }
+        }
+
+        if (!drifts.isEmpty()) {
+            AfterCommit.run(clubDirectory::markStale);
+        }
+        runs.incrementAndGet();
+        totalClubsCorrected.addAndGet(drifts.size());
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("ranAt", Instant.now());
+        result.put("clubsCorrected", drifts.size());
+        result.put("memberDrift", memberDrift);
+        result.put("eventDrift", eventDrift);
+        result.put("maxClubDrift", maxDrift);
+        result.put("worstClubId", worstClubId);
+        lastRun = result;
+        return result;
+    }
+
+    public Map<String, Object> getDriftMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("runs", runs.get());
+        metrics.put("totalClubsCorrected", totalClubsCorrected.get());
+        metrics.put("lastRun", lastRun);
+        return metrics;
+    }
+}
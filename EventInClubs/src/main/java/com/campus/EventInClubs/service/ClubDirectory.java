@@ -0,0 +1,101 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.dto.ClubDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Immutable, pre-sorted snapshot of the active club directory. ClubService
+ * publishes a freshly built snapshot after every club mutation commits;
+ * readers take the current reference without locking. Counter changes from
+ * memberships and events only mark the snapshot stale, and ClubService
+ * rebuilds stale snapshots periodically instead of on every join.
+ */
+@Component
+@Slf4j
+public class ClubDirectory {
+
+    /** Same order as ClubRepository.findTopClubs: rating, then member count */
+    static final Comparator<ClubDto> TOP_ORDER = Comparator
+            .comparing((ClubDto club) -> club.getRating() != null ? club.getRating() : 0.0, Comparator.reverseOrder())
+            .thenComparing(club -> club.getMemberCount() != null ? club.getMemberCount() : 0, Comparator.reverseOrder())
+            .thenComparing(ClubDto::getId);
+
+    /**
+     * Lists are unmodifiable and shared by all readers; the DTOs inside must
+     * be treated as read-only.
+     */
+    public record Snapshot(List<ClubDto> all,
+                           List<ClubDto> top,
+                           Map<String, List<ClubDto>> byCategory,
+                           Map<String, List<ClubDto>> topByCategory,
+                           Instant builtAt) {
+
+        public List<ClubDto> category(String category) {
+            return byCategory.getOrDefault(category, List.of());
+        }
+
+        public List<ClubDto> topInCategory(String category) {
+            return topByCategory.getOrDefault(category, List.of());
+        }
+    }
+
+    private volatile Snapshot snapshot;
+    private final AtomicBoolean stale = new AtomicBoolean(false);
+
+    /**
+     * The current snapshot, or null until the first one is published.
+     */
+    public Snapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * Flags the snapshot for the next periodic rebuild, e.g. after member or
+     * event counts change.
+     */
+    public void markStale() {
+        stale.set(true);
+    }
+
+    boolean takeStale() {
+        return stale.getAndSet(false);
+    }
+
+    /**
+     * Builds a new snapshot from the given active clubs and swaps it in.
+     */
+    public void publish(List<ClubDto> activeClubs) {
+        List<ClubDto> all = new ArrayList<>(activeClubs);
+        all.sort(Comparator.comparing(ClubDto::getId));
+
+        List<ClubDto> top = new ArrayList<>(all);
+        top.sort(TOP_ORDER);
+
+        Map<String, List<ClubDto>> byCategory = new HashMap<>();
+        for (ClubDto club : all) {
+            if (club.getCategory() != null) {
+                byCategory.computeIfAbsent(club.getCategory(), k -> new ArrayList<>()).add(club);
+            }
+        }
+        Map<String, List<ClubDto>> topByCategory = new HashMap<>();
+        byCategory.forEach((category, clubs) -> {
+            List<ClubDto> sorted = new ArrayList<>(clubs);
+            sorted.sort(TOP_ORDER);
+            topByCategory.put(category, List.copyOf(sorted));
+        });
+        byCategory.replaceAll((category, clubs) -> List.copyOf(clubs));
+
+        snapshot = new Snapshot(List.copyOf(all), List.copyOf(top),
+                Map.copyOf(byCategory), Map.copyOf(topByCategory), Instant.now());
+        log.debug("Published club directory snapshot with {} clubs in {} categories", all.size(), byCategory.size());
+    }
+}
@@ -4,17 +4,32 @@ import com.campus.EventInClubs.domain.model.Club;
 import com.campus.EventInClubs.domain.model.ClubMembership;
 import com.campus.EventInClubs.domain.model.User;
 import com.campus.EventInClubs.dto.ClubMembershipDto;
+import com.campus.EventInClubs.dto.ClubRosterDto;
+import com.campus.EventInClubs.dto.MembershipImportRequest;
+import com.campus.EventInClubs.dto.MembershipImportResultDto;
 import com.campus.EventInClubs.repository.ClubMembershipRepository;
 import com.campus.EventInClubs.repository.ClubRepository;
 import com.campus.EventInClubs.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +42,12 @@ public class ClubMembershipService {
     private final ClubRepository clubRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final ClubDirectory clubDirectory;
+    private final ClubPermissionResolver permissionResolver;
+    private final JdbcTemplate jdbcTemplate;
+    
+    private static final int MAX_IMPORT_SIZE = 5000;
+    private static final int IMPORT_BATCH_SIZE = 500;
     
     public List<ClubMembershipDto> getClubMembers(Long clubId) {
         List<ClubMembership> memberships = membershipRepository.findByClubIdAndIsActiveTrue(clubId);
@@ -35,6 +56,76 @@ public class ClubMembershipService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * One page of a club's active members sorted by name, using keyset
+     * pagination so deep pages cost the same as the first. role narrows to
+     * one membership role; search matches the start of the name, of any word
+     * in the name, or of the email.
+     */
+    @Transactional(readOnly = true)
+    public ClubRosterDto getClubRoster(Long clubId, ClubMembership.MembershipRole role, String search,
+                                       String cursor, int size) {
+        String afterName = "";
+        Long afterId = 0L;
+        if (cursor != null && !cursor.isBlank()) {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('\n');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid roster cursor");
+            }
+            afterName = decoded.substring(0, separator);
+            afterId = Long.parseLong(decoded.substring(separator + 1));
+        }
+        
+        String pattern = "%";
+        String wordPattern = "%";
+        if (search != null && !search.isBlank()) {
+            String escaped = search.trim().toLowerCase(Locale.ROOT)
+                    .replace("!", "!!").replace("%", "!%").replace("_", "!_");
+            pattern = escaped + "%";
+            wordPattern = "% " + escaped + "%";
+        }
+        
+        Set<ClubMembership.MembershipRole> roles = role != null
+                ? EnumSet.of(role) : EnumSet.allOf(ClubMembership.MembershipRole.class);
+        
+        // Fetch one extra row to know whether another page exists
+        List<ClubMembershipRepository.RosterRow> rows = membershipRepository.findRosterPage(
+                clubId, roles, pattern, wordPattern, afterName, afterId, PageRequest.of(0, size + 1));
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+        
+        List<ClubMembershipDto> members = rows.stream()
+                .map(row -> ClubMembershipDto.builder()
+                        .id(row.getId())
+                        .userId(row.getUserId())
+                        .userName(row.getUserName())
+                        .userEmail(row.getUserEmail())
+                        .clubId(clubId)
+                        .role(row.getRole().name())
+                        .status(row.getStatus().name())
+                        .joinedAt(row.getJoinedAt())
+                        .isActive(true)
+                        .build())
+                .collect(Collectors.toList());
+        
+        String nextCursor = null;
+        if (hasMore) {
+            ClubMembershipRepository.RosterRow last = rows.get(rows.size() - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (last.getSortName() + "\n" + last.getId()).getBytes(StandardCharsets.UTF_8));
+        }
+        
+        return ClubRosterDto.builder()
+                .clubId(clubId)
+                .members(members)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+    
     public List<ClubMembershipDto> getUserMemberships(Long userId) {
         List<ClubMembership> memberships = membershipRepository.findByUserIdAndIsActiveTrue(userId);
         return memberships.stream()
@@ -70,8 +161,9 @@ public class ClubMembershipService {
         ClubMembership saved = membershipRepository.save(membership);
         
         // Update club member count
-        club.setMemberCount(club.getMemberCount() + 1);
-        clubRepository.save(club);
+        clubRepository.adjustMemberCount(clubId, 1);
+        AfterCommit.run(clubDirectory::markStale);
+        permissionResolver.invalidateMembership(userId, clubId);
         
         // Send notification to club admin
         if (club.getAdminUser() != null && !club.getAdminUser().getId().equals(userId)) {
@@ -89,6 +181,146 @@ public class ClubMembershipService {
         return convertToDto(saved);
     }
     
+    /**
+     * Adds many users to a club at once, e.g. at the start of a semester.
+     * Ids and emails are resolved in one query, new memberships are inserted
+     * with JDBC batching, former members are reactivated (banned users are
+     * skipped), the member counter is adjusted once and the requester gets a
+     * single summary notification instead of one per member.
+     */
+    public MembershipImportResultDto importMembers(Long clubId, MembershipImportRequest request, Long requesterId) {
+        Club club = clubRepository.findById(clubId)
+                .orElseThrow(() -> new RuntimeException("Club not found"));
+        
+        if (permissionResolver.globalRole(requesterId) == null) {
+            throw new RuntimeException("Requester not found");
+        }
+        
+        if (!club.getIsActive()) {
+            throw new RuntimeException("Cannot import members into inactive club");
+        }
+        
+        if (!permissionResolver.canManageMembers(requesterId, clubId)) {
+            throw new RuntimeException("Insufficient permissions to import members");
+        }
+        
+        Set<Long> requestedIds = new LinkedHashSet<>();
+        if (request.getUserIds() != null) {
+            request.getUserIds().stream().filter(id -> id != null).forEach(requestedIds::add);
+        }
+        Set<String> requestedEmails = new LinkedHashSet<>();
+        if (request.getEmails() != null) {
+            request.getEmails().stream()
+                    .filter(email -> email != null && !email.isBlank())
+                    .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                    .forEach(requestedEmails::add);
+        }
+        
+        int requested = requestedIds.size() + requestedEmails.size();
+        if (requested == 0) {
+            throw new RuntimeException("No user ids or emails to import");
+        }
+        if (requested > MAX_IMPORT_SIZE) {
+            throw new RuntimeException("Cannot import more than " + MAX_IMPORT_SIZE + " members at once");
+        }
+        
+        // Empty IN lists get a placeholder that matches nothing
+        List<Object[]> userRows = userRepository.findIdAndEmailByIdsOrEmails(
+                requestedIds.isEmpty() ? List.of(-1L) : new ArrayList<>(requestedIds),
+                requestedEmails.isEmpty() ? List.of("") : new ArrayList<>(requestedEmails));
+        
+        Set<Long> resolvedUserIds = new LinkedHashSet<>();
+        Set<Long> unknownUserIds = new LinkedHashSet<>(requestedIds);
+        Set<String> unknownEmails = new LinkedHashSet<>(requestedEmails);
+        for (Object[] row : userRows) {
+            Long userId = (Long) row[0];
+            String email = (String) row[1];
+            if (unknownUserIds.remove(userId) | unknownEmails.remove(email)) {
+                resolvedUserIds.add(userId);
+            }
+        }
+        
+        Map<Long, Object[]> existing = new HashMap<>();
+        if (!resolvedUserIds.isEmpty()) {
+            for (Object[] row : membershipRepository.findMembershipStatesByUserIds(clubId, new ArrayList<>(resolvedUserIds))) {
+                existing.put((Long) row[0], row);
+            }
+        }
+        
+        List<Long> toInsert = new ArrayList<>();
+        List<Long> toReactivate = new ArrayList<>();
+        List<Long> banned = new ArrayList<>();
+        int alreadyMembers = 0;
+        for (Long userId : resolvedUserIds) {
+            Object[] state = existing.get(userId);
+            if (state == null) {
+                toInsert.add(userId);
+            } else if (Boolean.TRUE.equals(state[1])) {
+                alreadyMembers++;
+            } else if (state[2] == ClubMembership.MembershipStatus.BANNED) {
+                banned.add(userId);
+            } else {
+                toReactivate.add(userId);
+            }
+        }
+        
+        Timestamp now = Timestamp.from(Instant.now());
+        // ON CONFLICT covers users who joined on their own since the lookup
+        int added = sumUpdateCounts(jdbcTemplate.batchUpdate(
+                "INSERT INTO club_memberships (user_id, club_id, role, status, joined_at, is_active, created_at, updated_at) " +
+                "VALUES (?, ?, 'MEMBER', 'ACTIVE', ?, true, ?, ?) ON CONFLICT (user_id, club_id) DO NOTHING",
+                toInsert, IMPORT_BATCH_SIZE, (ps, userId) -> {
+                    ps.setLong(1, userId);
+                    ps.setLong(2, clubId);
+                    ps.setTimestamp(3, now);
+                    ps.setTimestamp(4, now);
+                    ps.setTimestamp(5, now);
+                }));
+        int reactivated = sumUpdateCounts(jdbcTemplate.batchUpdate(
+                "UPDATE club_memberships SET is_active = true, status = 'ACTIVE', role = 'MEMBER', left_at = NULL, " +
+                "joined_at = ?, updated_at = ? WHERE club_id = ? AND user_id = ? AND is_active = false AND status <> 'BANNED'",
+                toReactivate, IMPORT_BATCH_SIZE, (ps, userId) -> {
+                    ps.setTimestamp(1, now);
+                    ps.setTimestamp(2, now);
+                    ps.setLong(3, clubId);
+                    ps.setLong(4, userId);
+                }));
+        
+        if (added + reactivated > 0) {
+            clubRepository.adjustMemberCount(clubId, added + reactivated);
+            AfterCommit.run(clubDirectory::markStale);
+            List<Long> joined = new ArrayList<>(toInsert);
+            joined.addAll(toReactivate);
+            permissionResolver.invalidateMemberships(joined, clubId);
+        }
+        
+        MembershipImportResultDto result = MembershipImportResultDto.builder()
+                .clubId(clubId)
+                .requested(requested)
+                .added(added)
+                .reactivated(reactivated)
+                .alreadyMembers(alreadyMembers + (toInsert.size() - added) + (toReactivate.size() - reactivated))
+                .bannedUserIds(banned)
+                .unknownUserIds(new ArrayList<>(unknownUserIds))
+                .unknownEmails(new ArrayList<>(unknownEmails))
+                .build();
+        
+        notificationService.createNotification(
+            requesterId,
+            "Members Imported",
+            (added + reactivated) + " members were added to " + club.getName() + " (" +
+            result.getAlreadyMembers() + " already members, " + banned.size() + " banned, " +
+            (unknownUserIds.size() + unknownEmails.size()) + " not found)",
+            com.campus.EventInClubs.domain.model.Notification.NotificationType.CLUB_ANNOUNCEMENT,
+            clubId,
+            "CLUB"
+        );
+        
+        log.info("Imported {} new and {} returning members into club {} ({} requested)",
+                added, reactivated, club.getName(), requested);
+        return result;
+    }
+    
     public void leaveClub(Long clubId, Long userId) {
         ClubMembership membership = membershipRepository.findByUserIdAndClubIdAndIsActiveTrue(userId, clubId)
                 .orElseThrow(() -> new RuntimeException("Membership not found"));
@@ -105,8 +337,9 @@ public class ClubMembershipService {
         
         // Update club member count
         Club club = membership.getClub();
-        club.setMemberCount(Math.max(0, club.getMemberCount() - 1));
-        clubRepository.save(club);
+        clubRepository.adjustMemberCount(club.getId(), -1);
+        AfterCommit.run(clubDirectory::markStale);
+        permissionResolver.invalidateMembership(userId, clubId);
         
         log.info("User {} left club {}", membership.getUser().getName(), club.getName());
     }
@@ -115,16 +348,16 @@ public class ClubMembershipService {
         ClubMembership membership = membershipRepository.findById(membershipId)
                 .orElseThrow(() -> new RuntimeException("Membership not found"));
         
-        User requester = userRepository.findById(requesterId)
-                .orElseThrow(() -> new RuntimeException("Requester not found"));
+        Long clubId = membership.getClub().getId();
+        if (permissionResolver.globalRole(requesterId) == null) {
+            throw new RuntimeException("Requester not found");
+        }
         
         // Check permissions
-        Optional<ClubMembership> requesterMembership = membershipRepository
-                .findByUserIdAndClubIdAndIsActiveTrue(requesterId, membership.getClub().getId());
+        Optional<ClubMembership.MembershipRole> requesterRole = permissionResolver.membershipRole(requesterId, clubId);
         
-        if (requesterMembership.isEmpty() || 
-            (!hasPermissionToChangeRole(requesterMembership.get().getRole(), newRole) && 
-             !requester.getRole().name().equals("SUPER_ADMIN"))) {
+        if (!permissionResolver.isSuperAdmin(requesterId) &&
+            (requesterRole.isEmpty() || !hasPermissionToChangeRole(requesterRole.get(), newRole))) {
             throw new RuntimeException("Insufficient permissions to change member role");
         }
         
@@ -133,6 +366,7 @@ public class ClubMembershipService {
         membership.setUpdatedAt(Instant.now());
         
         ClubMembership saved = membershipRepository.save(membership);
+        permissionResolver.invalidateMembership(membership.getUser().getId(), clubId);
         
         // Send notification to the member
         notificationService.createNotification(
@@ -155,16 +389,16 @@ public class ClubMembershipService {
         ClubMembership membership = membershipRepository.findById(membershipId)
                 .orElseThrow(() -> new RuntimeException("Membership not found"));
         
-        User requester = userRepository.findById(requesterId)
-                .orElseThrow(() -> new RuntimeException("Requester not found"));
+        Long clubId = membership.getClub().getId();
+        if (permissionResolver.globalRole(requesterId) == null) {
+            throw new RuntimeException("Requester not found");
+        }
         
         // Check permissions
-        Optional<ClubMembership> requesterMembership = membershipRepository
-                .findByUserIdAndClubIdAndIsActiveTrue(requesterId, membership.getClub().getId());
+        Optional<ClubMembership.MembershipRole> requesterRole = permissionResolver.membershipRole(requesterId, clubId);
         
-        if (requesterMembership.isEmpty() || 
-            (!canRemoveMember(requesterMembership.get().getRole(), membership.getRole()) && 
-             !requester.getRole().name().equals("SUPER_ADMIN"))) {
+        if (!permissionResolver.isSuperAdmin(requesterId) &&
+            (requesterRole.isEmpty() || !canRemoveMember(requesterRole.get(), membership.getRole()))) {
             throw new RuntimeException("Insufficient permissions to remove member");
         }
         
@@ -180,8 +414,9 @@ public class ClubMembershipService {
         
         // Update club member count
         Club club = membership.getClub();
-        club.setMemberCount(Math.max(0, club.getMemberCount() - 1));
-        clubRepository.save(club);
+        clubRepository.adjustMemberCount(club.getId(), -1);
+        AfterCommit.run(clubDirectory::markStale);
+        permissionResolver.invalidateMembership(membership.getUser().getId(), clubId);
         
         // Send notification to the removed member
         notificationService.createNotification(
@@ -196,6 +431,18 @@ public class ClubMembershipService {
         log.info("Removed user {} from club {}", membership.getUser().getName(), club.getName());
     }
     
+    private int sumUpdateCounts(int[][] batchCounts) {
+        int total = 0;
+        for (int[] batch : batchCounts) {
+            for (int count : batch) {
+                if (count > 0) {
+                    total += count;
+                }
+            }
+        }
+        return total;
+    }
+    
     private boolean hasPermissionToChangeRole(ClubMembership.MembershipRole requesterRole, 
                                             ClubMembership.MembershipRole targetRole) {
         // Only OWNER and ADMIN can change roles
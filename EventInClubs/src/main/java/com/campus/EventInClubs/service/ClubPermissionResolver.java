@@ -0,0 +1,182 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.ClubMembership;
+import com.campus.EventInClubs.domain.model.Role;
+import com.campus.EventInClubs.domain.model.User;
+import com.campus.EventInClubs.repository.ClubMembershipRepository;
+import com.campus.EventInClubs.repository.ClubRepository;
+import com.campus.EventInClubs.repository.IdeaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Answers club authorization questions (global user role, club admin,
+ * membership role) from memory. Global roles come from UserCache; the other
+ * facts are loaded with one scalar query on first use and cached per club
+ * and per (user, club) pair. ClubMembershipService invalidates membership
+ * entries after its writes commit. Club admins are never reassigned by the
+ * services, so those entries only expire after a few minutes, which also
+ * picks up changes made directly in the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ClubPermissionResolver {
+
+    private static final long ENTRY_TTL_MILLIS = 5 * 60 * 1000L;
+    private static final int MAX_ENTRIES = 50_000;
+
+    private record MembershipKey(Long userId, Long clubId) {}
+
+    private record Cached<T>(T value, long loadedAt) {}
+
+    private final UserCache userCache;
+    private final ClubRepository clubRepository;
+    private final ClubMembershipRepository membershipRepository;
+    private final IdeaRepository ideaRepository;
+
+    // Optional.empty() is a club without an admin user
+    private final Map<Long, Cached<Optional<Long>>> clubAdmins = new ConcurrentHashMap<>();
+    // Optional.empty() is "not an active member"
+    private final Map<MembershipKey, Cached<Optional<ClubMembership.MembershipRole>>> memberships = new ConcurrentHashMap<>();
+    // An idea never moves to another club, so these never go stale
+    private final Map<Long, Long> ideaClubs = new ConcurrentHashMap<>();
+
+    // Bumped by every invalidation; loads that raced with one are not cached
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * The user's global role, or null when the user does not exist.
+     */
+    public Role globalRole(Long userId) {
+        return userCache.findById(userId).map(User::getRole).orElse(null);
+    }
+
+    public boolean isSuperAdmin(Long userId) {
+        return globalRole(userId) == Role.SUPER_ADMIN;
+    }
+
+    public boolean clubExists(Long clubId) {
+        return clubAdmin(clubId) != null;
+    }
+
+    /**
+     * True when the user is the club's designated admin user.
+     */
+    public boolean isClubAdmin(Long userId, Long clubId) {
+        Optional<Long> adminId = clubAdmin(clubId);
+        return adminId != null && adminId.isPresent() && adminId.get().equals(userId);
+    }
+
+    /**
+     * The user's role in the club, or empty when not an active member.
+     */
+    public Optional<ClubMembership.MembershipRole> membershipRole(Long userId, Long clubId) {
+        MembershipKey key = new MembershipKey(userId, clubId);
+        return lookup(memberships, key, () -> membershipRepository.findActiveRole(userId, clubId));
+    }
+
+    /**
+     * Super admins, the club's admin user and its OWNER/ADMIN members may
+     * manage the club's members.
+     */
+    public boolean canManageMembers(Long userId, Long clubId) {
+        if (isSuperAdmin(userId) || isClubAdmin(userId, clubId)) {
+            return true;
+        }
+        return membershipRole(userId, clubId)
+                .map(role -> role == ClubMembership.MembershipRole.OWNER ||
+                             role == ClubMembership.MembershipRole.ADMIN)
+                .orElse(false);
+    }
+
+    /**
+     * The club owning an idea through its problem (or else its event), or
+     * null when the idea does not exist or belongs to neither.
+     */
+    public Long clubIdOfIdea(Long ideaId) {
+        Long clubId = ideaClubs.get(ideaId);
+        if (clubId != null) {
+            hits.increment();
+            return clubId;
+        }
+        misses.increment();
+        List<Long> rows = ideaRepository.findClubIdByIdeaId(ideaId);
+        clubId = rows.isEmpty() ? null : rows.get(0);
+        if (clubId != null) {
+            if (ideaClubs.size() >= MAX_ENTRIES) {
+                ideaClubs.clear();
+            }
+            ideaClubs.put(ideaId, clubId);
+        }
+        return clubId;
+    }
+
+    /**
+     * Drops the cached membership role once the surrounding transaction commits.
+     */
+    public void invalidateMembership(Long userId, Long clubId) {
+        AfterCommit.run(() -> {
+            generation.incrementAndGet();
+            memberships.remove(new MembershipKey(userId, clubId));
+        });
+    }
+
+    public void invalidateMemberships(Collection<Long> userIds, Long clubId) {
+        AfterCommit.run(() -> {
+            generation.incrementAndGet();
+            userIds.forEach(userId -> memberships.remove(new MembershipKey(userId, clubId)));
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        return Map.of(
+                "hits", hitCount,
+                "misses", missCount,
+                "hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount),
+                "cachedClubs", clubAdmins.size(),
+                "cachedMemberships", memberships.size());
+    }
+
+    // Null when the club does not exist
+    private Optional<Long> clubAdmin(Long clubId) {
+        return lookup(clubAdmins, clubId, () -> {
+            List<Object[]> rows = clubRepository.findAdminRow(clubId);
+            return rows.isEmpty() ? null : Optional.ofNullable((Long) rows.get(0)[1]);
+        });
+    }
+
+    // Null loads (missing rows) are returned but not cached
+    private <K, V> V lookup(Map<K, Cached<V>> cache, K key, Supplier<V> loader) {
+        long now = System.currentTimeMillis();
+        Cached<V> cached = cache.get(key);
+        if (cached != null && now - cached.loadedAt() < ENTRY_TTL_MILLIS) {
+            hits.increment();
+            return cached.value();
+        }
+        misses.increment();
+        long loadGeneration = generation.get();
+        V value = loader.get();
+        if (value != null && generation.get() == loadGeneration) {
+            if (cache.size() >= MAX_ENTRIES) {
+                cache.clear();
+            }
+            cache.put(key, new Cached<>(value, now));
+        }
+        return value;
+    }
+}
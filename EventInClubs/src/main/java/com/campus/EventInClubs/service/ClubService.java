@@ -10,8 +10,15 @@ import com.campus.EventInClubs.repository.ClubRepository;
 import com.campus.EventInClubs.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.Optional;
@@ -25,20 +32,66 @@ public class ClubService {
     
     private final ClubRepository clubRepository;
     private final UserRepository userRepository;
+    private final AutocompleteIndex autocompleteIndex;
+    private final ClubDirectory clubDirectory;
+    private final PlatformTransactionManager transactionManager;
     
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<ClubDto> getAllActiveClubs() {
         try {
-            List<Club> clubs = clubRepository.findByIsActiveTrue();
-            log.info("Found {} active clubs", clubs.size());
-            return clubs.stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
+            return directory().all();
         } catch (Exception e) {
             log.error("Error fetching active clubs", e);
             return new ArrayList<>();
         }
     }
     
+    /**
+     * Loads active clubs and publishes a new directory snapshot. Runs in its
+     * own read-only transaction so it can be called after a commit.
+     * Rebuilds are serialized: after-commit hooks, the periodic refresh and
+     * the first read can overlap, and a build that queried before a commit
+     * must not publish over one that queried after it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public synchronized void refreshDirectory() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        tx.setReadOnly(true);
+        List<ClubDto> clubs = tx.execute(status -> clubRepository.findActiveClubsWithAdmin().stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList()));
+        clubDirectory.publish(clubs);
+        log.info("Rebuilt club directory with {} active clubs", clubs.size());
+    }
+    
+    /**
+     * Runs every minute to rebuild the directory when member or event
+     * counts changed since the last snapshot
+     */
+    @Scheduled(fixedDelay = 60000)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void refreshStaleDirectory() {
+        if (clubDirectory.takeStale()) {
+            refreshDirectory();
+        }
+    }
+    
+    private ClubDirectory.Snapshot directory() {
+        ClubDirectory.Snapshot snapshot = clubDirectory.current();
+        if (snapshot == null) {
+            // Startup race: build the first snapshot on demand
+            refreshDirectory();
+            snapshot = clubDirectory.current();
+        }
+        return snapshot;
+    }
+    
+    private void refreshDirectoryAfterCommit() {
+        AfterCommit.run(this::refreshDirectory);
+    }
+    
     public List<ClubDto> getPendingClubs() {
         return clubRepository.findByApprovalStatus(ApprovalStatus.PENDING)
                 .stream()
@@ -53,6 +106,8 @@ public class ClubService {
         club.setApprovalStatus(ApprovalStatus.APPROVED);
         club.setIsActive(true);
         Club savedClub = clubRepository.save(club);
+        autocompleteIndex.index(AutocompleteIndex.EntryType.CLUB, savedClub.getId(), savedClub.getName(), savedClub.getShortName());
+        refreshDirectoryAfterCommit();
         return convertToDto(savedClub);
     }
     
@@ -63,28 +118,28 @@ public class ClubService {
         club.setApprovalStatus(ApprovalStatus.REJECTED);
         club.setIsActive(false);
         Club savedClub = clubRepository.save(club);
+        autocompleteIndex.remove(AutocompleteIndex.EntryType.CLUB, savedClub.getId());
+        refreshDirectoryAfterCommit();
         return convertToDto(savedClub);
     }
     
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<ClubDto> getClubsByCategory(String category) {
-        List<Club> clubs = clubRepository.findByCategory(category);
-        return clubs.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return directory().category(category);
     }
     
-    public List<ClubDto> getTopClubs() {
-        List<Club> clubs = clubRepository.findTopClubs();
-        return clubs.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ClubDto> getTopClubs(int limit) {
+        return firstN(directory().top(), limit);
     }
     
-    public List<ClubDto> getTopClubsByCategory(String category) {
-        List<Club> clubs = clubRepository.findTopClubsByCategory(category);
-        return clubs.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ClubDto> getTopClubsByCategory(String category, int limit) {
+        return firstN(directory().topInCategory(category), limit);
+    }
+    
+    private List<ClubDto> firstN(List<ClubDto> clubs, int limit) {
+        return limit > 0 && clubs.size() > limit ? clubs.subList(0, limit) : clubs;
     }
     
     public List<ClubDto> searchClubs(String searchTerm) {
@@ -141,6 +196,8 @@ public class ClubService {
                 .build();
         
         Club savedClub = clubRepository.save(club);
+        autocompleteIndex.index(AutocompleteIndex.EntryType.CLUB, savedClub.getId(), savedClub.getName(), savedClub.getShortName());
+        refreshDirectoryAfterCommit();
         log.info("Created and auto-approved new club: {}", savedClub.getName());
         
         return convertToDto(savedClub);
@@ -183,6 +240,10 @@ public class ClubService {
         }
         
         Club updatedClub = clubRepository.save(club);
+        if (Boolean.TRUE.equals(updatedClub.getIsActive())) {
+            autocompleteIndex.index(AutocompleteIndex.EntryType.CLUB, updatedClub.getId(), updatedClub.getName(), updatedClub.getShortName());
+        }
+        refreshDirectoryAfterCommit();
         log.info("Updated club: {}", updatedClub.getName());
         
         return convertToDto(updatedClub);
@@ -204,6 +265,8 @@ public class ClubService {
         // Soft delete - set as inactive
         club.setIsActive(false);
         clubRepository.save(club);
+        autocompleteIndex.remove(AutocompleteIndex.EntryType.CLUB, club.getId());
+        refreshDirectoryAfterCommit();
         log.info("Deactivated club: {}", club.getName());
     }
     
@@ -214,6 +277,7 @@ public class ClubService {
         // This method would be called after member count or event count changes
         // For now, we'll just save the club to trigger the @PreUpdate
         clubRepository.save(club);
+        refreshDirectoryAfterCommit();
     }
     
     private ClubDto convertToDto(Club club) {
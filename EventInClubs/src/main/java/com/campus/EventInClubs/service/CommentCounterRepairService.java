@@ -0,0 +1,62 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.repository.CommentRepository;
+import com.campus.EventInClubs.repository.IdeaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class CommentCounterRepairService {
+
+    private final IdeaRepository ideaRepository;
+    private final CommentRepository commentRepository;
+
+    /**
+     * Runs nightly at 3 AM to recompute Idea.commentCount and Comment.replyCount
+     * from the comments table, fixing any drift in the maintained counters
+     */
+    @Scheduled(cron = "0 0 3 * * *")
+    public void repairCounters() {
+        runRepair();
+    }
+    
+    /**
+     * Also runs once at startup: the counter columns are added by ddl-auto with
+     * NULLs on existing rows, so they must be backfilled before they are trusted
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void repairOnStartup() {
+        runRepair();
+    }
+    
+    private void runRepair() {
+        log.info("Starting comment counter repair...");
+        
+        try {
+            Map<String, Integer> repaired = repairNow();
+            log.info("Completed comment counter repair: {} ideas and {} comments corrected",
+                    repaired.get("ideas"), repaired.get("comments"));
+        } catch (Exception e) {
+            log.error("Error during comment counter repair: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Manually trigger repair (for testing or admin purposes)
+     */
+    public Map<String, Integer> repairNow() {
+        int ideas = ideaRepository.repairCommentCounts();
+        int comments = commentRepository.repairReplyCounts();
+        return Map.of("ideas", ideas, "comments", comments);
+    }
+}
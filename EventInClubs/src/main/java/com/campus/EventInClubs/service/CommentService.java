@@ -4,6 +4,8 @@ import com.campus.EventInClubs.domain.model.Comment;
 import com.campus.EventInClubs.domain.model.Idea;
 import com.campus.EventInClubs.domain.model.User;
 import com.campus.EventInClubs.dto.CommentDto;
+import com.campus.EventInClubs.dto.CommentTreeDto;
+import com.campus.EventInClubs.dto.SearchPageDto;
 import com.campus.EventInClubs.repository.CommentRepository;
 import com.campus.EventInClubs.repository.IdeaRepository;
 import com.campus.EventInClubs.repository.UserRepository;
@@ -13,7 +15,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -23,11 +30,16 @@ import java.util.stream.Collectors;
 @Transactional
 public class CommentService {
     
+    private static final int MAX_THREAD_PAGE_SIZE = 100;
+    private static final int MAX_REPLY_DEPTH = 10;
+    private static final int MAX_REPLIES_PER_COMMENT = 100;
+    
     private final CommentRepository commentRepository;
     private final IdeaRepository ideaRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
     private final AchievementService achievementService;
+    private final FullTextSearchIndex searchIndex;
     
     public List<CommentDto> getCommentsByIdea(Long ideaId) {
         List<Comment> comments = commentRepository.findByIdeaIdAndIsActiveTrueOrderByCreatedAtAsc(ideaId);
@@ -50,6 +62,114 @@ public class CommentService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Returns one page of an idea's top-level threads (newest first) with their
+     * replies nested oldest first. All active comments are read in a single
+     * ordered query with author names joined and assembled in memory; replies
+     * deeper than maxDepth or beyond maxReplies per parent are cut off and
+     * flagged with hasMoreReplies.
+     */
+    @Transactional(readOnly = true)
+    public CommentTreeDto getCommentTree(Long ideaId, int page, int size, int maxDepth, int maxReplies) {
+        int pageSize = Math.max(1, Math.min(size, MAX_THREAD_PAGE_SIZE));
+        int pageIndex = Math.max(0, page);
+        int depthLimit = Math.max(0, Math.min(maxDepth, MAX_REPLY_DEPTH));
+        int widthLimit = Math.max(1, Math.min(maxReplies, MAX_REPLIES_PER_COMMENT));
+        
+        Map<Long, CommentDto> commentsById = new LinkedHashMap<>();
+        for (Object[] row : commentRepository.findActiveCommentRowsByIdeaId(ideaId)) {
+            CommentDto dto = CommentDto.builder()
+                    .id((Long) row[0])
+                    .parentCommentId((Long) row[1])
+                    .ideaId(ideaId)
+                    .userId((Long) row[2])
+                    .userName((String) row[3])
+                    .content((String) row[4])
+                    .isActive((Boolean) row[5])
+                    .createdAt((Instant) row[6])
+                    .updatedAt((Instant) row[7])
+                    .build();
+            commentsById.put(dto.getId(), dto);
+        }
+        
+        List<CommentDto> threads = new ArrayList<>();
+        Map<Long, List<CommentDto>> repliesByParent = new HashMap<>();
+        for (CommentDto comment : commentsById.values()) {
+            Long parentId = comment.getParentCommentId();
+            if (parentId == null) {
+                threads.add(comment);
+            } else if (commentsById.containsKey(parentId)) {
+                repliesByParent.computeIfAbsent(parentId, k -> new ArrayList<>()).add(comment);
+            }
+            // Replies whose parent was deleted are not reachable from any thread
+        }
+        Collections.reverse(threads);
+        
+        // long math: a huge page number must land past the end, not overflow
+        int from = (int) Math.min((long) pageIndex * pageSize, threads.size());
+        int to = Math.min(from + pageSize, threads.size());
+        List<CommentDto> pageThreads = new ArrayList<>(threads.subList(from, to));
+        for (CommentDto thread : pageThreads) {
+            attachReplies(thread, repliesByParent, 1, depthLimit, widthLimit);
+        }
+        
+        return CommentTreeDto.builder()
+                .ideaId(ideaId)
+                .page(pageIndex)
+                .size(pageSize)
+                .totalThreads(threads.size())
+                .totalComments(commentsById.size())
+                .hasNext(to < threads.size())
+                .threads(pageThreads)
+                .build();
+    }
+    
+    private void attachReplies(CommentDto comment, Map<Long, List<CommentDto>> repliesByParent,
+                               int depth, int maxDepth, int maxReplies) {
+        List<CommentDto> replies = repliesByParent.getOrDefault(comment.getId(), List.of());
+        comment.setReplyCount(replies.size());
+        
+        if (depth > maxDepth) {
+            comment.setReplies(List.of());
+            comment.setHasMoreReplies(!replies.isEmpty());
+            return;
+        }
+        
+        List<CommentDto> shown = new ArrayList<>(replies.subList(0, Math.min(maxReplies, replies.size())));
+        comment.setReplies(shown);
+        comment.setHasMoreReplies(replies.size() > shown.size());
+        for (CommentDto reply : shown) {
+            attachReplies(reply, repliesByParent, depth + 1, maxDepth, maxReplies);
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public SearchPageDto<CommentDto> searchCommentsByIdea(Long ideaId, String searchTerm, int page, int size) {
+        FullTextSearchIndex.SearchResult result = searchIndex.search(
+                FullTextSearchIndex.DocType.COMMENT, searchTerm, ideaId, page, size);
+        List<Long> commentIds = result.hits().stream().map(FullTextSearchIndex.SearchHit::id).collect(Collectors.toList());
+        Map<Long, Comment> byId = commentRepository.findAllById(commentIds).stream()
+                .collect(Collectors.toMap(Comment::getId, comment -> comment));
+        
+        // Keep the index's rank order
+        List<CommentDto> ranked = new ArrayList<>();
+        for (FullTextSearchIndex.SearchHit hit : result.hits()) {
+            Comment comment = byId.get(hit.id());
+            if (comment != null) {
+                CommentDto dto = convertToDto(comment);
+                dto.setHighlight(hit.highlight());
+                ranked.add(dto);
+            }
+        }
+        return SearchPageDto.<CommentDto>builder()
+                .page(page)
+                .size(size)
+                .total(result.total())
+                .hasNext((page + 1L) * size < result.total())
+                .results(ranked)
+                .build();
+    }
+    
     public Optional<CommentDto> getCommentById(Long id) {
         return commentRepository.findById(id)
                 .map(this::convertToDto);
@@ -90,6 +210,11 @@ public class CommentService {
                 .build();
         
         Comment savedComment = commentRepository.save(comment);
+        ideaRepository.adjustCommentCount(ideaId, 1);
+        searchIndex.indexComment(savedComment.getId(), ideaId, savedComment.getContent());
+        if (parentComment != null) {
+            commentRepository.adjustReplyCount(parentComment.getId(), 1);
+        }
         log.info("Created new comment on idea: {} by user: {}", idea.getTitle(), user.getName());
         
         // Send notification to idea owner (if not commenting on own idea)
@@ -119,6 +244,9 @@ public class CommentService {
         comment.setUpdatedAt(Instant.now());
         
         Comment savedComment = commentRepository.save(comment);
+        if (Boolean.TRUE.equals(savedComment.getIsActive())) {
+            searchIndex.indexComment(savedComment.getId(), savedComment.getIdea().getId(), savedComment.getContent());
+        }
         log.info("Updated comment by user: {}", user.getName());
         
         return convertToDto(savedComment);
@@ -136,9 +264,18 @@ public class CommentService {
             throw new RuntimeException("You can only delete your own comments");
         }
         
+        if (!comment.getIsActive()) {
+            return;
+        }
+        
         comment.setIsActive(false);
         comment.setUpdatedAt(Instant.now());
         commentRepository.save(comment);
+        ideaRepository.adjustCommentCount(comment.getIdea().getId(), -1);
+        searchIndex.remove(FullTextSearchIndex.DocType.COMMENT, comment.getId());
+        if (comment.getParentComment() != null) {
+            commentRepository.adjustReplyCount(comment.getParentComment().getId(), -1);
+        }
         log.info("Deactivated comment by user: {}", user.getName());
     }
     
@@ -151,6 +288,7 @@ public class CommentService {
                 .userId(comment.getUser().getId())
                 .userName(comment.getUser().getName())
                 .parentCommentId(comment.getParentComment() != null ? comment.getParentComment().getId() : null)
+                .replyCount(comment.getReplyCount() != null ? comment.getReplyCount() : 0)
                 .isActive(comment.getIsActive())
                 .createdAt(comment.getCreatedAt())
                 .updatedAt(comment.getUpdatedAt())
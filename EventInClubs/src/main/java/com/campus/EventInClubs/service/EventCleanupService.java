@@ -19,6 +19,9 @@ public class EventCleanupService {
 
     private final EventRepository eventRepository;
     private final NotificationService notificationService;
+    private final AutocompleteIndex autocompleteIndex;
+    private final HallAvailabilityIndex hallAvailability;
+    private final HallUtilizationService hallUtilization;
 
     /**
      * Runs every 15 minutes to check for events that should be hidden
@@ -54,6 +57,9 @@ public class EventCleanupService {
                     event.setIsActive(false);
                     event.setStatus(Event.EventStatus.COMPLETED);
                     eventRepository.save(event);
+                    hallAvailability.syncEvent(event);
+                    hallUtilization.syncEvent(event);
+                    autocompleteIndex.remove(AutocompleteIndex.EntryType.EVENT, event.getId());
                     
                     // Notify the event organizer
                     notificationService.createNotification(
@@ -15,6 +15,8 @@ import com.campus.EventInClubs.repository.UserRepository;
 import com.campus.EventInClubs.repository.VoteRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,6 +39,16 @@ public class EventService {
     private final ClubRepository clubRepository;
     private final UserRepository userRepository;
     private final HallRepository hallRepository;
+    private final IdeaSimilarityIndex ideaSimilarityIndex;
+    private final FullTextSearchIndex searchIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final ClubDirectory clubDirectory;
+    private final HallAvailabilityIndex hallAvailability;
+    private final HallUtilizationService hallUtilization;
+    
+    // Exclusion constraint from V15 keeping approved bookings of a hall apart
+    public static final String HALL_BOOKING_CONSTRAINT = "events_hall_booking_no_overlap";
+    private static final String STALE_EVENT_MESSAGE = "Event was changed by someone else, reload it and try again";
     
     public List<EventDto> getAllEvents() {
         return eventRepository.findAll().stream()
@@ -212,7 +224,12 @@ public class EventService {
                 .approvalDate(isDirectEvent ? LocalDateTime.now() : null)
                 .build();
         
-        Event savedEvent = eventRepository.save(event);
+        Event savedEvent = saveBooking(event);
+        hallAvailability.syncEvent(savedEvent);
+        hallUtilization.syncEvent(savedEvent);
+        clubRepository.adjustEventCount(club.getId(), 1);
+        AfterCommit.run(clubDirectory::markStale);
+        autocompleteIndex.index(AutocompleteIndex.EntryType.EVENT, savedEvent.getId(), savedEvent.getTitle(), null);
         log.info("Created new event: {} by organizer: {}", savedEvent.getTitle(), organizer.getName());
         log.info("Event details - ID: {}, Status: {}, ApprovalStatus: {}, AcceptsIdeas: {}, StartDate: {}, EndDate: {}, IsActive: {}", 
             savedEvent.getId(), savedEvent.getStatus(), savedEvent.getApprovalStatus(), 
@@ -235,6 +252,10 @@ public class EventService {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Event not found with id: " + id));
         
+        if (eventDto.getVersion() != null && !eventDto.getVersion().equals(event.getVersion())) {
+            throw new RuntimeException(STALE_EVENT_MESSAGE);
+        }
+        
         Event.EventStatus oldStatus = event.getStatus();
         
         event.setTitle(eventDto.getTitle());
@@ -262,7 +283,12 @@ public class EventService {
             event.setHall(null);
         }
         
-        Event savedEvent = eventRepository.save(event);
+        Event savedEvent = saveBooking(event);
+        hallAvailability.syncEvent(savedEvent);
+        hallUtilization.syncEvent(savedEvent);
+        if (!Boolean.FALSE.equals(savedEvent.getIsActive())) {
+            autocompleteIndex.index(AutocompleteIndex.EntryType.EVENT, savedEvent.getId(), savedEvent.getTitle(), null);
+        }
         log.info("Updated event: {}", savedEvent.getTitle());
         
         // Send notification if status changed to published
@@ -295,6 +321,11 @@ public class EventService {
         );
         
         eventRepository.delete(event);
+        hallAvailability.removeEvent(event.getId());
+        hallUtilization.removeEvent(event.getId());
+        clubRepository.adjustEventCount(event.getClub().getId(), -1);
+        AfterCommit.run(clubDirectory::markStale);
+        autocompleteIndex.remove(AutocompleteIndex.EntryType.EVENT, event.getId());
         log.info("Deleted event: {}", event.getTitle());
     }
     
@@ -303,7 +334,9 @@ public class EventService {
                 .orElseThrow(() -> new RuntimeException("Event not found with id: " + id));
         
         event.setStatus(Event.EventStatus.PUBLISHED);
-        Event savedEvent = eventRepository.save(event);
+        Event savedEvent = saveBooking(event);
+        hallAvailability.syncEvent(savedEvent);
+        hallUtilization.syncEvent(savedEvent);
         
         // Send notification
         notificationService.createNotification(
@@ -383,6 +416,10 @@ public class EventService {
             throw new RuntimeException("You can only submit a maximum of 2 ideas per event. You have already submitted " + existingIdeasCount + " ideas for this event.");
         }
         
+        List<com.campus.EventInClubs.dto.SimilarIdeaDto> possibleDuplicates = ideaSimilarityIndex.findSimilar(
+                null, eventId, (String) ideaData.get("title"), (String) ideaData.get("description"), null,
+                IdeaSimilarityIndex.MAX_SUGGESTIONS);
+        
         // Create and save the idea
         Idea idea = Idea.builder()
                 .title((String) ideaData.get("title"))
@@ -396,6 +433,9 @@ public class EventService {
                 .build();
         
         Idea savedIdea = ideaRepository.save(idea);
+        ideaSimilarityIndex.index(savedIdea.getId(), null, eventId, savedIdea.getTitle(), savedIdea.getDescription());
+        searchIndex.indexIdea(savedIdea.getId(), savedIdea.getTitle(), savedIdea.getDescription());
+        autocompleteIndex.index(AutocompleteIndex.EntryType.IDEA, savedIdea.getId(), savedIdea.getTitle(), null);
         
         log.info("Idea submitted for event '{}' by user '{}': {}", 
                 event.getTitle(), user.getName(), ideaData.get("title"));
@@ -415,7 +455,8 @@ public class EventService {
             "ideaId", savedIdea.getId(),
             "ideaTitle", savedIdea.getTitle(),
             "submittedBy", user.getName(),
-            "submittedAt", LocalDateTime.now().toString()
+            "submittedAt", LocalDateTime.now().toString(),
+            "possibleDuplicates", possibleDuplicates
         );
     }
 
@@ -485,6 +526,7 @@ public class EventService {
                 .pptFileUrl(event.getPptFileUrl())
                 .createdAt(event.getCreatedAt())
                 .updatedAt(event.getUpdatedAt())
+                .version(event.getVersion())
                 .totalVotes(totalVotes)
             .isExpired(eventCleanupService.isEventExpired(event))
             .isViewOnly(eventCleanupService.isEventInViewOnlyMode(event))
@@ -506,7 +548,9 @@ public class EventService {
         try {
             Event.EventStatus eventStatus = Event.EventStatus.valueOf(status.toUpperCase());
             event.setStatus(eventStatus);
-            Event savedEvent = eventRepository.save(event);
+            Event savedEvent = saveBooking(event);
+            hallAvailability.syncEvent(savedEvent);
+            hallUtilization.syncEvent(savedEvent);
             
             log.info("Updated event {} status to {}", eventId, status);
             return convertToDto(savedEvent);
@@ -520,6 +564,9 @@ public class EventService {
                 .orElseThrow(() -> new RuntimeException("Event not found with id: " + eventId));
         event.setIsActive(true);
         Event savedEvent = eventRepository.save(event);
+        hallAvailability.syncEvent(savedEvent);
+        hallUtilization.syncEvent(savedEvent);
+        autocompleteIndex.index(AutocompleteIndex.EntryType.EVENT, savedEvent.getId(), savedEvent.getTitle(), null);
         log.info("Activated event {} (set isActive=true)", eventId);
         return convertToDto(savedEvent);
     }
@@ -632,7 +679,9 @@ public class EventService {
                 log.info("Set PPT file URL for event '{}': {}", eventName, pptFileUrl);
             }
             
-            Event savedEvent = eventRepository.save(originalEvent);
+            Event savedEvent = saveBooking(originalEvent);
+            hallAvailability.syncEvent(savedEvent);
+            hallUtilization.syncEvent(savedEvent);
             
             // Send notification to club admin about the approved event
             notificationService.createNotification(
@@ -661,6 +710,52 @@ public class EventService {
         }
     }
     
+    /**
+     * Saves an event that may hold a hall. The in-memory index rejects known
+     * conflicts up front. A booking then locks the hall row and re-checks the
+     * committed bookings, so concurrent approvals of the same hall run one
+     * after the other and the second sees the first; the index cannot be
+     * trusted for that, since it changes only after commit. Flushing lets the
+     * exclusion constraint (when installed) and the version check fail here,
+     * so the caller gets a clear error instead of a failed commit.
+     */
+    private Event saveBooking(Event event) {
+        if (HallAvailabilityIndex.holdsHall(event)) {
+            Long hallId = event.getHall().getId();
+            if (!hallAvailability.isHallFree(hallId, event.getStartDate(), event.getEndDate(), event.getId())) {
+                throw new RuntimeException(hallConflictMessage(event));
+            }
+            hallRepository.lockById(hallId)
+                    .orElseThrow(() -> new RuntimeException("Hall not found with id: " + hallId));
+            // New events have no id yet and exclude nothing
+            Long excludeEventId = event.getId() != null ? event.getId() : 0L;
+            boolean conflict = event.getStartDate() == null || event.getEndDate() == null
+                    ? eventRepository.existsHallBooking(hallId, excludeEventId)
+                    : eventRepository.existsHallBookingConflict(hallId, excludeEventId,
+                            event.getStartDate().minus(HallAvailabilityIndex.BOOKING_BUFFER),
+                            event.getEndDate().plus(HallAvailabilityIndex.BOOKING_BUFFER));
+            if (conflict) {
+                throw new RuntimeException(hallConflictMessage(event));
+            }
+        }
+        try {
+            return eventRepository.saveAndFlush(event);
+        } catch (DataIntegrityViolationException e) {
+            String cause = e.getMostSpecificCause().getMessage();
+            if (cause != null && cause.contains(HALL_BOOKING_CONSTRAINT)) {
+                throw new RuntimeException(hallConflictMessage(event));
+            }
+            throw e;
+        } catch (OptimisticLockingFailureException e) {
+            throw new RuntimeException(STALE_EVENT_MESSAGE);
+        }
+    }
+    
+    private String hallConflictMessage(Event event) {
+        return "Hall '" + event.getHall().getName() + "' is already booked within " +
+               HallAvailabilityIndex.BOOKING_BUFFER.toHours() + " hours of this event's time";
+    }
+    
     private String handlePosterUpload(org.springframework.web.multipart.MultipartFile poster) {
         try {
             // Create uploads directory in the project root
@@ -700,6 +795,9 @@ public class EventService {
             event.setIsActive(false);
             event.setStatus(Event.EventStatus.CANCELLED);
             eventRepository.save(event);
+            hallAvailability.syncEvent(event);
+            hallUtilization.syncEvent(event);
+            autocompleteIndex.remove(AutocompleteIndex.EntryType.EVENT, event.getId());
         }
         
         log.info("Marked {} approved events as inactive", publishedEvents.size());
@@ -718,7 +816,12 @@ public class EventService {
         for (Event event : events) {
             log.info("Deleting event: {} (ID: {})", event.getTitle(), event.getId());
             eventRepository.delete(event);
+            hallAvailability.removeEvent(event.getId());
+            hallUtilization.removeEvent(event.getId());
+            clubRepository.adjustEventCount(event.getClub().getId(), -1);
+            autocompleteIndex.remove(AutocompleteIndex.EntryType.EVENT, event.getId());
         }
+        AfterCommit.run(clubDirectory::markStale);
         
         log.info("Deleted {} event(s) with title: {}", events.size(), title);
     }
@@ -763,6 +866,8 @@ public class EventService {
         event.setRejectionReason(null); // Clear any previous rejection reason
         
         Event savedEvent = eventRepository.save(event);
+        hallAvailability.syncEvent(savedEvent);
+        hallUtilization.syncEvent(savedEvent);
         
         log.info("Event '{}' submitted for approval by club admin", event.getTitle());
         
@@ -789,7 +894,9 @@ public class EventService {
         event.setApprovalDate(LocalDateTime.now());
         event.setRejectionReason(null);
         
-        Event savedEvent = eventRepository.save(event);
+        Event savedEvent = saveBooking(event);
+        hallAvailability.syncEvent(savedEvent);
+        hallUtilization.syncEvent(savedEvent);
         
         // Send notification to club admin
         notificationService.createNotification(
@@ -830,6 +937,8 @@ public class EventService {
         event.setApprovalDate(LocalDateTime.now());
         
         Event savedEvent = eventRepository.save(event);
+        hallAvailability.syncEvent(savedEvent);
+        hallUtilization.syncEvent(savedEvent);
         
         // Send notification to club admin
         notificationService.createNotification(
@@ -954,6 +1063,8 @@ public class EventService {
             event.setUpdatedAt(java.time.LocalDateTime.now());
             
             Event savedEvent = eventRepository.save(event);
+            hallAvailability.syncEvent(savedEvent);
+            hallUtilization.syncEvent(savedEvent);
             
             log.info("Rejected event '{}' updated and resubmitted for approval", eventName);
             
@@ -0,0 +1,321 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.repository.CommentRepository;
+import com.campus.EventInClubs.repository.IdeaRepository;
+import com.campus.EventInClubs.repository.ProblemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index with BM25 ranking over ideas, problems and
+ * comments, replacing LIKE '%term%' scans. Titles count twice as much as
+ * body text. Loaded at startup and kept current by the owning services
+ * after their writes commit; only active rows are indexed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FullTextSearchIndex {
+
+    public enum DocType { IDEA, PROBLEM, COMMENT }
+
+    public record SearchHit(Long id, double score, String highlight) {}
+
+    public record SearchResult(int total, List<SearchHit> hits) {}
+
+    private record Doc(Long id, Long scopeId, String title, String body, int length, Map<String, Integer> termFreqs) {}
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int SNIPPET_LEAD = 60;
+    private static final int SNIPPET_LENGTH = 200;
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "that", "the", "this", "to", "was", "we", "will", "with");
+
+    private final IdeaRepository ideaRepository;
+    private final ProblemRepository problemRepository;
+    private final CommentRepository commentRepository;
+
+    private final Map<DocType, Map<Long, Doc>> docs = new EnumMap<>(DocType.class);
+    private final Map<DocType, Map<String, Map<Long, Integer>>> postings = new EnumMap<>(DocType.class);
+    private final Map<DocType, Long> totalLengths = new EnumMap<>(DocType.class);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    {
+        clear();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        List<Object[]> ideas = ideaRepository.findActiveIdeaTextRows();
+        List<Object[]> problems = problemRepository.findActiveProblemTextRows();
+        List<Object[]> comments = commentRepository.findActiveCommentTextRows();
+
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (Object[] row : ideas) {
+                put(DocType.IDEA, (Long) row[0], null, (String) row[3], (String) row[4]);
+            }
+            for (Object[] row : problems) {
+                put(DocType.PROBLEM, (Long) row[0], null, (String) row[1], joinText((String) row[2], (String) row[3]));
+            }
+            for (Object[] row : comments) {
+                put(DocType.COMMENT, (Long) row[0], (Long) row[1], null, (String) row[2]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded search index: {} ideas, {} problems, {} comments",
+                ideas.size(), problems.size(), comments.size());
+    }
+
+    public void indexIdea(Long ideaId, String title, String description) {
+        index(DocType.IDEA, ideaId, null, title, description);
+    }
+
+    public void indexProblem(Long problemId, String title, String description, String category) {
+        index(DocType.PROBLEM, problemId, null, title, joinText(description, category));
+    }
+
+    public void indexComment(Long commentId, Long ideaId, String content) {
+        index(DocType.COMMENT, commentId, ideaId, null, content);
+    }
+
+    /**
+     * Adds or replaces a document once the surrounding transaction commits.
+     */
+    public void index(DocType type, Long id, Long scopeId, String title, String body) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(type, id);
+                put(type, id, scopeId, title, body);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Removes a document once the surrounding transaction commits.
+     */
+    public void remove(DocType type, Long id) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(type, id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Ranks documents of one type against the query with BM25 and returns the
+     * requested page. scopeId restricts comment searches to one idea; pass
+     * null for ideas and problems. size is clamped to 1..MAX_PAGE_SIZE, and
+     * pages past the end are empty.
+     */
+    public SearchResult search(DocType type, String query, Long scopeId, int page, int size) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return new SearchResult(0, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Doc> typeDocs = docs.getOrDefault(type, Map.of());
+            Map<String, Map<Long, Integer>> typePostings = postings.getOrDefault(type, Map.of());
+            int docCount = typeDocs.size();
+            if (docCount == 0) {
+                return new SearchResult(0, List.of());
+            }
+            double avgLength = (double) totalLengths.getOrDefault(type, 0L) / docCount;
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, Integer> termPostings = typePostings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docCount - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+                for (Map.Entry<Long, Integer> posting : termPostings.entrySet()) {
+                    Doc doc = typeDocs.get(posting.getKey());
+                    if (scopeId != null && !scopeId.equals(doc.scopeId())) {
+                        continue;
+                    }
+                    int tf = posting.getValue();
+                    double norm = K1 * (1 - B + B * doc.length() / Math.max(avgLength, 1.0));
+                    scores.merge(doc.id(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed()));
+
+            int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+            long offset = (long) Math.max(0, page) * pageSize;
+            if (offset >= ranked.size()) {
+                return new SearchResult(ranked.size(), List.of());
+            }
+            int from = (int) offset;
+            int to = Math.min(from + pageSize, ranked.size());
+            List<SearchHit> hits = new ArrayList<>(to - from);
+            for (Map.Entry<Long, Double> entry : ranked.subList(from, to)) {
+                Doc doc = typeDocs.get(entry.getKey());
+                hits.add(new SearchHit(doc.id(), entry.getValue(), highlight(doc, terms)));
+            }
+            return new SearchResult(ranked.size(), hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Callers must hold the write lock
+    private void clear() {
+        for (DocType type : DocType.values()) {
+            docs.put(type, new HashMap<>());
+            postings.put(type, new HashMap<>());
+            totalLengths.put(type, 0L);
+        }
+    }
+
+    // Callers must hold the write lock
+    private void put(DocType type, Long id, Long scopeId, String title, String body) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        for (String token : tokenize(title)) {
+            termFreqs.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String token : tokenize(body)) {
+            termFreqs.merge(token, 1, Integer::sum);
+        }
+        if (termFreqs.isEmpty()) {
+            return;
+        }
+        int length = termFreqs.values().stream().mapToInt(Integer::intValue).sum();
+        Doc doc = new Doc(id, scopeId, title, body, length, termFreqs);
+
+        docs.get(type).put(id, doc);
+        Map<String, Map<Long, Integer>> typePostings = postings.get(type);
+        termFreqs.forEach((term, tf) -> typePostings.computeIfAbsent(term, k -> new HashMap<>()).put(id, tf));
+        totalLengths.merge(type, (long) length, Long::sum);
+    }
+
+    // Callers must hold the write lock
+    private void delete(DocType type, Long id) {
+        Doc doc = docs.get(type).remove(id);
+        if (doc == null) {
+            return;
+        }
+        Map<String, Map<Long, Integer>> typePostings = postings.get(type);
+        for (String term : doc.termFreqs().keySet()) {
+            Map<Long, Integer> termPostings = typePostings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(id);
+                if (termPostings.isEmpty()) {
+                    typePostings.remove(term);
+                }
+            }
+        }
+        totalLengths.merge(type, (long) -doc.length(), Long::sum);
+    }
+
+    /**
+     * Builds a short HTML-escaped snippet around the first matching word,
+     * wrapping every matching word in &lt;mark&gt; tags.
+     */
+    private String highlight(Doc doc, Set<String> terms) {
+        String text = doc.body() != null && !doc.body().isBlank() ? doc.body() : doc.title();
+        if (text == null) {
+            return null;
+        }
+
+        Matcher matcher = WORD.matcher(text);
+        int firstMatch = 0;
+        while (matcher.find()) {
+            if (terms.contains(normalize(matcher.group()))) {
+                firstMatch = matcher.start();
+                break;
+            }
+        }
+        int start = Math.max(0, firstMatch - SNIPPET_LEAD);
+        int end = Math.min(text.length(), start + SNIPPET_LENGTH);
+        String snippet = text.substring(start, end);
+
+        StringBuilder highlighted = new StringBuilder();
+        if (start > 0) {
+            highlighted.append("…");
+        }
+        Matcher words = WORD.matcher(snippet);
+        int last = 0;
+        while (words.find()) {
+            if (terms.contains(normalize(words.group()))) {
+                highlighted.append(escapeHtml(snippet.substring(last, words.start())))
+                        .append("<mark>").append(escapeHtml(words.group())).append("</mark>");
+                last = words.end();
+            }
+        }
+        highlighted.append(escapeHtml(snippet.substring(last)));
+        if (end < text.length()) {
+            highlighted.append("…");
+        }
+        return highlighted.toString();
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        Matcher matcher = WORD.matcher(text);
+        while (matcher.find()) {
+            String token = normalize(matcher.group());
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Lower-cases and strips a plain plural "s" so "events" matches "event"
+    private static String normalize(String word) {
+        String token = word.toLowerCase(Locale.ROOT);
+        if (token.length() > 3 && token.endsWith("s") && !token.endsWith("ss")) {
+            token = token.substring(0, token.length() - 1);
+        }
+        return token;
+    }
+
+    private static String joinText(String first, String second) {
+        if (second == null || second.isBlank()) {
+            return first;
+        }
+        return (first != null ? first : "") + " " + second;
+    }
+
+    private static String escapeHtml(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -0,0 +1,342 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.Hall;
+import com.campus.EventInClubs.dto.HallAllocationPlanDto;
+import com.campus.EventInClubs.dto.HallAssignmentDto;
+import com.campus.EventInClubs.repository.EventRepository;
+import com.campus.EventInClubs.repository.HallRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns halls to all pending-approval events in one go. Planning is a
+ * best-fit greedy pass (most constrained events first, each into the
+ * smallest free hall that seats it) followed by local search: unplaced
+ * events try to move their single blocking event to another hall, and
+ * placed events move to smaller free halls to cut wasted seats. Committed
+ * bookings come from HallAvailabilityIndex; events within the plan are kept
+ * apart by the same two hour buffer.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class HallAllocationService {
+
+    private static final int MAX_IMPROVEMENT_PASSES = 5;
+
+    private static final class Request {
+        private final Event event;
+        private final int seats;
+        // Halls seating the event with no committed booking in the way, smallest first
+        private final List<Hall> candidates;
+        private Hall hall;
+
+        private Request(Event event, int seats, List<Hall> candidates) {
+            this.event = event;
+            this.seats = seats;
+            this.candidates = candidates;
+        }
+
+        private int wastedSeats() {
+            return hall != null ? hall.getSeatingCapacity() - seats : 0;
+        }
+    }
+
+    /** Buffered intervals of the events placed so far, per hall */
+    private static final class Plan {
+        private final Map<Long, HallIntervalTree> trees = new HashMap<>();
+
+        private boolean fits(Hall hall, Event event) {
+            HallIntervalTree tree = trees.get(hall.getId());
+            return tree == null || !tree.overlaps(event.getStartDate(), event.getEndDate(), event.getId());
+        }
+
+        private List<Long> blockers(Hall hall, Event event) {
+            List<Long> eventIds = new ArrayList<>();
+            HallIntervalTree tree = trees.get(hall.getId());
+            if (tree != null) {
+                tree.forEachOverlapping(event.getStartDate(), event.getEndDate(),
+                        interval -> eventIds.add(interval.eventId()));
+            }
+            return eventIds;
+        }
+
+        private void place(Long hallId, Event event) {
+            trees.computeIfAbsent(hallId, id -> new HallIntervalTree()).insert(new HallIntervalTree.Interval(
+                    event.getId(),
+                    event.getStartDate().minus(HallAvailabilityIndex.BOOKING_BUFFER),
+                    event.getEndDate().plus(HallAvailabilityIndex.BOOKING_BUFFER)));
+        }
+
+        private void place(Request request, Hall hall) {
+            place(hall.getId(), request.event);
+            request.hall = hall;
+        }
+
+        private void unplace(Request request) {
+            trees.get(request.hall.getId()).remove(request.event.getId(),
+                    request.event.getStartDate().minus(HallAvailabilityIndex.BOOKING_BUFFER));
+            request.hall = null;
+        }
+    }
+
+    private final EventRepository eventRepository;
+    private final HallRepository hallRepository;
+    private final HallAvailabilityIndex hallAvailability;
+
+    /**
+     * Proposes halls for the pending-approval events. Unless includeAssigned
+     * is set, events that already picked a hall keep it and are planned
+     * around; otherwise every pending event is (re)assigned.
+     */
+    @Transactional(readOnly = true)
+    public HallAllocationPlanDto proposePlan(boolean includeAssigned) {
+        List<Event> pending = eventRepository.findActivePendingApprovalEvents();
+        List<Hall> halls = new ArrayList<>(hallAvailability.findHallsSeating(0));
+        halls.sort(Comparator.comparing(Hall::getSeatingCapacity).thenComparing(Hall::getId));
+
+        Plan plan = new Plan();
+        List<Request> requests = new ArrayList<>();
+        List<Long> unassigned = new ArrayList<>();
+        int undated = 0;
+        for (Event event : pending) {
+            boolean keepsHall = !includeAssigned && event.getHall() != null;
+            if (event.getStartDate() == null || event.getEndDate() == null) {
+                if (!keepsHall) {
+                    unassigned.add(event.getId());
+                    undated++;
+                }
+                continue;
+            }
+            if (keepsHall) {
+                plan.place(event.getHall().getId(), event);
+                continue;
+            }
+            int seats = event.getMaxParticipants() != null ? event.getMaxParticipants() : 0;
+            List<Hall> candidates = halls.stream()
+                    .filter(hall -> hall.getSeatingCapacity() >= seats)
+                    .filter(hall -> hallAvailability.isHallFree(
+                            hall.getId(), event.getStartDate(), event.getEndDate(), event.getId()))
+                    .collect(Collectors.toList());
+            requests.add(new Request(event, seats, candidates));
+        }
+
+        // Greedy: fewest options first, then the largest events, then the earliest
+        List<Request> order = new ArrayList<>(requests);
+        order.sort(Comparator.comparingInt((Request r) -> r.candidates.size())
+                .thenComparing(r -> r.seats, Comparator.reverseOrder())
+                .thenComparing(r -> r.event.getStartDate()));
+        for (Request request : order) {
+            Hall hall = bestFit(plan, request, null);
+            if (hall != null) {
+                plan.place(request, hall);
+            }
+        }
+
+        for (int pass = 0; pass < MAX_IMPROVEMENT_PASSES; pass++) {
+            boolean improved = placeByEviction(plan, order);
+            improved |= reduceWaste(plan, order);
+            if (!improved) {
+                break;
+            }
+        }
+
+        List<HallAssignmentDto> assignments = new ArrayList<>();
+        int totalWaste = 0;
+        for (Request request : requests) {
+            if (request.hall == null) {
+                unassigned.add(request.event.getId());
+                continue;
+            }
+            totalWaste += request.wastedSeats();
+            assignments.add(HallAssignmentDto.builder()
+                    .eventId(request.event.getId())
+                    .eventTitle(request.event.getTitle())
+                    .participants(request.seats)
+                    .startDate(request.event.getStartDate())
+                    .endDate(request.event.getEndDate())
+                    .hallId(request.hall.getId())
+                    .hallName(request.hall.getName())
+                    .hallCapacity(request.hall.getSeatingCapacity())
+                    .previousHallId(request.event.getHall() != null ? request.event.getHall().getId() : null)
+                    .wastedSeats(request.wastedSeats())
+                    .build());
+        }
+
+        log.info("Proposed halls for {} of {} pending events ({} wasted seats)",
+                assignments.size(), requests.size(), totalWaste);
+        return HallAllocationPlanDto.builder()
+                .assignments(assignments)
+                .unassignedEventIds(unassigned)
+                .eventsConsidered(requests.size() + undated)
+                .totalWastedSeats(totalWaste)
+                .generatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Assigns the planned halls in one transaction. Every assignment is
+     * re-validated against committed bookings and the rest of the batch
+     * before any event is touched; any failure rejects the whole batch. As in
+     * approveEventProposal, the location is taken from the hall only when the
+     * event has none of its own.
+     */
+    public int applyPlan(List<HallAssignmentDto> assignments) {
+        if (assignments == null || assignments.isEmpty()) {
+            throw new RuntimeException("No hall assignments to apply");
+        }
+        Set<Long> eventIds = new HashSet<>();
+        for (HallAssignmentDto assignment : assignments) {
+            if (assignment.getEventId() == null || assignment.getHallId() == null) {
+                throw new RuntimeException("Each assignment needs an eventId and a hallId");
+            }
+            if (!eventIds.add(assignment.getEventId())) {
+                throw new RuntimeException("Event " + assignment.getEventId() + " is assigned more than once");
+            }
+        }
+
+        Map<Long, Event> events = eventRepository.findAllById(eventIds).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        Map<Long, Hall> halls = hallRepository.findAllById(assignments.stream()
+                        .map(HallAssignmentDto::getHallId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Hall::getId, Function.identity()));
+
+        Plan plan = new Plan();
+        Map<Long, Hall> assigned = new HashMap<>();
+        for (HallAssignmentDto assignment : assignments) {
+            Event event = events.get(assignment.getEventId());
+            if (event == null) {
+                throw new RuntimeException("Event not found with id: " + assignment.getEventId());
+            }
+            Hall hall = halls.get(assignment.getHallId());
+            if (hall == null || Boolean.FALSE.equals(hall.getIsActive())) {
+                throw new RuntimeException("Hall not found with id: " + assignment.getHallId());
+            }
+            if (event.getStatus() != Event.EventStatus.PENDING_APPROVAL) {
+                throw new RuntimeException("Event '" + event.getTitle() + "' is no longer pending approval");
+            }
+            if (event.getStartDate() == null || event.getEndDate() == null) {
+                throw new RuntimeException("Event '" + event.getTitle() + "' has no start and end date");
+            }
+            if (event.getMaxParticipants() != null && hall.getSeatingCapacity() < event.getMaxParticipants()) {
+                throw new RuntimeException("Hall '" + hall.getName() + "' is too small for event '" + event.getTitle() + "'");
+            }
+            if (!hallAvailability.isHallFree(hall.getId(), event.getStartDate(), event.getEndDate(), event.getId())
+                    || !plan.fits(hall, event)) {
+                throw new RuntimeException("Hall '" + hall.getName() + "' is already booked within " +
+                        HallAvailabilityIndex.BOOKING_BUFFER.toHours() + " hours of event '" + event.getTitle() + "'");
+            }
+            plan.place(hall.getId(), event);
+            assigned.put(event.getId(), hall);
+        }
+
+        assigned.forEach((eventId, hall) -> {
+            Event event = events.get(eventId);
+            // A location filled in from the previously picked hall follows the event to its new hall
+            String location = event.getLocation();
+            if (location == null || location.trim().isEmpty()
+                    || (event.getHall() != null && location.equals(hallLocation(event.getHall())))) {
+                event.setLocation(hallLocation(hall));
+            }
+            event.setHall(hall);
+        });
+
+        try {
+            eventRepository.saveAllAndFlush(events.values());
+        } catch (OptimisticLockingFailureException e) {
+            throw new RuntimeException("An event in the plan was changed by someone else, generate a new plan");
+        }
+        events.values().forEach(hallAvailability::syncEvent);
+
+        log.info("Applied hall plan to {} events", events.size());
+        return events.size();
+    }
+
+    private static String hallLocation(Hall hall) {
+        return hall.getName() + " - " + hall.getLocation();
+    }
+
+    // Smallest candidate hall the request fits into, other than excluded
+    private Hall bestFit(Plan plan, Request request, Hall excluded) {
+        for (Hall hall : request.candidates) {
+            if (hall != excluded && plan.fits(hall, request.event)) {
+                return hall;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Places unplaced events whose candidate hall is blocked by exactly one
+     * planned event that can move to another hall.
+     */
+    private boolean placeByEviction(Plan plan, List<Request> requests) {
+        Map<Long, Request> placed = new HashMap<>();
+        requests.stream().filter(r -> r.hall != null).forEach(r -> placed.put(r.event.getId(), r));
+
+        boolean improved = false;
+        for (Request request : requests) {
+            if (request.hall != null) {
+                continue;
+            }
+            for (Hall hall : request.candidates) {
+                List<Long> blockers = plan.blockers(hall, request.event);
+                // Events that kept their submitted hall are not in the map and stay put
+                Request blocker = blockers.size() == 1 ? placed.get(blockers.get(0)) : null;
+                if (blocker == null) {
+                    continue;
+                }
+                plan.unplace(blocker);
+                Hall alternative = bestFit(plan, blocker, hall);
+                if (alternative != null) {
+                    plan.place(blocker, alternative);
+                    plan.place(request, hall);
+                    placed.put(request.event.getId(), request);
+                    improved = true;
+                    break;
+                }
+                plan.place(blocker, hall);
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * Moves placed events, most wasteful first, to the smallest hall that
+     * still fits them.
+     */
+    private boolean reduceWaste(Plan plan, List<Request> requests) {
+        List<Request> placed = requests.stream()
+                .filter(r -> r.hall != null)
+                .sorted(Comparator.comparingInt(Request::wastedSeats).reversed())
+                .collect(Collectors.toList());
+        boolean improved = false;
+        for (Request request : placed) {
+            Hall current = request.hall;
+            plan.unplace(request);
+            // Never null: the current hall fits again once the request is lifted out
+            Hall best = bestFit(plan, request, null);
+            plan.place(request, best);
+            if (best.getSeatingCapacity() < current.getSeatingCapacity()) {
+                improved = true;
+            }
+        }
+        return improved;
+    }
+}
@@ -0,0 +1,294 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.Hall;
+import com.campus.EventInClubs.repository.EventRepository;
+import com.campus.EventInClubs.repository.HallRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory hall availability. Keeps one interval tree per hall of the
+ * approved bookings holding it, each widened by the two hour turnaround
+ * buffer, so checking a hall is an O(log n) overlap search instead of the
+ * NOT IN subquery in HallRepository. Loaded at startup and kept current by
+ * EventService and HallService after their writes commit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HallAvailabilityIndex {
+
+    /** Kept free before and after every booking, as in HallRepository */
+    public static final Duration BOOKING_BUFFER = Duration.ofHours(2);
+
+    // Halls within this many seats of the requirement rank first, as in HallRepository
+    private static final int CLOSE_FIT_SEATS = 20;
+
+    // Bookings are minute-granular, so a window starts one minute after a buffer ends
+    private static final Duration SLOT_STEP = Duration.ofMinutes(1);
+
+    /** A free window: any booking inside [start, end] clears every buffer */
+    public record FreeWindow(LocalDateTime start, LocalDateTime end) {}
+
+    // Where a booking sits in the trees, to find it again on update
+    private record Placement(Long hallId, LocalDateTime bufferedStart) {}
+
+    private final HallRepository hallRepository;
+    private final EventRepository eventRepository;
+
+    private final Map<Long, Hall> activeHalls = new HashMap<>();
+    private final Map<Long, HallIntervalTree> trees = new HashMap<>();
+    private final Map<Long, Placement> placements = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        List<Hall> halls = hallRepository.findByIsActiveTrueOrderBySeatingCapacityAsc();
+        List<Object[]> bookings = eventRepository.findHallBookingRows();
+
+        lock.writeLock().lock();
+        try {
+            activeHalls.clear();
+            trees.clear();
+            placements.clear();
+            halls.forEach(hall -> activeHalls.put(hall.getId(), hall));
+            for (Object[] row : bookings) {
+                put((Long) row[0], (Long) row[1], (LocalDateTime) row[2], (LocalDateTime) row[3]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded hall availability: {} halls, {} bookings", halls.size(), bookings.size());
+    }
+
+    /**
+     * Re-reads the event's hall, dates and status once the surrounding
+     * transaction commits; the event holds its hall only while approved and
+     * neither cancelled nor completed.
+     */
+    public void syncEvent(Event event) {
+        Long eventId = event.getId();
+        Long hallId = event.getHall() != null ? event.getHall().getId() : null;
+        boolean holdsHall = holdsHall(event);
+        LocalDateTime start = event.getStartDate();
+        LocalDateTime end = event.getEndDate();
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(eventId);
+                if (holdsHall) {
+                    put(eventId, hallId, start, end);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Whether the event blocks its hall: it has one, is approved and is
+     * neither cancelled nor completed. Mirrors the partial exclusion
+     * constraint on events.
+     */
+    public static boolean holdsHall(Event event) {
+        return event.getHall() != null
+                && event.getApprovalStatus() == Event.ApprovalStatus.APPROVED
+                && event.getStatus() != Event.EventStatus.CANCELLED
+                && event.getStatus() != Event.EventStatus.COMPLETED;
+    }
+
+    /**
+     * Frees the event's hall once the surrounding transaction commits.
+     */
+    public void removeEvent(Long eventId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(eventId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Adds, replaces or (when inactive) drops a hall once the surrounding
+     * transaction commits.
+     */
+    public void syncHall(Hall hall) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                if (Boolean.FALSE.equals(hall.getIsActive())) {
+                    activeHalls.remove(hall.getId());
+                } else {
+                    activeHalls.put(hall.getId(), hall);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Active halls seating at least requiredCapacity with no buffered
+     * booking overlapping [start, end], ignoring excludeEventId (may be
+     * null). Halls within 20 seats of the requirement come first, then by
+     * capacity, matching HallRepository.findAvailableHalls.
+     */
+    public List<Hall> findAvailableHalls(int requiredCapacity, LocalDateTime start, LocalDateTime end,
+                                         Long excludeEventId) {
+        List<Hall> available = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Hall hall : activeHalls.values()) {
+                if (hall.getSeatingCapacity() >= requiredCapacity
+                        && isFree(hall.getId(), start, end, excludeEventId)) {
+                    available.add(hall);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        available.sort(fitOrder(requiredCapacity));
+        return available;
+    }
+
+    /**
+     * True when no other booking's buffer overlaps [start, end] in the hall.
+     * Missing dates are checked against the whole timeline.
+     */
+    public boolean isHallFree(Long hallId, LocalDateTime start, LocalDateTime end, Long excludeEventId) {
+        boolean dated = start != null && end != null;
+        lock.readLock().lock();
+        try {
+            return isFree(hallId, dated ? start : LocalDateTime.MIN, dated ? end : LocalDateTime.MAX, excludeEventId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Active halls seating at least requiredCapacity, in the same order as
+     * findAvailableHalls.
+     */
+    public List<Hall> findHallsSeating(int requiredCapacity) {
+        List<Hall> halls = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Hall hall : activeHalls.values()) {
+                if (hall.getSeatingCapacity() >= requiredCapacity) {
+                    halls.add(hall);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        halls.sort(fitOrder(requiredCapacity));
+        return halls;
+    }
+
+    /**
+     * The hall's free windows within [from, to] lasting at least minLength.
+     * Sweeps the buffered bookings overlapping the range in start order,
+     * merging overlapping ones, and emits the gaps between them.
+     */
+    public List<FreeWindow> findFreeWindows(Long hallId, LocalDateTime from, LocalDateTime to, Duration minLength) {
+        List<FreeWindow> windows = new ArrayList<>();
+        LocalDateTime[] cursor = {from};
+        lock.readLock().lock();
+        try {
+            HallIntervalTree tree = trees.get(hallId);
+            if (tree != null) {
+                tree.forEachOverlapping(from, to, booking -> {
+                    if (cursor[0] == null) {
+                        return;
+                    }
+                    if (booking.start().isAfter(cursor[0])) {
+                        addWindow(windows, cursor[0], booking.start().minus(SLOT_STEP), minLength);
+                    }
+                    if (booking.end().isBefore(to)) {
+                        LocalDateTime next = booking.end().plus(SLOT_STEP);
+                        if (next.isAfter(cursor[0])) {
+                            cursor[0] = next;
+                        }
+                    } else {
+                        cursor[0] = null;
+                    }
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // A null cursor means a booking runs past the end of the range
+        if (cursor[0] != null) {
+            addWindow(windows, cursor[0], to, minLength);
+        }
+        return windows;
+    }
+
+    public int bookingCount() {
+        lock.readLock().lock();
+        try {
+            return placements.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Comparator<Hall> fitOrder(int requiredCapacity) {
+        return Comparator
+                .comparing((Hall hall) -> hall.getSeatingCapacity() > requiredCapacity + CLOSE_FIT_SEATS)
+                .thenComparing(Hall::getSeatingCapacity)
+                .thenComparing(Hall::getId);
+    }
+
+    private static void addWindow(List<FreeWindow> windows, LocalDateTime start, LocalDateTime end, Duration minLength) {
+        if (!end.isBefore(start) && Duration.between(start, end).compareTo(minLength) >= 0) {
+            windows.add(new FreeWindow(start, end));
+        }
+    }
+
+    // Callers must hold a lock
+    private boolean isFree(Long hallId, LocalDateTime start, LocalDateTime end, Long excludeEventId) {
+        HallIntervalTree tree = trees.get(hallId);
+        return tree == null || !tree.overlaps(start, end, excludeEventId);
+    }
+
+    // Callers must hold the write lock. A booking without dates blocks its hall entirely.
+    private void put(Long eventId, Long hallId, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime bufferedStart = start != null && end != null ? start.minus(BOOKING_BUFFER) : LocalDateTime.MIN;
+        LocalDateTime bufferedEnd = start != null && end != null ? end.plus(BOOKING_BUFFER) : LocalDateTime.MAX;
+        trees.computeIfAbsent(hallId, id -> new HallIntervalTree())
+                .insert(new HallIntervalTree.Interval(eventId, bufferedStart, bufferedEnd));
+        placements.put(eventId, new Placement(hallId, bufferedStart));
+    }
+
+    // Callers must hold the write lock
+    private void delete(Long eventId) {
+        Placement placement = placements.remove(eventId);
+        if (placement == null) {
+            return;
+        }
+        HallIntervalTree tree = trees.get(placement.hallId());
+        if (tree != null) {
+            tree.remove(eventId, placement.bufferedStart());
+            if (tree.size() == 0) {
+                trees.remove(placement.hallId());
+            }
+        }
+    }
+}
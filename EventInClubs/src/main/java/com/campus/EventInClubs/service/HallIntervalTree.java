@@ -0,0 +1,200 @@
+package com.campus.EventInClubs.service;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * AVL tree of closed booking intervals ordered by start time, with every
+ * node tracking the latest end in its subtree so overlap searches can skip
+ * whole subtrees. Not thread-safe; HallAvailabilityIndex guards access.
+ */
+final class HallIntervalTree {
+
+    record Interval(Long eventId, LocalDateTime start, LocalDateTime end) {}
+
+    private static final class Node {
+        private final Interval interval;
+        private LocalDateTime maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(Interval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.end();
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void insert(Interval interval) {
+        root = insert(root, interval);
+        size++;
+    }
+
+    /**
+     * Removes the interval; start must be the value it was inserted with.
+     */
+    boolean remove(Long eventId, LocalDateTime start) {
+        int before = size;
+        root = remove(root, eventId, start);
+        return size < before;
+    }
+
+    /**
+     * True when an interval other than excludeEventId overlaps [from, to].
+     */
+    boolean overlaps(LocalDateTime from, LocalDateTime to, Long excludeEventId) {
+        return overlaps(root, from, to, excludeEventId);
+    }
+
+    /**
+     * Visits the intervals overlapping [from, to] in start order.
+     */
+    void forEachOverlapping(LocalDateTime from, LocalDateTime to, Consumer<Interval> action) {
+        forEachOverlapping(root, from, to, action);
+    }
+
+    private boolean overlaps(Node node, LocalDateTime from, LocalDateTime to, Long excludeEventId) {
+        if (node == null || node.maxEnd.isBefore(from)) {
+            return false;
+        }
+        if (overlaps(node.left, from, to, excludeEventId)) {
+            return true;
+        }
+        // This node and everything to its right start after the query
+        if (node.interval.start().isAfter(to)) {
+            return false;
+        }
+        if (!node.interval.end().isBefore(from) && !node.interval.eventId().equals(excludeEventId)) {
+            return true;
+        }
+        return overlaps(node.right, from, to, excludeEventId);
+    }
+
+    private void forEachOverlapping(Node node, LocalDateTime from, LocalDateTime to, Consumer<Interval> action) {
+        if (node == null || node.maxEnd.isBefore(from)) {
+            return;
+        }
+        forEachOverlapping(node.left, from, to, action);
+        if (node.interval.start().isAfter(to)) {
+            return;
+        }
+        if (!node.interval.end().isBefore(from)) {
+            action.accept(node.interval);
+        }
+        forEachOverlapping(node.right, from, to, action);
+    }
+
+    private static int compare(LocalDateTime start, Long eventId, Interval interval) {
+        int byStart = start.compareTo(interval.start());
+        return byStart != 0 ? byStart : eventId.compareTo(interval.eventId());
+    }
+
+    private Node insert(Node node, Interval interval) {
+        if (node == null) {
+            return new Node(interval);
+        }
+        if (compare(interval.start(), interval.eventId(), node.interval) < 0) {
+            node.left = insert(node.left, interval);
+        } else {
+            node.right = insert(node.right, interval);
+        }
+        return rebalance(node);
+    }
+
+    private Node remove(Node node, Long eventId, LocalDateTime start) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, eventId, node.interval);
+        if (cmp < 0) {
+            node.left = remove(node.left, eventId, start);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, eventId, start);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            // Replace with the in-order successor
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            Node replacement = new Node(successor.interval);
+            replacement.right = removeMin(node.right);
+            replacement.left = node.left;
+            return rebalance(replacement);
+        }
+        return rebalance(node);
+    }
+
+    private Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        LocalDateTime maxEnd = node.interval.end();
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+}
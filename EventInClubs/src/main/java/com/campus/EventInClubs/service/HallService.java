@@ -1,15 +1,21 @@
 package com.campus.EventInClubs.service;
 
 import com.campus.EventInClubs.domain.model.Hall;
+import com.campus.EventInClubs.dto.FreeSlotDto;
+import com.campus.EventInClubs.dto.HallFreeSlotsDto;
 import com.campus.EventInClubs.repository.HallRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -18,6 +24,9 @@ import java.util.Optional;
 public class HallService {
     
     private final HallRepository hallRepository;
+    private final HallAvailabilityIndex availabilityIndex;
+    
+    private static final Duration MAX_FREE_SLOT_RANGE = Duration.ofDays(92);
     
     public List<Hall> getAllActiveHalls() {
         return hallRepository.findByIsActiveTrueOrderBySeatingCapacityAsc();
@@ -27,6 +36,7 @@ public class HallService {
         return hallRepository.findById(id);
     }
     
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<Hall> getAvailableHalls(Integer requiredCapacity, LocalDateTime startTime, LocalDateTime endTime) {
         log.info("Finding available halls for capacity: {}, start: {}, end: {}", 
                 requiredCapacity, startTime, endTime);
@@ -41,23 +51,19 @@ public class HallService {
             return List.of();
         }
         
-        // Calculate buffer times for logging
-        LocalDateTime bufferStart = startTime.minusHours(2);
-        LocalDateTime bufferEnd = endTime.plusHours(2);
-        log.info("Checking hall availability with 2-hour buffer: {} to {}", bufferStart, bufferEnd);
-        
-        List<Hall> availableHalls = hallRepository.findAvailableHalls(requiredCapacity, startTime, endTime);
+        List<Hall> availableHalls = availabilityIndex.findAvailableHalls(requiredCapacity, startTime, endTime, null);
         log.info("Found {} available halls for capacity {}", availableHalls.size(), requiredCapacity);
         
         // Debug: Log each hall's capacity
         for (Hall hall : availableHalls) {
-            log.info("Available Hall: {} (ID: {}) - Capacity: {} (Required: {})", 
+            log.debug("Available Hall: {} (ID: {}) - Capacity: {} (Required: {})", 
                     hall.getName(), hall.getId(), hall.getSeatingCapacity(), requiredCapacity);
         }
         
         return availableHalls;
     }
     
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<Hall> getAvailableHallsExcludingEvent(Integer requiredCapacity, LocalDateTime startTime, 
                                                      LocalDateTime endTime, Long excludeEventId) {
         log.info("Finding available halls excluding event: {}", excludeEventId);
@@ -70,9 +76,10 @@ public class HallService {
             return List.of();
         }
         
-        return hallRepository.findAvailableHallsExcludingEvent(requiredCapacity, startTime, endTime, excludeEventId);
+        return availabilityIndex.findAvailableHalls(requiredCapacity, startTime, endTime, excludeEventId);
     }
     
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<Hall> getBestFitHall(Integer requiredCapacity, LocalDateTime startTime, LocalDateTime endTime) {
         List<Hall> availableHalls = getAvailableHalls(requiredCapacity, startTime, endTime);
         
@@ -85,9 +92,51 @@ public class HallService {
         return Optional.of(availableHalls.get(0));
     }
     
+    /**
+     * Free windows of at least the given duration in every hall seating
+     * requiredCapacity, one entry per hall that has any. Arguments are
+     * validated up front; each hall's bookings are swept lazily as the
+     * stream is consumed, so long ranges can be written out incrementally.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Stream<HallFreeSlotsDto> findFreeSlots(Integer requiredCapacity, Integer durationMinutes,
+                                                  LocalDateTime from, LocalDateTime to) {
+        if (requiredCapacity == null || requiredCapacity <= 0) {
+            throw new IllegalArgumentException("Participants must be positive");
+        }
+        if (durationMinutes == null || durationMinutes <= 0) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Start of range must be before its end");
+        }
+        if (Duration.between(from, to).compareTo(MAX_FREE_SLOT_RANGE) > 0) {
+            throw new IllegalArgumentException("Range cannot exceed " + MAX_FREE_SLOT_RANGE.toDays() + " days");
+        }
+        
+        Duration duration = Duration.ofMinutes(durationMinutes);
+        return availabilityIndex.findHallsSeating(requiredCapacity).stream()
+                .map(hall -> HallFreeSlotsDto.builder()
+                        .hallId(hall.getId())
+                        .hallName(hall.getName())
+                        .seatingCapacity(hall.getSeatingCapacity())
+                        .location(hall.getLocation())
+                        .slots(availabilityIndex.findFreeWindows(hall.getId(), from, to, duration).stream()
+                                .map(window -> FreeSlotDto.builder()
+                                        .start(window.start())
+                                        .end(window.end())
+                                        .durationMinutes(Duration.between(window.start(), window.end()).toMinutes())
+                                        .build())
+                                .collect(Collectors.toList()))
+                        .build())
+                .filter(hallSlots -> !hallSlots.getSlots().isEmpty());
+    }
+    
     public Hall createHall(Hall hall) {
         log.info("Creating new hall: {}", hall.getName());
-        return hallRepository.save(hall);
+        Hall savedHall = hallRepository.save(hall);
+        availabilityIndex.syncHall(savedHall);
+        return savedHall;
     }
     
     public Hall updateHall(Long id, Hall hallDetails) {
@@ -101,7 +150,9 @@ public class HallService {
                     existingHall.setLocation(hallDetails.getLocation());
                     existingHall.setFacilities(hallDetails.getFacilities());
                     existingHall.setIsActive(hallDetails.getIsActive());
-                    return hallRepository.save(existingHall);
+                    Hall savedHall = hallRepository.save(existingHall);
+                    availabilityIndex.syncHall(savedHall);
+                    return savedHall;
                 })
                 .orElseThrow(() -> new RuntimeException("Hall not found with id: " + id));
     }
@@ -115,5 +166,6 @@ public class HallService {
         // Soft delete - mark as inactive instead of actual deletion
         hall.setIsActive(false);
         hallRepository.save(hall);
+        availabilityIndex.syncHall(hall);
     }
 }
@@ -0,0 +1,358 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.Hall;
+import com.campus.EventInClubs.dto.HallDayUsageDto;
+import com.campus.EventInClubs.dto.HallUtilizationDto;
+import com.campus.EventInClubs.dto.HourUsageDto;
+import com.campus.EventInClubs.repository.EventRepository;
+import com.campus.EventInClubs.repository.HallUsageRollupRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hall utilization served from hall_usage_rollups, which holds the minutes
+ * each hall is occupied per day and hour of day. Approved bookings count
+ * until cancelled; completed ones stay counted. EventService reports every
+ * booking change, and after commit the difference between the booking's old
+ * and new hours is added to the rollups on a single writer thread, which
+ * also owns the record of what is counted. Heatmaps and peak hours read at
+ * most 24 rows per hall and day instead of overlapping events. A nightly
+ * rebuild from the events table corrects drift, e.g. from a failed write.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HallUtilizationService {
+
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int HOURS_PER_DAY = 24;
+    private static final long MAX_RANGE_DAYS = 366;
+    // Longer bookings only count towards their first year
+    private static final Duration MAX_BOOKING_SPAN = Duration.ofDays(366);
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO hall_usage_rollups (hall_id, usage_date, hour_of_day, occupied_minutes) VALUES (?, ?, ?, ?)";
+    private static final String UPSERT_SQL = INSERT_SQL +
+            " ON CONFLICT (hall_id, usage_date, hour_of_day) " +
+            "DO UPDATE SET occupied_minutes = hall_usage_rollups.occupied_minutes + EXCLUDED.occupied_minutes";
+
+    private record Booking(Long hallId, LocalDateTime start, LocalDateTime end) {}
+
+    private record Bucket(Long hallId, LocalDate date, int hour) {}
+
+    private final EventRepository eventRepository;
+    private final HallUsageRollupRepository rollupRepository;
+    private final HallAvailabilityIndex hallAvailability;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "hall-usage-rollups");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Bookings as currently counted in the rollups; only touched on the writer thread
+    private final Map<Long, Booking> counted = new HashMap<>();
+    private final AtomicLong deltasApplied = new AtomicLong();
+    private final AtomicLong failedDeltas = new AtomicLong();
+    private volatile Map<String, Object> lastRebuild = Map.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        writer.execute(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("Error building hall usage rollups: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Re-counts the event's hall usage once the surrounding transaction
+     * commits. It counts while it has a hall and dates and is approved and
+     * not cancelled.
+     */
+    public void syncEvent(Event event) {
+        Long eventId = event.getId();
+        Booking booking = countsTowardsUsage(event)
+                ? new Booking(event.getHall().getId(), event.getStartDate(), event.getEndDate())
+                : null;
+        AfterCommit.run(() -> writer.execute(() -> apply(eventId, booking)));
+    }
+
+    /**
+     * Stops counting the event once the surrounding transaction commits.
+     */
+    public void removeEvent(Long eventId) {
+        AfterCommit.run(() -> writer.execute(() -> apply(eventId, null)));
+    }
+
+    /**
+     * Occupied minutes per active hall (or just hallId), day and hour for
+     * every date in [from, to].
+     */
+    @Transactional(readOnly = true)
+    public List<HallUtilizationDto> getHeatmap(LocalDate from, LocalDate to, Long hallId) {
+        List<Hall> halls = hallsFor(hallId);
+        int dayCount = dayCount(from, to);
+        Map<Long, int[][]> grid = loadGrid(halls, from, to, hallId, dayCount);
+
+        List<HallUtilizationDto> heatmap = new ArrayList<>();
+        for (Hall hall : halls) {
+            int[][] hours = grid.get(hall.getId());
+            List<HallDayUsageDto> days = new ArrayList<>(dayCount);
+            long total = 0;
+            for (int day = 0; day < dayCount; day++) {
+                int minutes = 0;
+                for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+                    minutes += hours[day][hour];
+                }
+                total += minutes;
+                days.add(HallDayUsageDto.builder()
+                        .date(from.plusDays(day))
+                        .occupiedMinutes(minutes)
+                        .utilization((double) minutes / (HOURS_PER_DAY * MINUTES_PER_HOUR))
+                        .hourlyMinutes(hours[day])
+                        .build());
+            }
+            heatmap.add(HallUtilizationDto.builder()
+                    .hallId(hall.getId())
+                    .hallName(hall.getName())
+                    .seatingCapacity(hall.getSeatingCapacity())
+                    .totalOccupiedMinutes(total)
+                    .utilization((double) total / ((long) dayCount * HOURS_PER_DAY * MINUTES_PER_HOUR))
+                    .days(days)
+                    .build());
+        }
+        return heatmap;
+    }
+
+    /**
+     * Occupied minutes per hour of day over [from, to] across the active
+     * halls (or just hallId), busiest hour first.
+     */
+    @Transactional(readOnly = true)
+    public List<HourUsageDto> getPeakHours(LocalDate from, LocalDate to, Long hallId) {
+        List<Hall> halls = hallsFor(hallId);
+        int dayCount = dayCount(from, to);
+        Map<Long, int[][]> grid = loadGrid(halls, from, to, hallId, dayCount);
+
+        long[] byHour = new long[HOURS_PER_DAY];
+        for (int[][] hours : grid.values()) {
+            for (int[] day : hours) {
+                for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+                    byHour[hour] += day[hour];
+                }
+            }
+        }
+        long available = (long) halls.size() * dayCount * MINUTES_PER_HOUR;
+        List<HourUsageDto> peaks = new ArrayList<>(HOURS_PER_DAY);
+        for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+            peaks.add(HourUsageDto.builder()
+                    .hour(hour)
+                    .occupiedMinutes(byHour[hour])
+                    .utilization(available == 0 ? 0.0 : (double) byHour[hour] / available)
+                    .build());
+        }
+        peaks.sort(Comparator.comparingLong(HourUsageDto::getOccupiedMinutes).reversed()
+                .thenComparingInt(HourUsageDto::getHour));
+        return peaks;
+    }
+
+    /**
+     * Runs nightly at 3:45 AM to rebuild the rollups from the events table
+     */
+    @Scheduled(cron = "0 45 3 * * *")
+    public void rebuildRollups() {
+        try {
+            Map<String, Object> result = rebuildNow();
+            log.info("Rebuilt hall usage rollups: {} bookings, {} rows", result.get("bookings"), result.get("rows"));
+        } catch (Exception e) {
+            log.error("Error during hall usage rollup rebuild: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Manually trigger a rebuild (for testing or admin purposes). Runs on the
+     * writer thread behind any pending deltas.
+     */
+    public Map<String, Object> rebuildNow() {
+        try {
+            return writer.submit(this::rebuild).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while rebuilding hall usage rollups");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to rebuild hall usage rollups: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "deltasApplied", deltasApplied.get(),
+                "failedDeltas", failedDeltas.get(),
+                "lastRebuild", lastRebuild);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdown();
+    }
+
+    private static boolean countsTowardsUsage(Event event) {
+        return event.getHall() != null
+                && event.getApprovalStatus() == Event.ApprovalStatus.APPROVED
+                && event.getStatus() != Event.EventStatus.CANCELLED
+                && event.getStartDate() != null
+                && event.getEndDate() != null;
+    }
+
+    // Writer thread only
+    private void apply(Long eventId, Booking booking) {
+        Booking previous = booking != null ? counted.put(eventId, booking) : counted.remove(eventId);
+        if (Objects.equals(previous, booking)) {
+            return;
+        }
+        Map<Bucket, Integer> delta = new HashMap<>();
+        if (previous != null) {
+            addMinutes(delta, previous, -1);
+        }
+        if (booking != null) {
+            addMinutes(delta, booking, 1);
+        }
+        delta.values().removeIf(minutes -> minutes == 0);
+        if (delta.isEmpty()) {
+            return;
+        }
+        try {
+            writeRows(UPSERT_SQL, delta);
+            deltasApplied.incrementAndGet();
+        } catch (Exception e) {
+            failedDeltas.incrementAndGet();
+            log.error("Failed to update hall usage rollups for event {}, the nightly rebuild will correct them: {}",
+                    eventId, e.getMessage());
+        }
+    }
+
+    // Writer thread only. Replaces all rollups in one transaction.
+    private Map<String, Object> rebuild() {
+        long started = System.currentTimeMillis();
+        Map<Long, Booking> bookings = new HashMap<>();
+        Map<Bucket, Integer> totals = new HashMap<>();
+        for (Object[] row : eventRepository.findHallUsageRows()) {
+            Booking booking = new Booking((Long) row[1], (LocalDateTime) row[2], (LocalDateTime) row[3]);
+            bookings.put((Long) row[0], booking);
+            addMinutes(totals, booking, 1);
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM hall_usage_rollups");
+            writeRows(INSERT_SQL, totals);
+        });
+        counted.clear();
+        counted.putAll(bookings);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("bookings", bookings.size());
+        result.put("rows", totals.size());
+        result.put("durationMs", System.currentTimeMillis() - started);
+        result.put("rebuiltAt", LocalDateTime.now());
+        lastRebuild = result;
+        return result;
+    }
+
+    // Spreads the booking's minutes over the hours it touches
+    private static void addMinutes(Map<Bucket, Integer> buckets, Booking booking, int sign) {
+        LocalDateTime end = booking.end();
+        LocalDateTime cap = booking.start().plus(MAX_BOOKING_SPAN);
+        if (end.isAfter(cap)) {
+            end = cap;
+        }
+        LocalDateTime hour = booking.start().truncatedTo(ChronoUnit.HOURS);
+        while (hour.isBefore(end)) {
+            LocalDateTime next = hour.plusHours(1);
+            LocalDateTime from = booking.start().isAfter(hour) ? booking.start() : hour;
+            LocalDateTime to = end.isBefore(next) ? end : next;
+            int minutes = (int) Duration.between(from, to).toMinutes();
+            if (minutes > 0) {
+                buckets.merge(new Bucket(booking.hallId(), hour.toLocalDate(), hour.getHour()), sign * minutes, Integer::sum);
+            }
+            hour = next;
+        }
+    }
+
+    private void writeRows(String sql, Map<Bucket, Integer> minutes) {
+        jdbcTemplate.batchUpdate(sql, new ArrayList<>(minutes.entrySet()), BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, row.getKey().hallId());
+            ps.setObject(2, row.getKey().date());
+            ps.setInt(3, row.getKey().hour());
+            ps.setInt(4, row.getValue());
+        });
+    }
+
+    private List<Hall> hallsFor(Long hallId) {
+        List<Hall> halls = new ArrayList<>(hallAvailability.findHallsSeating(0));
+        if (hallId != null) {
+            halls.removeIf(hall -> !hall.getId().equals(hallId));
+            if (halls.isEmpty()) {
+                throw new IllegalArgumentException("Hall not found with id: " + hallId);
+            }
+        }
+        return halls;
+    }
+
+    private static int dayCount(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        return (int) days;
+    }
+
+    // Occupied minutes per hall, day offset and hour; overlapping bookings never exceed the full hour
+    private Map<Long, int[][]> loadGrid(List<Hall> halls, LocalDate from, LocalDate to, Long hallId, int dayCount) {
+        Map<Long, int[][]> grid = new HashMap<>();
+        halls.forEach(hall -> grid.put(hall.getId(), new int[dayCount][HOURS_PER_DAY]));
+        for (Object[] row : rollupRepository.findUsageRows(from, to, hallId)) {
+            int[][] hours = grid.get((Long) row[0]);
+            if (hours == null) {
+                continue; // inactive hall
+            }
+            int day = (int) ChronoUnit.DAYS.between(from, (LocalDate) row[1]);
+            hours[day][(Integer) row[2]] = Math.min((Integer) row[3], MINUTES_PER_HOUR);
+        }
+        return grid;
+    }
+}
@@ -2,8 +2,11 @@ package com.campus.EventInClubs.service;
 
 import com.campus.EventInClubs.domain.model.Idea;
 import com.campus.EventInClubs.domain.model.Problem;
+import com.campus.EventInClubs.domain.model.Role;
 import com.campus.EventInClubs.domain.model.User;
 import com.campus.EventInClubs.dto.IdeaDto;
+import com.campus.EventInClubs.dto.SearchPageDto;
+import com.campus.EventInClubs.dto.SimilarIdeaDto;
 import com.campus.EventInClubs.repository.IdeaRepository;
 import com.campus.EventInClubs.repository.ProblemRepository;
 import com.campus.EventInClubs.repository.UserRepository;
@@ -14,7 +17,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -30,40 +37,39 @@ public class IdeaService {
     private final VoteRepository voteRepository;
     private final NotificationService notificationService;
     private final AchievementService achievementService;
+    private final IdeaSimilarityIndex ideaSimilarityIndex;
+    private final FullTextSearchIndex searchIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final ClubPermissionResolver permissionResolver;
     
+    private static final int VOTE_QUERY_BATCH_SIZE = 1000;
+    
+    @Transactional(readOnly = true)
     public List<IdeaDto> getAllActiveIdeas() {
-        List<Idea> ideas = ideaRepository.findByIsActiveTrueOrderByCreatedAtDesc();
-        return ideas.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertRowsToDtos(ideaRepository.findActiveIdeaRows());
     }
     
+    @Transactional(readOnly = true)
     public List<IdeaDto> getIdeasByProblem(Long problemId) {
-        List<Idea> ideas = ideaRepository.findByProblemIdAndIsActiveTrueOrderByCreatedAtDesc(problemId);
-        return ideas.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertRowsToDtos(ideaRepository.findActiveIdeaRowsByProblemId(problemId));
     }
     
+    @Transactional(readOnly = true)
     public List<IdeaDto> getIdeasByUser(Long userId) {
-        List<Idea> ideas = ideaRepository.findBySubmittedByIdAndIsActiveTrueOrderByCreatedAtDesc(userId);
-        return ideas.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertRowsToDtos(ideaRepository.findActiveIdeaRowsByUserId(userId));
     }
     
+    @Transactional(readOnly = true)
     public List<IdeaDto> getTopIdeas() {
-        List<Idea> ideas = ideaRepository.findTopIdeas();
-        return ideas.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        // Rows arrive newest first; the stable sort keeps that as the tie-breaker
+        List<IdeaDto> ideas = convertRowsToDtos(ideaRepository.findActiveIdeaRows());
+        ideas.sort(Comparator.comparing(IdeaDto::getUpvotes).reversed());
+        return ideas;
     }
     
+    @Transactional(readOnly = true)
     public List<IdeaDto> getFeaturedIdeas() {
-        List<Idea> ideas = ideaRepository.findByIsFeaturedTrueAndIsActiveTrueOrderByCreatedAtDesc();
-        return ideas.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertRowsToDtos(ideaRepository.findFeaturedIdeaRows());
     }
     
     public List<IdeaDto> getIdeasByStatus(String status) {
@@ -73,11 +79,57 @@ public class IdeaService {
                 .collect(Collectors.toList());
     }
     
-    public List<IdeaDto> searchIdeas(String searchTerm) {
-        List<Idea> ideas = ideaRepository.searchActiveIdeas(searchTerm);
-        return ideas.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public SearchPageDto<IdeaDto> searchIdeas(String searchTerm, int page, int size) {
+        FullTextSearchIndex.SearchResult result = searchIndex.search(
+                FullTextSearchIndex.DocType.IDEA, searchTerm, null, page, size);
+        List<Long> ideaIds = result.hits().stream().map(FullTextSearchIndex.SearchHit::id).collect(Collectors.toList());
+        
+        Map<Long, IdeaDto> byId = new HashMap<>();
+        if (!ideaIds.isEmpty()) {
+            for (IdeaDto dto : convertRowsToDtos(ideaRepository.findIdeaRowsByIds(ideaIds))) {
+                byId.put(dto.getId(), dto);
+            }
+        }
+        
+        // Keep the index's rank order
+        List<IdeaDto> ranked = new ArrayList<>();
+        for (FullTextSearchIndex.SearchHit hit : result.hits()) {
+            IdeaDto dto = byId.get(hit.id());
+            if (dto != null) {
+                dto.setHighlight(hit.highlight());
+                ranked.add(dto);
+            }
+        }
+        return SearchPageDto.<IdeaDto>builder()
+                .page(page)
+                .size(size)
+                .total(result.total())
+                .hasNext((page + 1L) * size < result.total())
+                .results(ranked)
+                .build();
+    }
+    
+    /**
+     * Likely duplicates of a draft idea within a problem or event, for use before submission
+     */
+    public List<SimilarIdeaDto> findSimilarIdeas(Long problemId, Long eventId, String title, String description) {
+        return ideaSimilarityIndex.findSimilar(problemId, eventId, title, description, null, IdeaSimilarityIndex.MAX_SUGGESTIONS);
+    }
+    
+    public List<List<SimilarIdeaDto>> getDuplicateClustersForProblem(Long problemId) {
+        return ideaSimilarityIndex.clusterProblem(problemId);
+    }
+    
+    /**
+     * Super admins and the admin of the club that posted the problem may review its duplicate clusters
+     */
+    public boolean canViewDuplicateClusters(Long problemId, Long userId) {
+        if (permissionResolver.isSuperAdmin(userId)) {
+            return true;
+        }
+        List<Long> clubIds = problemRepository.findClubIdById(problemId);
+        return !clubIds.isEmpty() && permissionResolver.isClubAdmin(userId, clubIds.get(0));
     }
     
     public Optional<IdeaDto> getIdeaById(Long id) {
@@ -102,6 +154,9 @@ public class IdeaService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
+        List<SimilarIdeaDto> possibleDuplicates = ideaSimilarityIndex.findSimilar(
+                problemId, null, ideaDto.getTitle(), ideaDto.getDescription(), null, IdeaSimilarityIndex.MAX_SUGGESTIONS);
+        
         Idea idea = Idea.builder()
                 .title(ideaDto.getTitle())
                 .description(ideaDto.getDescription())
@@ -117,7 +172,13 @@ public class IdeaService {
                 .build();
         
         Idea savedIdea = ideaRepository.save(idea);
+        ideaSimilarityIndex.index(savedIdea.getId(), problemId, null, savedIdea.getTitle(), savedIdea.getDescription());
+        searchIndex.indexIdea(savedIdea.getId(), savedIdea.getTitle(), savedIdea.getDescription());
+        autocompleteIndex.index(AutocompleteIndex.EntryType.IDEA, savedIdea.getId(), savedIdea.getTitle(), null);
         log.info("Created new idea: {} for problem: {}", savedIdea.getTitle(), problem.getTitle());
+        if (!possibleDuplicates.isEmpty()) {
+            log.info("Idea {} has {} likely duplicates in problem {}", savedIdea.getId(), possibleDuplicates.size(), problemId);
+        }
         
         // Send notification to problem owner
         if (problem.getPostedBy() != null && !problem.getPostedBy().getId().equals(userId)) {
@@ -127,7 +188,9 @@ public class IdeaService {
         // Check for achievements
         achievementService.checkAndAwardAchievements(userId);
         
-        return convertToDto(savedIdea);
+        IdeaDto created = convertToDto(savedIdea);
+        created.setPossibleDuplicates(possibleDuplicates);
+        return created;
     }
     
     public IdeaDto updateIdea(Long id, IdeaDto ideaDto, Long userId) {
@@ -154,6 +217,12 @@ public class IdeaService {
         idea.setUpdatedAt(Instant.now());
         
         Idea savedIdea = ideaRepository.save(idea);
+        ideaSimilarityIndex.index(savedIdea.getId(),
+                savedIdea.getProblem() != null ? savedIdea.getProblem().getId() : null,
+                savedIdea.getEvent() != null ? savedIdea.getEvent().getId() : null,
+                savedIdea.getTitle(), savedIdea.getDescription());
+        searchIndex.indexIdea(savedIdea.getId(), savedIdea.getTitle(), savedIdea.getDescription());
+        autocompleteIndex.index(AutocompleteIndex.EntryType.IDEA, savedIdea.getId(), savedIdea.getTitle(), null);
         log.info("Updated idea: {}", savedIdea.getTitle());
         
         return convertToDto(savedIdea);
@@ -163,18 +232,7 @@ public class IdeaService {
         Idea idea = ideaRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Idea not found"));
         
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        // Only club admins and super admins can change status
-        if (!user.getRole().name().equals("CLUB_ADMIN") && !user.getRole().name().equals("SUPER_ADMIN")) {
-            throw new RuntimeException("Only club admins can change idea status");
-        }
-        
-        // Check if user is admin of the club that owns the problem
-        if (!idea.getProblem().getClub().getAdminUser().getId().equals(userId) && !user.getRole().name().equals("SUPER_ADMIN")) {
-            throw new RuntimeException("You can only change status of ideas for your own club's problems");
-        }
+        checkCanChangeStatus(id, userId);
         
         idea.setStatus(Idea.IdeaStatus.valueOf(status));
         idea.setUpdatedAt(Instant.now());
@@ -199,18 +257,7 @@ public class IdeaService {
         Idea idea = ideaRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Idea not found"));
         
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        // Only club admins and super admins can change status
-        if (!user.getRole().name().equals("CLUB_ADMIN") && !user.getRole().name().equals("SUPER_ADMIN")) {
-            throw new RuntimeException("Only club admins can change idea status");
-        }
-        
-        // Check if user is admin of the club that owns the problem
-        if (!idea.getProblem().getClub().getAdminUser().getId().equals(userId) && !user.getRole().name().equals("SUPER_ADMIN")) {
-            throw new RuntimeException("You can only change status of ideas for your own club's problems");
-        }
+        checkCanChangeStatus(id, userId);
         
         idea.setStatus(Idea.IdeaStatus.valueOf(status));
         idea.setUpdatedAt(Instant.now());
@@ -251,9 +298,32 @@ public class IdeaService {
         idea.setIsActive(false);
         idea.setUpdatedAt(Instant.now());
         ideaRepository.save(idea);
+        ideaSimilarityIndex.remove(idea.getId());
+        searchIndex.remove(FullTextSearchIndex.DocType.IDEA, idea.getId());
+        autocompleteIndex.remove(AutocompleteIndex.EntryType.IDEA, idea.getId());
         log.info("Deactivated idea: {}", idea.getTitle());
     }
     
+    private void checkCanChangeStatus(Long ideaId, Long userId) {
+        Role role = permissionResolver.globalRole(userId);
+        if (role == null) {
+            throw new RuntimeException("User not found");
+        }
+        
+        // Only club admins and super admins can change status
+        if (role != Role.CLUB_ADMIN && role != Role.SUPER_ADMIN) {
+            throw new RuntimeException("Only club admins can change idea status");
+        }
+        
+        // Check if user is admin of the club that owns the idea
+        if (role != Role.SUPER_ADMIN) {
+            Long clubId = permissionResolver.clubIdOfIdea(ideaId);
+            if (clubId == null || !permissionResolver.isClubAdmin(userId, clubId)) {
+                throw new RuntimeException("You can only change status of ideas for your own club's problems");
+            }
+        }
+    }
+    
     private IdeaDto convertToDto(Idea idea) {
         // Calculate vote counts
         long upvotes = voteRepository.countByIdeaIdAndVoteType(idea.getId(), com.campus.EventInClubs.domain.model.Vote.VoteType.UP);
@@ -266,8 +336,10 @@ public class IdeaService {
                 .implementationPlan(idea.getImplementationPlan())
                 .expectedOutcome(idea.getExpectedOutcome())
                 .pptFileUrl(idea.getPptFileUrl())
-                .problemId(idea.getProblem().getId())
-                .problemTitle(idea.getProblem().getTitle())
+                .problemId(idea.getProblem() != null ? idea.getProblem().getId() : null)
+                .problemTitle(idea.getProblem() != null ? idea.getProblem().getTitle() : null)
+                .clubId(idea.getProblem() != null ? idea.getProblem().getClub().getId() : null)
+                .clubName(idea.getProblem() != null ? idea.getProblem().getClub().getName() : null)
                 .submittedById(idea.getSubmittedBy().getId())
                 .submittedByName(idea.getSubmittedBy().getName())
                 .status(idea.getStatus().name())
@@ -275,8 +347,61 @@ public class IdeaService {
                 .isFeatured(idea.getIsFeatured())
                 .upvotes(upvotes)
                 .downvotes(downvotes)
+                .commentCount(idea.getCommentCount() != null ? idea.getCommentCount() : 0)
                 .createdAt(idea.getCreatedAt())
                 .updatedAt(idea.getUpdatedAt())
                 .build();
     }
+    
+    /**
+     * Builds DTOs for a listing from joined scalar rows plus one grouped vote
+     * query per batch of ideas, instead of two vote counts and several lazy
+     * loads per idea.
+     */
+    private List<IdeaDto> convertRowsToDtos(List<IdeaRepository.IdeaListingRow> rows) {
+        List<Long> ideaIds = rows.stream().map(IdeaRepository.IdeaListingRow::getId).collect(Collectors.toList());
+        Map<Long, long[]> voteTotals = loadVoteTotals(ideaIds);
+        
+        List<IdeaDto> dtos = new ArrayList<>(rows.size());
+        for (IdeaRepository.IdeaListingRow row : rows) {
+            long[] votes = voteTotals.getOrDefault(row.getId(), new long[2]);
+            dtos.add(IdeaDto.builder()
+                    .id(row.getId())
+                    .title(row.getTitle())
+                    .description(row.getDescription())
+                    .implementationPlan(row.getImplementationPlan())
+                    .expectedOutcome(row.getExpectedOutcome())
+                    .pptFileUrl(row.getPptFileUrl())
+                    .problemId(row.getProblemId())
+                    .problemTitle(row.getProblemTitle())
+                    .clubId(row.getClubId())
+                    .clubName(row.getClubName())
+                    .submittedById(row.getSubmittedById())
+                    .submittedByName(row.getSubmittedByName())
+                    .status(row.getStatus().name())
+                    .isActive(row.getIsActive())
+                    .isFeatured(row.getIsFeatured())
+                    .upvotes(votes[0])
+                    .downvotes(votes[1])
+                    .commentCount(row.getCommentCount() != null ? row.getCommentCount() : 0)
+                    .createdAt(row.getCreatedAt())
+                    .updatedAt(row.getUpdatedAt())
+                    .build());
+        }
+        return dtos;
+    }
+    
+    // Returns ideaId -> {upvotes, downvotes}
+    private Map<Long, long[]> loadVoteTotals(List<Long> ideaIds) {
+        Map<Long, long[]> totals = new HashMap<>();
+        for (int from = 0; from < ideaIds.size(); from += VOTE_QUERY_BATCH_SIZE) {
+            List<Long> batch = ideaIds.subList(from, Math.min(from + VOTE_QUERY_BATCH_SIZE, ideaIds.size()));
+            for (Object[] row : voteRepository.countVotesByIdeaIdsAndType(batch)) {
+                long[] votes = totals.computeIfAbsent((Long) row[0], k -> new long[2]);
+                int index = row[1] == com.campus.EventInClubs.domain.model.Vote.VoteType.UP ? 0 : 1;
+                votes[index] = ((Number) row[2]).longValue();
+            }
+        }
+        return totals;
+    }
 }
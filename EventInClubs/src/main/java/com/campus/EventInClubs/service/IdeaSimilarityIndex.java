@@ -0,0 +1,368 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.dto.SimilarIdeaDto;
+import com.campus.EventInClubs.repository.IdeaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory MinHash + LSH index over idea titles and descriptions, used to
+ * flag near-duplicate submissions to the same problem or event.
+ *
+ * Each idea is reduced to a 64-value MinHash signature over its word
+ * unigrams and bigrams. Signatures are split into 16 bands of 4 rows; ideas
+ * sharing any band bucket within the same problem/event are candidates, and
+ * candidates are kept when the estimated Jaccard similarity reaches
+ * DUPLICATE_THRESHOLD. Loaded at startup and updated after idea writes commit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdeaSimilarityIndex {
+
+    public static final double DUPLICATE_THRESHOLD = 0.5;
+    public static final int MAX_SUGGESTIONS = 5;
+
+    private static final int NUM_HASHES = 64;
+    private static final int BANDS = 16;
+    private static final int ROWS_PER_BAND = NUM_HASHES / BANDS;
+    private static final long[] HASH_SEEDS = new long[NUM_HASHES];
+
+    static {
+        Random random = new Random(0x1dea5L);
+        for (int i = 0; i < NUM_HASHES; i++) {
+            HASH_SEEDS[i] = random.nextLong();
+        }
+    }
+
+    private record Entry(Long ideaId, String scope, String title, long[] signature, long[] bandKeys) {}
+
+    private final IdeaRepository ideaRepository;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    // scope ("P<problemId>" or "E<eventId>") -> band key -> idea ids
+    private final Map<String, Map<Long, Set<Long>>> buckets = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        List<Object[]> rows = ideaRepository.findActiveIdeaTextRows();
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            buckets.clear();
+            for (Object[] row : rows) {
+                put((Long) row[0], (Long) row[1], (Long) row[2], (String) row[3], (String) row[4]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded {} ideas into similarity index", rows.size());
+    }
+
+    /**
+     * Adds or replaces an idea once the surrounding transaction commits.
+     */
+    public void index(Long ideaId, Long problemId, Long eventId, String title, String description) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(ideaId);
+                put(ideaId, problemId, eventId, title, description);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Removes an idea once the surrounding transaction commits.
+     */
+    public void remove(Long ideaId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(ideaId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Returns indexed ideas in the same problem (or event, when problemId is
+     * null) whose estimated similarity to the given text reaches the
+     * duplicate threshold, most similar first.
+     */
+    public List<SimilarIdeaDto> findSimilar(Long problemId, Long eventId, String title, String description,
+                                            Long excludeIdeaId, int limit) {
+        String scope = scopeOf(problemId, eventId);
+        if (scope == null) {
+            return List.of();
+        }
+        long[] signature = signature(title, description);
+        if (signature == null) {
+            return List.of();
+        }
+        long[] bandKeys = bandKeys(signature);
+
+        List<SimilarIdeaDto> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long candidateId : candidates(scope, bandKeys)) {
+                if (candidateId.equals(excludeIdeaId)) {
+                    continue;
+                }
+                Entry candidate = entries.get(candidateId);
+                double similarity = estimateSimilarity(signature, candidate.signature());
+                if (similarity >= DUPLICATE_THRESHOLD) {
+                    matches.add(toDto(candidate, similarity));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(Comparator.comparing(SimilarIdeaDto::getSimilarity).reversed());
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    /**
+     * Groups a problem's ideas into clusters of likely duplicates. Ideas are
+     * linked when their estimated similarity reaches the threshold, and
+     * clusters are the connected components; singletons are omitted.
+     */
+    public List<List<SimilarIdeaDto>> clusterProblem(Long problemId) {
+        String scope = scopeOf(problemId, null);
+        Map<Long, Long> parent = new HashMap<>();
+        List<List<SimilarIdeaDto>> clusters = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Set<Long>> scopeBuckets = buckets.getOrDefault(scope, Map.of());
+            for (Set<Long> bucket : scopeBuckets.values()) {
+                if (bucket.size() < 2) {
+                    continue;
+                }
+                List<Long> ids = new ArrayList<>(bucket);
+                for (int i = 0; i < ids.size(); i++) {
+                    for (int j = i + 1; j < ids.size(); j++) {
+                        Entry a = entries.get(ids.get(i));
+                        Entry b = entries.get(ids.get(j));
+                        if (estimateSimilarity(a.signature(), b.signature()) >= DUPLICATE_THRESHOLD) {
+                            union(parent, a.ideaId(), b.ideaId());
+                        }
+                    }
+                }
+            }
+
+            Map<Long, List<Long>> members = new HashMap<>();
+            for (Long ideaId : parent.keySet()) {
+                members.computeIfAbsent(find(parent, ideaId), k -> new ArrayList<>()).add(ideaId);
+            }
+            for (List<Long> ids : members.values()) {
+                if (ids.size() < 2) {
+                    continue;
+                }
+                ids.sort(Comparator.naturalOrder());
+                Entry first = entries.get(ids.get(0));
+                List<SimilarIdeaDto> cluster = new ArrayList<>();
+                for (Long ideaId : ids) {
+                    Entry entry = entries.get(ideaId);
+                    cluster.add(toDto(entry, estimateSimilarity(first.signature(), entry.signature())));
+                }
+                clusters.add(cluster);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        clusters.sort(Comparator.comparing((List<SimilarIdeaDto> c) -> c.size()).reversed());
+        return clusters;
+    }
+
+    // Callers must hold the write lock
+    private void put(Long ideaId, Long problemId, Long eventId, String title, String description) {
+        String scope = scopeOf(problemId, eventId);
+        long[] signature = signature(title, description);
+        if (scope == null || signature == null) {
+            return;
+        }
+        Entry entry = new Entry(ideaId, scope, title, signature, bandKeys(signature));
+        entries.put(ideaId, entry);
+        Map<Long, Set<Long>> scopeBuckets = buckets.computeIfAbsent(scope, k -> new HashMap<>());
+        for (long bandKey : entry.bandKeys()) {
+            scopeBuckets.computeIfAbsent(bandKey, k -> new HashSet<>()).add(ideaId);
+        }
+    }
+
+    // Callers must hold the write lock
+    private void delete(Long ideaId) {
+        Entry entry = entries.remove(ideaId);
+        if (entry == null) {
+            return;
+        }
+        Map<Long, Set<Long>> scopeBuckets = buckets.get(entry.scope());
+        if (scopeBuckets == null) {
+            return;
+        }
+        for (long bandKey : entry.bandKeys()) {
+            Set<Long> bucket = scopeBuckets.get(bandKey);
+            if (bucket != null) {
+                bucket.remove(ideaId);
+                if (bucket.isEmpty()) {
+                    scopeBuckets.remove(bandKey);
+                }
+            }
+        }
+        if (scopeBuckets.isEmpty()) {
+            buckets.remove(entry.scope());
+        }
+    }
+
+    private Set<Long> candidates(String scope, long[] bandKeys) {
+        Set<Long> candidates = new LinkedHashSet<>();
+        Map<Long, Set<Long>> scopeBuckets = buckets.get(scope);
+        if (scopeBuckets == null) {
+            return candidates;
+        }
+        for (long bandKey : bandKeys) {
+            Set<Long> bucket = scopeBuckets.get(bandKey);
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        return candidates;
+    }
+
+    private static String scopeOf(Long problemId, Long eventId) {
+        if (problemId != null) {
+            return "P" + problemId;
+        }
+        if (eventId != null) {
+            return "E" + eventId;
+        }
+        return null;
+    }
+
+    private static long[] signature(String title, String description) {
+        Set<String> shingles = shingles((title != null ? title : "") + " " + (description != null ? description : ""));
+        if (shingles.isEmpty()) {
+            return null;
+        }
+        long[] signature = new long[NUM_HASHES];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (String shingle : shingles) {
+            long base = fnv1a64(shingle);
+            for (int i = 0; i < NUM_HASHES; i++) {
+                long hash = mix64(base ^ HASH_SEEDS[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static Set<String> shingles(String text) {
+        String[] words = text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        List<String> tokens = new ArrayList<>();
+        for (String word : words) {
+            if (word.length() > 1) {
+                tokens.add(word);
+            }
+        }
+        Set<String> shingles = new HashSet<>(tokens);
+        for (int i = 0; i + 1 < tokens.size(); i++) {
+            shingles.add(tokens.get(i) + " " + tokens.get(i + 1));
+        }
+        return shingles;
+    }
+
+    private static long[] bandKeys(long[] signature) {
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = 0; row < ROWS_PER_BAND; row++) {
+                key = mix64(key * 31 + signature[band * ROWS_PER_BAND + row]);
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    private static double estimateSimilarity(long[] a, long[] b) {
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    private static long fnv1a64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static Long find(Map<Long, Long> parent, Long id) {
+        Long root = id;
+        while (!parent.get(root).equals(root)) {
+            root = parent.get(root);
+        }
+        // Path compression
+        Long current = id;
+        while (!current.equals(root)) {
+            Long next = parent.get(current);
+            parent.put(current, root);
+            current = next;
+        }
+        return root;
+    }
+
+    private static void union(Map<Long, Long> parent, Long a, Long b) {
+        parent.putIfAbsent(a, a);
+        parent.putIfAbsent(b, b);
+        Long rootA = find(parent, a);
+        Long rootB = find(parent, b);
+        if (!rootA.equals(rootB)) {
+            parent.put(rootB, rootA);
+        }
+    }
+
+    private static SimilarIdeaDto toDto(Entry entry, double similarity) {
+        return SimilarIdeaDto.builder()
+                .ideaId(entry.ideaId())
+                .title(entry.title())
+                .similarity(Math.round(similarity * 100) / 100.0)
+                .build();
+    }
+}
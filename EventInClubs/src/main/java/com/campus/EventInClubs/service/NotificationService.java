@@ -22,6 +22,7 @@ public class NotificationService {
     
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final UserCache userCache;
     
     public List<NotificationDto> getUserNotifications(Long userId) {
         List<Notification> notifications = notificationRepository.findByUserIdAndIsActiveTrueOrderByCreatedAtDesc(userId);
@@ -44,8 +45,10 @@ public class NotificationService {
     public NotificationDto createNotification(Long userId, String title, String message, 
                                             Notification.NotificationType type, 
                                             Long relatedEntityId, String relatedEntityType) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (userCache.findById(userId).isEmpty()) {
+            throw new RuntimeException("User not found");
+        }
+        User user = userRepository.getReferenceById(userId);
         
         Notification notification = Notification.builder()
                 .title(title)
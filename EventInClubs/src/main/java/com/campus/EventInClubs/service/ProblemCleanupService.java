@@ -1,16 +1,20 @@
 package com.campus.EventInClubs.service;
 
 import com.campus.EventInClubs.domain.model.Problem;
-import com.campus.EventInClubs.repository.ProblemRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Service
 @RequiredArgsConstructor
@@ -18,61 +22,84 @@ import java.util.List;
 @Transactional
 public class ProblemCleanupService {
 
-    private final ProblemRepository problemRepository;
+    /** Problems stay visible (view-only) for this long after their deadline */
+    static final Duration EXPIRY_GRACE = Duration.ofHours(1);
+
     private final NotificationService notificationService;
+    private final FullTextSearchIndex searchIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ExecutorService notificationExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "problem-expiry-notifications");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private record ExpiredProblem(Long id, Long postedById, String title) {}
 
     /**
-     * Runs every 15 minutes to check for problems that should be removed
-     * (1 hour after their deadline has passed)
+     * Runs every 15 minutes as a safety net for problems whose expiry was
+     * missed by ProblemExpiryQueue (e.g. rows changed outside the app)
      */
     @Scheduled(fixedRate = 900000) // 15 minutes = 900,000 milliseconds
     public void cleanupExpiredProblems() {
-        log.info("Starting cleanup of expired problems...");
+        log.debug("Starting cleanup of expired problems...");
         
         try {
-            // Find problems that are 1 hour past their deadline
-            Instant oneHourAgo = Instant.now().minus(1, ChronoUnit.HOURS);
-            List<Problem> expiredProblems = problemRepository.findExpiredProblems(oneHourAgo);
-            
-            if (expiredProblems.isEmpty()) {
-                log.debug("No expired problems found for cleanup");
-                return;
-            }
-            
-            log.info("Found {} expired problems to clean up", expiredProblems.size());
-            
-            for (Problem problem : expiredProblems) {
-                try {
-                    // Set problem as inactive instead of deleting to preserve data integrity
-                    problem.setIsActive(false);
-                    problem.setStatus(Problem.ProblemStatus.CLOSED);
-                    problemRepository.save(problem);
-                    
-                    // Notify the problem owner
-                    notificationService.createNotification(
-                        problem.getPostedBy().getId(),
-                        "Topic Expired",
-                        "Your topic '" + problem.getTitle() + "' has been automatically closed after the deadline expired.",
-                        com.campus.EventInClubs.domain.model.Notification.NotificationType.SYSTEM,
-                        problem.getId(),
-                        "PROBLEM"
-                    );
-                    
-                    log.info("Successfully closed expired problem: {} (ID: {})", 
-                            problem.getTitle(), problem.getId());
-                            
-                } catch (Exception e) {
-                    log.error("Error closing expired problem ID {}: {}", problem.getId(), e.getMessage(), e);
-                }
-            }
-            
-            log.info("Completed cleanup of {} expired problems", expiredProblems.size());
-            
+            expireDueProblems(Instant.now());
         } catch (Exception e) {
             log.error("Error during problem cleanup process: {}", e.getMessage(), e);
         }
     }
     
+    /**
+     * Closes every active problem whose deadline plus the grace period has
+     * passed at the given time, using one UPDATE ... RETURNING. Index
+     * removals and owner notifications happen after commit; notifications
+     * are sent on a background thread so the update stays short.
+     */
+    public int expireDueProblems(Instant now) {
+        Instant cutoff = now.minus(EXPIRY_GRACE);
+        List<ExpiredProblem> expired = jdbcTemplate.query(
+                "UPDATE problems SET is_active = false, status = 'CLOSED', updated_at = ? " +
+                "WHERE is_active = true AND deadline IS NOT NULL AND deadline < ? " +
+                "RETURNING id, posted_by, title",
+                (rs, rowNum) -> new ExpiredProblem(rs.getLong("id"), rs.getLong("posted_by"), rs.getString("title")),
+                Timestamp.from(now), Timestamp.from(cutoff));
+        
+        if (expired.isEmpty()) {
+            log.debug("No expired problems found for cleanup");
+            return 0;
+        }
+        
+        for (ExpiredProblem problem : expired) {
+            searchIndex.remove(FullTextSearchIndex.DocType.PROBLEM, problem.id());
+            autocompleteIndex.remove(AutocompleteIndex.EntryType.PROBLEM, problem.id());
+        }
+        AfterCommit.run(() -> notificationExecutor.submit(() -> notifyOwners(expired)));
+        
+        log.info("Closed {} expired problems", expired.size());
+        return expired.size();
+    }
+    
+    private void notifyOwners(List<ExpiredProblem> expired) {
+        for (ExpiredProblem problem : expired) {
+            try {
+                notificationService.createNotification(
+                    problem.postedById(),
+                    "Topic Expired",
+                    "Your topic '" + problem.title() + "' has been automatically closed after the deadline expired.",
+                    com.campus.EventInClubs.domain.model.Notification.NotificationType.SYSTEM,
+                    problem.id(),
+                    "PROBLEM"
+                );
+            } catch (Exception e) {
+                log.error("Error notifying owner of expired problem ID {}: {}", problem.id(), e.getMessage(), e);
+            }
+        }
+    }
+    
     /**
      * Manually trigger cleanup (for testing or admin purposes)
      */
@@ -90,7 +117,7 @@ public class ProblemCleanupService {
         }
         
         Instant now = Instant.now();
-        Instant oneHourAfterDeadline = problem.getDeadline().plus(1, ChronoUnit.HOURS);
+        Instant oneHourAfterDeadline = problem.getDeadline().plus(EXPIRY_GRACE);
         
         // View-only mode: deadline passed but not yet 1 hour after deadline
         return now.isAfter(problem.getDeadline()) && now.isBefore(oneHourAfterDeadline);
@@ -104,7 +131,12 @@ public class ProblemCleanupService {
             return false;
         }
         
-        Instant oneHourAfterDeadline = problem.getDeadline().plus(1, ChronoUnit.HOURS);
+        Instant oneHourAfterDeadline = problem.getDeadline().plus(EXPIRY_GRACE);
         return Instant.now().isAfter(oneHourAfterDeadline);
     }
+    
+    @PreDestroy
+    public void shutdown() {
+        notificationExecutor.shutdown();
+    }
 }
@@ -0,0 +1,150 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.repository.ProblemRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queue of upcoming problem expiry times (deadline plus the one hour grace
+ * period). A single timer is armed for the earliest entry; when it fires,
+ * ProblemCleanupService closes every problem due by then with one bulk
+ * UPDATE, so problems disappear on time instead of up to 15 minutes late.
+ * Loaded at startup and kept current by ProblemService after commit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProblemExpiryQueue {
+
+    private record Expiry(Instant expiresAt, Long problemId) {}
+
+    private final ProblemRepository problemRepository;
+    private final ProblemCleanupService problemCleanupService;
+
+    private final TreeSet<Expiry> queue = new TreeSet<>(
+            Comparator.comparing(Expiry::expiresAt).thenComparing(Expiry::problemId));
+    private final Map<Long, Expiry> byProblem = new HashMap<>();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "problem-expiry");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ScheduledFuture<?> nextWakeUp;
+    private Instant nextWakeUpAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        List<Object[]> rows = problemRepository.findActiveProblemDeadlineRows();
+        synchronized (this) {
+            queue.clear();
+            byProblem.clear();
+            for (Object[] row : rows) {
+                put((Long) row[0], (Instant) row[1]);
+            }
+            // Anything already overdue fires immediately
+            rearm();
+        }
+        log.info("Loaded {} problem deadlines into expiry queue", rows.size());
+    }
+
+    /**
+     * Queues (or re-queues) a problem's expiry once the surrounding
+     * transaction commits. A null deadline removes it from the queue.
+     */
+    public void schedule(Long problemId, Instant deadline) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                delete(problemId);
+                if (deadline != null) {
+                    put(problemId, deadline);
+                }
+                rearm();
+            }
+        });
+    }
+
+    /**
+     * Drops a problem from the queue once the surrounding transaction commits.
+     */
+    public void cancel(Long problemId) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                delete(problemId);
+            }
+        });
+    }
+
+    public synchronized int size() {
+        return queue.size();
+    }
+
+    private void fire() {
+        Instant now = Instant.now();
+        try {
+            problemCleanupService.expireDueProblems(now);
+        } catch (Exception e) {
+            log.error("Error expiring due problems: {}", e.getMessage(), e);
+        }
+        synchronized (this) {
+            while (!queue.isEmpty() && !queue.first().expiresAt().isAfter(now)) {
+                byProblem.remove(queue.pollFirst().problemId());
+            }
+            nextWakeUp = null;
+            nextWakeUpAt = null;
+            rearm();
+        }
+    }
+
+    // Callers must hold the monitor
+    private void put(Long problemId, Instant deadline) {
+        Expiry expiry = new Expiry(deadline.plus(ProblemCleanupService.EXPIRY_GRACE), problemId);
+        queue.add(expiry);
+        byProblem.put(problemId, expiry);
+    }
+
+    // Callers must hold the monitor
+    private void delete(Long problemId) {
+        Expiry expiry = byProblem.remove(problemId);
+        if (expiry != null) {
+            queue.remove(expiry);
+        }
+    }
+
+    // Callers must hold the monitor; moves the timer when the head of the queue changed
+    private void rearm() {
+        if (queue.isEmpty()) {
+            return;
+        }
+        Instant head = queue.first().expiresAt();
+        if (nextWakeUp != null && !nextWakeUp.isDone() && !head.isBefore(nextWakeUpAt)) {
+            return;
+        }
+        if (nextWakeUp != null) {
+            nextWakeUp.cancel(false);
+        }
+        long delayMillis = Math.max(0L, Duration.between(Instant.now(), head).toMillis());
+        nextWakeUpAt = head;
+        nextWakeUp = timer.schedule(this::fire, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+}
@@ -4,6 +4,7 @@ import com.campus.EventInClubs.domain.model.Club;
 import com.campus.EventInClubs.domain.model.Problem;
 import com.campus.EventInClubs.domain.model.User;
 import com.campus.EventInClubs.dto.ProblemDto;
+import com.campus.EventInClubs.dto.SearchPageDto;
 import com.campus.EventInClubs.repository.ClubRepository;
 import com.campus.EventInClubs.repository.ProblemRepository;
 import com.campus.EventInClubs.repository.UserRepository;
@@ -13,7 +14,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -26,45 +29,66 @@ public class ProblemService {
     private final ProblemRepository problemRepository;
     private final ClubRepository clubRepository;
     private final UserRepository userRepository;
+    private final FullTextSearchIndex searchIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final ProblemViewCounter viewCounter;
+    private final ProblemExpiryQueue expiryQueue;
+    private final ClubPermissionResolver permissionResolver;
     
     public List<ProblemDto> getAllActiveProblems() {
-        List<Problem> problems = problemRepository.findByIsActiveTrueOrderByCreatedAtDesc();
+        List<Problem> problems = problemRepository.findUnexpiredProblems(expiredBefore());
         return problems.stream()
                 .map(this::convertToDto)
-                .filter(problemDto -> !problemDto.getIsExpired()) // Filter out expired problems
                 .collect(Collectors.toList());
     }
     
     public List<ProblemDto> getProblemsByClub(Long clubId) {
-        List<Problem> problems = problemRepository.findByClubIdAndIsActiveTrueOrderByCreatedAtDesc(clubId);
+        List<Problem> problems = problemRepository.findUnexpiredProblemsByClubId(clubId, expiredBefore());
         return problems.stream()
                 .map(this::convertToDto)
-                .filter(problemDto -> !problemDto.getIsExpired()) // Filter out expired problems
                 .collect(Collectors.toList());
     }
     
     public List<ProblemDto> getTrendingProblems() {
-        List<Problem> problems = problemRepository.findTrendingProblems();
+        List<Problem> problems = problemRepository.findTrendingProblems(expiredBefore());
         return problems.stream()
                 .map(this::convertToDto)
-                .filter(problemDto -> !problemDto.getIsExpired()) // Filter out expired problems
                 .collect(Collectors.toList());
     }
     
     public List<ProblemDto> getProblemsByCategory(String category) {
-        List<Problem> problems = problemRepository.findByCategoryAndIsActiveTrueOrderByCreatedAtDesc(category);
+        List<Problem> problems = problemRepository.findUnexpiredProblemsByCategory(category, expiredBefore());
         return problems.stream()
                 .map(this::convertToDto)
-                .filter(problemDto -> !problemDto.getIsExpired()) // Filter out expired problems
                 .collect(Collectors.toList());
     }
     
-    public List<ProblemDto> searchProblems(String searchTerm) {
-        List<Problem> problems = problemRepository.searchActiveProblems(searchTerm);
-        return problems.stream()
-                .map(this::convertToDto)
-                .filter(problemDto -> !problemDto.getIsExpired()) // Filter out expired problems
-                .collect(Collectors.toList());
+    public SearchPageDto<ProblemDto> searchProblems(String searchTerm, int page, int size) {
+        FullTextSearchIndex.SearchResult result = searchIndex.search(
+                FullTextSearchIndex.DocType.PROBLEM, searchTerm, null, page, size);
+        List<Long> problemIds = result.hits().stream().map(FullTextSearchIndex.SearchHit::id).collect(Collectors.toList());
+        Map<Long, Problem> byId = problemIds.isEmpty() ? Map.of() :
+                problemRepository.findUnexpiredProblemsByIds(problemIds, expiredBefore()).stream()
+                        .collect(Collectors.toMap(Problem::getId, problem -> problem));
+        
+        // Keep the index's rank order
+        List<ProblemDto> ranked = new ArrayList<>();
+        for (FullTextSearchIndex.SearchHit hit : result.hits()) {
+            Problem problem = byId.get(hit.id());
+            if (problem == null) {
+                continue;
+            }
+            ProblemDto dto = convertToDto(problem);
+            dto.setHighlight(hit.highlight());
+            ranked.add(dto);
+        }
+        return SearchPageDto.<ProblemDto>builder()
+                .page(page)
+                .size(size)
+                .total(result.total())
+                .hasNext((page + 1L) * size < result.total())
+                .results(ranked)
+                .build();
     }
     
     public Optional<ProblemDto> getProblemById(Long id) {
@@ -72,22 +96,32 @@ public class ProblemService {
                 .map(this::convertToDto);
     }
     
+    /**
+     * Counts a problem page view; buffered in memory and flushed in batches.
+     */
+    public void recordView(Long problemId, Long userId) {
+        viewCounter.recordView(problemId, userId);
+    }
+    
     public ProblemDto createProblem(ProblemDto problemDto, Long clubId, Long userId) {
         // Verify club exists and user is admin
-        Club club = clubRepository.findById(clubId)
-                .orElseThrow(() -> new RuntimeException("Club not found"));
+        if (!permissionResolver.clubExists(clubId)) {
+            throw new RuntimeException("Club not found");
+        }
         
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (permissionResolver.globalRole(userId) == null) {
+            throw new RuntimeException("User not found");
+        }
         
         // Check if user is admin of this specific club or super admin
-        boolean isSuperAdmin = user.getRole().name().equals("SUPER_ADMIN");
-        boolean isClubAdmin = club.getAdminUser().getId().equals(userId);
-        
-        if (!isSuperAdmin && !isClubAdmin) {
+        if (!permissionResolver.isSuperAdmin(userId) && !permissionResolver.isClubAdmin(userId, clubId)) {
             throw new RuntimeException("Only club admins can post problems for their clubs");
         }
         
+        // Both rows are known to exist, so references avoid loading them
+        Club club = clubRepository.getReferenceById(clubId);
+        User user = userRepository.getReferenceById(userId);
+        
         Problem problem = Problem.builder()
                 .title(problemDto.getTitle())
                 .description(problemDto.getDescription())
@@ -102,6 +136,10 @@ public class ProblemService {
                 .build();
         
         Problem savedProblem = problemRepository.save(problem);
+        searchIndex.indexProblem(savedProblem.getId(), savedProblem.getTitle(),
+                savedProblem.getDescription(), savedProblem.getCategory());
+        autocompleteIndex.index(AutocompleteIndex.EntryType.PROBLEM, savedProblem.getId(), savedProblem.getTitle(), null);
+        expiryQueue.schedule(savedProblem.getId(), savedProblem.getDeadline());
         log.info("Created new problem: {} for club: {}", savedProblem.getTitle(), club.getName());
         
         return convertToDto(savedProblem);
@@ -126,6 +164,11 @@ public class ProblemService {
         problem.setUpdatedAt(Instant.now());
         
         Problem savedProblem = problemRepository.save(problem);
+        if (Boolean.TRUE.equals(savedProblem.getIsActive())) {
+            searchIndex.indexProblem(savedProblem.getId(), savedProblem.getTitle(),
+                    savedProblem.getDescription(), savedProblem.getCategory());
+            autocompleteIndex.index(AutocompleteIndex.EntryType.PROBLEM, savedProblem.getId(), savedProblem.getTitle(), null);
+        }
         log.info("Updated problem: {}", savedProblem.getTitle());
         
         return convertToDto(savedProblem);
@@ -146,9 +189,17 @@ public class ProblemService {
         problem.setIsActive(false);
         problem.setUpdatedAt(Instant.now());
         problemRepository.save(problem);
+        searchIndex.remove(FullTextSearchIndex.DocType.PROBLEM, problem.getId());
+        autocompleteIndex.remove(AutocompleteIndex.EntryType.PROBLEM, problem.getId());
+        expiryQueue.cancel(problem.getId());
         log.info("Deactivated problem: {}", problem.getTitle());
     }
     
+    // Problems whose deadline is before this instant are expired
+    private Instant expiredBefore() {
+        return Instant.now().minus(ProblemCleanupService.EXPIRY_GRACE);
+    }
+    
     private ProblemDto convertToDto(Problem problem) {
         // Calculate deadline status
         boolean isExpired = false;
@@ -156,7 +207,7 @@ public class ProblemService {
         
         if (problem.getDeadline() != null) {
             Instant now = Instant.now();
-            Instant oneHourAfterDeadline = problem.getDeadline().plusSeconds(3600); // 1 hour = 3600 seconds
+            Instant oneHourAfterDeadline = problem.getDeadline().plus(ProblemCleanupService.EXPIRY_GRACE);
             
             isExpired = now.isAfter(oneHourAfterDeadline);
             isViewOnly = now.isAfter(problem.getDeadline()) && now.isBefore(oneHourAfterDeadline);
@@ -176,6 +227,8 @@ public class ProblemService {
                 .deadline(problem.getDeadline())
                 .isExpired(isExpired)
                 .isViewOnly(isViewOnly)
+                .viewCount((problem.getViewCount() != null ? problem.getViewCount() : 0)
+                        + viewCounter.getPendingViews(problem.getId()))
                 .createdAt(problem.getCreatedAt())
                 .updatedAt(problem.getUpdatedAt())
                 .build();
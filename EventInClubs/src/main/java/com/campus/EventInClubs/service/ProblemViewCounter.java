@@ -0,0 +1,189 @@
+package com.campus.EventInClubs.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Buffers problem page views in memory and periodically adds them to
+ * problems.view_count, so hot problems never take a row lock per view.
+ *
+ * Views are counted in per-problem LongAdders (striped across threads) and
+ * flushed every 30 seconds with one UPDATE ... FROM (VALUES ...) per 500
+ * problems. Views from signed-in users are deduplicated per 30 minute window
+ * with a pair of rotating Bloom filters; a false positive only drops a view.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProblemViewCounter {
+
+    private static final long DEDUP_WINDOW_MILLIS = 30 * 60 * 1000L;
+    private static final int FILTER_BITS = 1 << 20;
+    private static final int FILTER_HASHES = 3;
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+    private final Object rotationLock = new Object();
+    private volatile AtomicLongArray currentWindow = new AtomicLongArray(FILTER_BITS / 64);
+    private volatile AtomicLongArray previousWindow = new AtomicLongArray(FILTER_BITS / 64);
+    private volatile long windowStartedAt = System.currentTimeMillis();
+
+    private final LongAdder recordedViews = new LongAdder();
+    private final LongAdder duplicateViews = new LongAdder();
+    private final LongAdder flushedViews = new LongAdder();
+
+    /**
+     * Counts a view of a problem. userId may be null for anonymous views,
+     * which are never deduplicated.
+     */
+    public void recordView(Long problemId, Long userId) {
+        if (problemId == null) {
+            return;
+        }
+        if (userId != null && seenRecently(problemId, userId)) {
+            duplicateViews.increment();
+            return;
+        }
+        pendingViews.computeIfAbsent(problemId, id -> new LongAdder()).increment();
+        recordedViews.increment();
+    }
+
+    /**
+     * Views recorded but not yet flushed, so reads can show an up-to-date count.
+     */
+    public long getPendingViews(Long problemId) {
+        LongAdder adder = pendingViews.get(problemId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    /**
+     * Runs every 30 seconds to write buffered view counts to the database
+     */
+    @Scheduled(fixedDelay = 30000)
+    public void flush() {
+        List<long[]> deltas = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pendingViews.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                deltas.add(new long[]{entry.getKey(), delta});
+            } else {
+                // Idle since the last flush; a view racing with this removal may be lost
+                pendingViews.computeIfPresent(entry.getKey(), (id, adder) -> adder.sum() == 0 ? null : adder);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        for (int from = 0; from < deltas.size(); from += FLUSH_BATCH_SIZE) {
+            List<long[]> batch = deltas.subList(from, Math.min(from + FLUSH_BATCH_SIZE, deltas.size()));
+            try {
+                writeBatch(batch);
+                batch.forEach(delta -> flushedViews.add(delta[1]));
+            } catch (Exception e) {
+                // Put the views back so the next flush retries them
+                log.error("Failed to flush {} problem view counts: {}", batch.size(), e.getMessage(), e);
+                batch.forEach(delta -> pendingViews.computeIfAbsent(delta[0], id -> new LongAdder()).add(delta[1]));
+            }
+        }
+        log.debug("Flushed view counts for {} problems", deltas.size());
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "recordedViews", recordedViews.sum(),
+                "duplicateViews", duplicateViews.sum(),
+                "flushedViews", flushedViews.sum(),
+                "pendingProblems", pendingViews.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void writeBatch(List<long[]> batch) {
+        StringBuilder sql = new StringBuilder(
+                "UPDATE problems p SET view_count = COALESCE(p.view_count, 0) + v.delta FROM (VALUES ");
+        Object[] args = new Object[batch.size() * 2];
+        for (int i = 0; i < batch.size(); i++) {
+            sql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+            args[i * 2] = batch.get(i)[0];
+            args[i * 2 + 1] = batch.get(i)[1];
+        }
+        sql.append(") AS v(id, delta) WHERE p.id = v.id");
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    /**
+     * Checks the (problem, user) pair against the current and previous
+     * window's filters and marks it in the current one. Rotating two
+     * generations keeps every view deduplicated for at least one full window.
+     */
+    private boolean seenRecently(Long problemId, Long userId) {
+        rotateIfDue();
+        AtomicLongArray current = currentWindow;
+        AtomicLongArray previous = previousWindow;
+
+        long base = mix64(problemId * 0x9e3779b97f4a7c15L ^ userId);
+        int h1 = (int) base;
+        int h2 = (int) (base >>> 32);
+        boolean inCurrent = true;
+        boolean inPrevious = true;
+        for (int i = 0; i < FILTER_HASHES; i++) {
+            int bit = (h1 + i * h2) & (FILTER_BITS - 1);
+            inCurrent &= testBit(current, bit);
+            inPrevious &= testBit(previous, bit);
+        }
+        boolean seen = inCurrent || inPrevious;
+        if (!inCurrent) {
+            for (int i = 0; i < FILTER_HASHES; i++) {
+                setBit(current, (h1 + i * h2) & (FILTER_BITS - 1));
+            }
+        }
+        return seen;
+    }
+
+    private void rotateIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - windowStartedAt < DEDUP_WINDOW_MILLIS) {
+            return;
+        }
+        synchronized (rotationLock) {
+            if (now - windowStartedAt >= DEDUP_WINDOW_MILLIS) {
+                previousWindow = currentWindow;
+                currentWindow = new AtomicLongArray(FILTER_BITS / 64);
+                windowStartedAt = now;
+            }
+        }
+    }
+
+    private static boolean testBit(AtomicLongArray bits, int bit) {
+        return (bits.get(bit >>> 6) & (1L << (bit & 63))) != 0;
+    }
+
+    private static void setBit(AtomicLongArray bits, int bit) {
+        long mask = 1L << (bit & 63);
+        bits.getAndAccumulate(bit >>> 6, mask, (value, m) -> value | m);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
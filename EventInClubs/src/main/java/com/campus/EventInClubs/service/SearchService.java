@@ -0,0 +1,47 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.dto.SearchSuggestionDto;
+import com.campus.EventInClubs.dto.UnifiedSearchDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchService {
+
+    private final AutocompleteIndex autocompleteIndex;
+
+    /**
+     * Navbar search over clubs, events, ideas and problems in one call,
+     * answered from the in-memory autocomplete index.
+     */
+    public UnifiedSearchDto search(String query, int limitPerType) {
+        Map<AutocompleteIndex.EntryType, List<AutocompleteIndex.Suggestion>> results =
+                autocompleteIndex.suggest(query, limitPerType);
+
+        return UnifiedSearchDto.builder()
+                .query(query)
+                .clubs(toDtos(results.get(AutocompleteIndex.EntryType.CLUB)))
+                .events(toDtos(results.get(AutocompleteIndex.EntryType.EVENT)))
+                .ideas(toDtos(results.get(AutocompleteIndex.EntryType.IDEA)))
+                .problems(toDtos(results.get(AutocompleteIndex.EntryType.PROBLEM)))
+                .build();
+    }
+
+    private List<SearchSuggestionDto> toDtos(List<AutocompleteIndex.Suggestion> suggestions) {
+        return suggestions.stream()
+                .map(s -> SearchSuggestionDto.builder()
+                        .type(s.type().name())
+                        .id(s.id())
+                        .label(s.label())
+                        .exactMatch(s.distance() == 0)
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
@@ -6,8 +6,8 @@ import com.campus.EventInClubs.domain.model.SuperAdminRequest.SuperAdminRequestS
 import com.campus.EventInClubs.domain.model.User;
 import com.campus.EventInClubs.repository.SuperAdminRequestRepository;
 import com.campus.EventInClubs.repository.UserRepository;
+import com.campus.EventInClubs.security.PasswordHasher;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,7 +21,7 @@ public class SuperAdminRequestService {
 
     private final SuperAdminRequestRepository superAdminRequestRepository;
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
 
     // Create a new super admin request
     public SuperAdminRequest createSuperAdminRequest(String name, String email, String rawPassword) {
@@ -51,7 +51,7 @@ public class SuperAdminRequestService {
         SuperAdminRequest request = SuperAdminRequest.builder()
                 .name(name)
                 .email(email)
-                .passwordHash(passwordEncoder.encode(rawPassword))
+                .passwordHash(passwordHasher.encode(rawPassword))
                 .status(SuperAdminRequestStatus.PENDING)
                 .requestedAt(Instant.now())
                 .build();
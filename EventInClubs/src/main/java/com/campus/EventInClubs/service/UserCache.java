@@ -0,0 +1,116 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.User;
+import com.campus.EventInClubs.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Users by id and by email, shared by UserService, NotificationService,
+ * ClubPermissionResolver and the security layer so repeated lookups within
+ * and across requests skip the users table. Entries expire after a few
+ * minutes and the cache is cleared when full. UserService invalidates a
+ * user after its role or profile changes commit. Callers get their own
+ * detached copy, so changing one never leaks into the cache.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCache {
+
+    private static final long ENTRY_TTL_MILLIS = 5 * 60 * 1000L;
+    private static final int MAX_ENTRIES = 20_000;
+
+    private record Cached(User user, long loadedAt) {}
+
+    private final UserRepository userRepository;
+
+    private final Map<Long, Cached> byId = new ConcurrentHashMap<>();
+    private final Map<String, Cached> byEmail = new ConcurrentHashMap<>();
+
+    // Bumped by every invalidation; loads that raced with one are not cached
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public Optional<User> findById(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        return lookup(byId.get(userId), () -> userRepository.findById(userId));
+    }
+
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return lookup(byEmail.get(email), () -> userRepository.findByEmail(email));
+    }
+
+    /**
+     * Drops the user under both keys once the surrounding transaction
+     * commits. Pass the old email when it changed.
+     */
+    public void invalidate(Long userId, String email) {
+        AfterCommit.run(() -> {
+            generation.incrementAndGet();
+            Cached cached = userId != null ? byId.remove(userId) : null;
+            if (cached != null) {
+                byEmail.remove(cached.user().getEmail());
+            }
+            if (email != null) {
+                byEmail.remove(email);
+            }
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        return Map.of(
+                "hits", hitCount,
+                "misses", missCount,
+                "hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount),
+                "cachedUsers", byId.size());
+    }
+
+    // Missing users are not cached
+    private Optional<User> lookup(Cached cached, Supplier<Optional<User>> loader) {
+        long now = System.currentTimeMillis();
+        if (cached != null && now - cached.loadedAt() < ENTRY_TTL_MILLIS) {
+            hits.increment();
+            return Optional.of(copyOf(cached.user()));
+        }
+        misses.increment();
+        long loadGeneration = generation.get();
+        Optional<User> loaded = loader.get();
+        if (loaded.isPresent() && generation.get() == loadGeneration) {
+            if (byId.size() >= MAX_ENTRIES) {
+                byId.clear();
+                byEmail.clear();
+            }
+            Cached entry = new Cached(copyOf(loaded.get()), now);
+            byId.put(entry.user().getId(), entry);
+            byEmail.put(entry.user().getEmail(), entry);
+        }
+        return loaded.map(UserCache::copyOf);
+    }
+
+    private static User copyOf(User user) {
+        return User.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .passwordHash(user.getPasswordHash())
+                .role(user.getRole())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.repository.UserAchievementRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory per-user point totals so profile and header reads never run
+ * SUM(points_earned). Warmed with one grouped query at startup and kept
+ * current by AchievementService when achievements are awarded.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserPointsCache {
+
+    private final UserAchievementRepository achievementRepository;
+
+    private volatile Map<Long, Long> pointsByUser = new ConcurrentHashMap<>();
+    private volatile boolean warmed = false;
+    // Awards committed while warm-up runs; replayed onto the loaded totals before they go live
+    private Map<Long, Long> pendingDuringWarmUp;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        synchronized (this) {
+            pendingDuringWarmUp = new HashMap<>();
+        }
+        List<Object[]> totals = achievementRepository.getTotalPointsGroupedByUser();
+        Map<Long, Long> loaded = new ConcurrentHashMap<>();
+        for (Object[] row : totals) {
+            Long userId = (Long) row[0];
+            Long points = row[1] != null ? ((Number) row[1]).longValue() : 0L;
+            loaded.put(userId, points);
+        }
+        // Swap in a new map rather than clearing the live one, so no award applied meanwhile is lost
+        synchronized (this) {
+            pendingDuringWarmUp.forEach((userId, points) -> loaded.merge(userId, points, Long::sum));
+            pendingDuringWarmUp = null;
+            pointsByUser = loaded;
+            warmed = true;
+        }
+        log.info("Warmed user points cache for {} users", loaded.size());
+    }
+
+    public long getTotalPoints(Long userId) {
+        if (!warmed) {
+            // Startup race: fall back to the database until warm-up completes
+            Long total = achievementRepository.getTotalPointsByUserId(userId);
+            return total != null ? total : 0L;
+        }
+        // Users without achievements have no row in the grouped query
+        return pointsByUser.getOrDefault(userId, 0L);
+    }
+
+    public String getLevel(Long userId) {
+        return levelForPoints(getTotalPoints(userId));
+    }
+
+    /**
+     * Adds points for a user once the surrounding transaction commits, so a
+     * rolled back award never leaks into the cache.
+     */
+    public void addPoints(Long userId, long points) {
+        AfterCommit.run(() -> applyPoints(userId, points));
+    }
+
+    private synchronized void applyPoints(Long userId, long points) {
+        if (pendingDuringWarmUp != null) {
+            pendingDuringWarmUp.merge(userId, points, Long::sum);
+        }
+        pointsByUser.merge(userId, points, Long::sum);
+    }
+
+    public static String levelForPoints(long points) {
+        if (points >= 1000) return "Diamond";
+        if (points >= 500) return "Platinum";
+        if (points >= 250) return "Gold";
+        if (points >= 100) return "Silver";
+        if (points >= 25) return "Bronze";
+        return "Beginner";
+    }
+}
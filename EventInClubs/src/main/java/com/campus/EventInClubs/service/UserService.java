@@ -3,44 +3,126 @@ package com.campus.EventInClubs.service;
 import com.campus.EventInClubs.domain.model.Role;
 import com.campus.EventInClubs.domain.model.User;
 import com.campus.EventInClubs.repository.UserRepository;
+import com.campus.EventInClubs.security.PasswordHasher;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+    // One @, no whitespace, and a dot in the domain
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final int REGISTRATION_THREADS = 4;
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final UserCache userCache;
+
+    // Inserts for new registrations, so hashing threads never wait on the database
+    private final AtomicInteger registrationThreadCount = new AtomicInteger();
+    private final ExecutorService registrationExecutor = Executors.newFixedThreadPool(REGISTRATION_THREADS, r -> {
+        Thread thread = new Thread(r, "user-registration-" + registrationThreadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
 
-    // Register a new user
-    public User register(String name, String email, String rawPassword, Role role) {
+    // Register a new user; the password is hashed on PasswordHasher's pool without blocking the caller,
+    // and the insert then runs on the registration pool. Fails with RejectedExecutionException when the
+    // hashing pool is saturated.
+    public CompletableFuture<User> register(String name, String email, String rawPassword, Role role) {
         if (userRepository.existsByEmail(email)) {
-            throw new IllegalArgumentException("Email already in use");
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Email already in use"));
         }
 
-        User u = User.builder()
-                .name(name)
-                .email(email)
-                .passwordHash(passwordEncoder.encode(rawPassword))
-                .role(role)
-                .createdAt(Instant.now())
-                .updatedAt(Instant.now())
-                .build();
-
-        return userRepository.save(u);
+        return passwordHasher.encodeAsync(rawPassword).thenApplyAsync(passwordHash -> {
+            User u = User.builder()
+                    .name(name)
+                    .email(email)
+                    .passwordHash(passwordHash)
+                    .role(role)
+                    .createdAt(Instant.now())
+                    .updatedAt(Instant.now())
+                    .build();
+            try {
+                return userRepository.save(u);
+            } catch (DataIntegrityViolationException e) {
+                // Lost a race with a concurrent registration for the same email
+                throw new IllegalArgumentException("Email already in use");
+            }
+        }, registrationExecutor);
     }
 
     // Find user by email
     public Optional<User> findByEmail(String email) {
-        return userRepository.findByEmail(email);
+        return userCache.findByEmail(email);
+    }
+
+    // Find user by id
+    public Optional<User> findById(Long userId) {
+        return userCache.findById(userId);
+    }
+
+    // Change a user's global role; takes effect in new tokens
+    @Transactional
+    public User updateRole(Long userId, Role role) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
+        user.setRole(role);
+        user.setUpdatedAt(Instant.now());
+        User saved = userRepository.save(user);
+        userCache.invalidate(userId, saved.getEmail());
+        return saved;
+    }
+
+    // Change a user's display name and/or email; a new email is stored trimmed and lower case
+    @Transactional
+    public User updateProfile(Long userId, String name, String email) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
+        String oldEmail = user.getEmail();
+        if (email != null) {
+            String normalized = email.trim().toLowerCase(Locale.ROOT);
+            if (normalized.isEmpty()) {
+                throw new IllegalArgumentException("Email must not be blank");
+            }
+            if (!EMAIL_PATTERN.matcher(normalized).matches()) {
+                throw new IllegalArgumentException("Invalid email address");
+            }
+            if (!normalized.equals(oldEmail)) {
+                // Only a case change of the user's own address needs no uniqueness check
+                if (!normalized.equalsIgnoreCase(oldEmail) && userRepository.existsByEmailIgnoreCase(normalized)) {
+                    throw new IllegalArgumentException("Email already in use");
+                }
+                user.setEmail(normalized);
+            }
+        }
+        if (name != null && !name.isBlank()) {
+            user.setName(name);
+        }
+        user.setUpdatedAt(Instant.now());
+        User saved = userRepository.save(user);
+        userCache.invalidate(userId, oldEmail);
+        return saved;
+    }
+
+    public Map<String, Object> getCacheStats() {
+        return userCache.getStats();
     }
 
     // Get all users
@@ -87,4 +169,9 @@ public class UserService {
         
         return analytics;
     }
+
+    @PreDestroy
+    public void shutdown() {
+        registrationExecutor.shutdown();
+    }
 }
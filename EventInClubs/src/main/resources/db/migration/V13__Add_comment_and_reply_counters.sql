@@ -0,0 +1,10 @@
+-- Add reply_count column to comments and initialise maintained counters
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS reply_count INTEGER DEFAULT 0;
+
+UPDATE comments c SET reply_count = (
+    SELECT COUNT(*) FROM comments r WHERE r.parent_comment_id = c.id AND r.is_active = true
+);
+
+UPDATE ideas i SET comment_count = (
+    SELECT COUNT(*) FROM comments c WHERE c.idea_id = i.id AND c.is_active = true
+);
@@ -0,0 +1,3 @@
+-- Composite index for club rosters filtered by active flag and role
+CREATE INDEX IF NOT EXISTS idx_club_memberships_club_active_role
+    ON club_memberships (club_id, is_active, role);
@@ -0,0 +1,24 @@
+-- Optimistic lock column for events
+ALTER TABLE events ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0;
+UPDATE events SET version = 0 WHERE version IS NULL;
+ALTER TABLE events ALTER COLUMN version SET NOT NULL;
+
+-- Keep approved bookings of the same hall at least 2 hours apart.
+-- Widening both ranges by 1 hour makes them overlap exactly when the gap is
+-- 2 hours or less, matching the availability check. Events without dates are
+-- not covered here and are rejected by the application instead.
+-- Existing overlapping approved bookings must be resolved before this runs.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE events DROP CONSTRAINT IF EXISTS events_hall_booking_no_overlap;
+
+ALTER TABLE events ADD CONSTRAINT events_hall_booking_no_overlap
+    EXCLUDE USING gist (
+        hall_id WITH =,
+        tsrange(start_date - INTERVAL '1 hour', end_date + INTERVAL '1 hour', '[]') WITH &&
+    )
+    WHERE (hall_id IS NOT NULL
+           AND approval_status = 'APPROVED'
+           AND status NOT IN ('CANCELLED', 'COMPLETED')
+           AND start_date IS NOT NULL
+           AND end_date IS NOT NULL);
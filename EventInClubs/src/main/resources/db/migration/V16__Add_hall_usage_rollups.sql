@@ -0,0 +1,13 @@
+-- Occupied minutes per hall, day and hour of day, maintained by HallUtilizationService
+CREATE TABLE IF NOT EXISTS hall_usage_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    hall_id BIGINT NOT NULL,
+    usage_date DATE NOT NULL,
+    hour_of_day INTEGER NOT NULL,
+    occupied_minutes INTEGER NOT NULL,
+    CONSTRAINT uk_hall_usage_rollups_hall_date_hour UNIQUE (hall_id, usage_date, hour_of_day)
+);
+
+CREATE INDEX IF NOT EXISTS idx_hall_usage_rollups_date ON hall_usage_rollups (usage_date);
+
+-- The application rebuilds the rollups from events at startup and nightly
@@ -0,0 +1,13 @@
+-- Each achievement level is awarded to a user at most once.
+-- Drop duplicates left by concurrent awards first, keeping the earliest row.
+DELETE FROM user_achievements a
+    USING user_achievements b
+    WHERE a.user_id = b.user_id
+      AND a.achievement_type = b.achievement_type
+      AND a.achievement_level IS NOT DISTINCT FROM b.achievement_level
+      AND a.id > b.id;
+
+ALTER TABLE user_achievements DROP CONSTRAINT IF EXISTS uk_user_achievements_award;
+
+ALTER TABLE user_achievements ADD CONSTRAINT uk_user_achievements_award
+    UNIQUE (user_id, achievement_type, achievement_level);
@@ -0,0 +1,240 @@
+package com.campus.EventInClubs.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GoogleIdTokenVerifierTest {
+
+    private static final String CLIENT_ID = "test-client.apps.googleusercontent.com";
+    private static final KeyPair KEY_A = generateKeyPair();
+    private static final KeyPair KEY_B = generateKeyPair();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MutableClock clock = new MutableClock();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    // What the stand-in key server answers with; changed by the tests between fetches
+    private volatile int status = 200;
+    private volatile List<Map<String, Object>> servedKeys = List.of(jwk("a", KEY_A));
+    private volatile String cacheControl = "public, max-age=21600";
+
+    private HttpServer server;
+    private GoogleIdTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/certs", exchange -> {
+            requests.incrementAndGet();
+            byte[] body = objectMapper.writeValueAsBytes(Map.of("keys", servedKeys));
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            if (cacheControl != null) {
+                exchange.getResponseHeaders().set("Cache-Control", cacheControl);
+            }
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        verifier = new GoogleIdTokenVerifier(
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/certs", CLIENT_ID, clock);
+        verifier.refreshKeys();
+    }
+
+    @AfterEach
+    void tearDown() {
+        verifier.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void acceptsValidToken() {
+        GoogleIdTokenVerifier.GoogleIdentity identity = verifier.verify(token("a", KEY_A).compact());
+
+        assertEquals(new GoogleIdTokenVerifier.GoogleIdentity("1234567890", "ada@campus.edu", "Ada"), identity);
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void rejectsWrongAudienceAndIssuer() {
+        assertThrows(JwtException.class, () -> verifier.verify(token("a", KEY_A).setAudience("other-client").compact()));
+        assertThrows(JwtException.class, () -> verifier.verify(token("a", KEY_A).setIssuer("https://evil.example").compact()));
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        String token = token("a", KEY_A).setExpiration(Date.from(clock.instant().plus(Duration.ofMinutes(5)))).compact();
+        verifier.verify(token);
+
+        // Past the expiry and the allowed clock skew
+        clock.advance(Duration.ofMinutes(7));
+
+        assertThrows(ExpiredJwtException.class, () -> verifier.verify(token));
+    }
+
+    @Test
+    void rejectsUnverifiedEmail() {
+        assertThrows(JwtException.class, () -> verifier.verify(token("a", KEY_A).claim("email_verified", false).compact()));
+        assertThrows(JwtException.class, () -> verifier.verify(token("a", KEY_A).claim("email", null).compact()));
+    }
+
+    @Test
+    void unknownKeyTriggersOneRefresh() {
+        servedKeys = List.of(jwk("a", KEY_A), jwk("b", KEY_B));
+        String rotated = token("b", KEY_B).compact();
+
+        // Too soon after the last fetch: no request, the key stays unknown
+        assertThrows(JwtException.class, () -> verifier.verify(rotated));
+        assertEquals(1, requests.get());
+
+        clock.advance(Duration.ofMinutes(2));
+        verifier.verify(rotated);
+        verifier.verify(rotated);
+        assertEquals(2, requests.get());
+
+        // A key the server does not publish either is fetched for once, then rate limited
+        String unknown = token("c", KEY_B).compact();
+        clock.advance(Duration.ofMinutes(2));
+        assertThrows(JwtException.class, () -> verifier.verify(unknown));
+        assertThrows(JwtException.class, () -> verifier.verify(unknown));
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void failedRefreshKeepsOldKeys() {
+        String token = token("a", KEY_A).compact();
+        status = 500;
+
+        assertEquals(60, verifier.refreshKeys());
+        verifier.verify(token);
+
+        // An on-demand refresh for an unknown key fails the same way
+        clock.advance(Duration.ofMinutes(2));
+        assertThrows(JwtException.class, () -> verifier.verify(token("b", KEY_B).compact()));
+        verifier.verify(token);
+        assertEquals(3, requests.get());
+
+        // A response without keys does not replace them either
+        status = 200;
+        servedKeys = List.of();
+        assertEquals(60, verifier.refreshKeys());
+        verifier.verify(token);
+    }
+
+    @Test
+    void maxAgeDrivesRefreshDelay() {
+        // Refreshed five minutes before the key set expires
+        cacheControl = "public, max-age=21600, must-revalidate, no-transform";
+        assertEquals(21600 - 300, verifier.refreshKeys());
+
+        // But never more often than once a minute
+        cacheControl = "max-age=120";
+        assertEquals(60, verifier.refreshKeys());
+
+        // One hour when the server gives no lifetime
+        cacheControl = null;
+        assertEquals(3600 - 300, verifier.refreshKeys());
+    }
+
+    private JwtBuilder token(String keyId, KeyPair keyPair) {
+        Instant now = clock.instant();
+        return Jwts.builder()
+                .setHeaderParam("kid", keyId)
+                .setIssuer("https://accounts.google.com")
+                .setAudience(CLIENT_ID)
+                .setSubject("1234567890")
+                .claim("email", "ada@campus.edu")
+                .claim("email_verified", true)
+                .claim("name", "Ada")
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(Duration.ofHours(1))))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256);
+    }
+
+    private static Map<String, Object> jwk(String keyId, KeyPair keyPair) {
+        RSAPublicKey key = (RSAPublicKey) keyPair.getPublic();
+        return Map.of(
+                "kty", "RSA",
+                "alg", "RS256",
+                "use", "sig",
+                "kid", keyId,
+                "n", base64Url(key.getModulus()),
+                "e", base64Url(key.getPublicExponent()));
+    }
+
+    // Unsigned big-endian bytes, as JWK expects
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now = Instant.now();
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.Hall;
+import com.campus.EventInClubs.dto.HallAllocationPlanDto;
+import com.campus.EventInClubs.dto.HallAssignmentDto;
+import com.campus.EventInClubs.repository.EventRepository;
+import com.campus.EventInClubs.repository.HallRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HallAllocationServiceTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 2, 0, 0);
+
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final HallRepository hallRepository = mock(HallRepository.class);
+
+    @Test
+    void proposePlanKeepsAssignmentsInAHallApartByTheBuffer() {
+        Random random = new Random(44);
+        List<Hall> halls = List.of(hall(1L, 40), hall(2L, 80), hall(3L, 120), hall(4L, 300));
+        List<Event> pending = new ArrayList<>();
+        List<Event> approved = new ArrayList<>();
+        for (long id = 1; id <= 120; id++) {
+            LocalDateTime start = DAY.plusMinutes(30L * random.nextInt(14 * 48));
+            Event event = event(id, random.nextInt(250) + 1, start, start.plusMinutes(30 + 30L * random.nextInt(8)));
+            if (id % 10 == 0) {
+                // Committed bookings the plan has to work around
+                event.setStatus(Event.EventStatus.APPROVED);
+                event.setApprovalStatus(Event.ApprovalStatus.APPROVED);
+                event.setHall(halls.get(random.nextInt(halls.size())));
+                approved.add(event);
+            } else {
+                pending.add(event);
+            }
+        }
+        HallAllocationService service = service(halls, approved, pending);
+
+        HallAllocationPlanDto plan = service.proposePlan(true);
+
+        List<HallAssignmentDto> assignments = plan.getAssignments();
+        assertFalse(assignments.isEmpty());
+        assertEquals(pending.size(), assignments.size() + plan.getUnassignedEventIds().size());
+        for (int i = 0; i < assignments.size(); i++) {
+            HallAssignmentDto a = assignments.get(i);
+            assertTrue(a.getHallCapacity() >= a.getParticipants());
+            for (Event booking : approved) {
+                if (booking.getHall().getId().equals(a.getHallId())) {
+                    assertFalse(withinBuffer(a.getStartDate(), a.getEndDate(), booking.getStartDate(), booking.getEndDate()),
+                            "event " + a.getEventId() + " overlaps booking " + booking.getId());
+                }
+            }
+            for (int j = i + 1; j < assignments.size(); j++) {
+                HallAssignmentDto b = assignments.get(j);
+                if (a.getHallId().equals(b.getHallId())) {
+                    assertFalse(withinBuffer(a.getStartDate(), a.getEndDate(), b.getStartDate(), b.getEndDate()),
+                            "events " + a.getEventId() + " and " + b.getEventId() + " overlap in hall " + a.getHallId());
+                }
+            }
+        }
+    }
+
+    @Test
+    void evictionPlacesAnOtherwiseUnplaceableEvent() {
+        Hall small = hall(1L, 50);
+        Hall large = hall(2L, 100);
+        // Only the large hall seats "big"; "early" and "late" fit both but are within 2 hours of each other.
+        // Greedy puts "early" into the small hall first, leaving nothing for "late" until "early" moves.
+        Event big = event(1L, 90, at(14, 0), at(15, 0));
+        Event early = event(2L, 40, at(10, 0), at(11, 0));
+        Event late = event(3L, 40, at(12, 0), at(13, 0));
+        HallAllocationService service = service(List.of(small, large), List.of(), List.of(big, early, late));
+
+        HallAllocationPlanDto plan = service.proposePlan(true);
+
+        assertTrue(plan.getUnassignedEventIds().isEmpty());
+        Map<Long, Long> hallByEvent = new HashMap<>();
+        plan.getAssignments().forEach(a -> hallByEvent.put(a.getEventId(), a.getHallId()));
+        assertEquals(Map.of(1L, 2L, 2L, 2L, 3L, 1L), hallByEvent);
+    }
+
+    @Test
+    void applyPlanRejectsOverlappingBatchWithoutTouchingEvents() {
+        Hall hall = hall(1L, 100);
+        Event first = event(1L, 40, at(10, 0), at(11, 0));
+        Event second = event(2L, 40, at(12, 30), at(13, 0));
+        HallAllocationService service = service(List.of(hall), List.of(), List.of(first, second));
+        when(eventRepository.findAllById(anyIterable())).thenReturn(List.of(first, second));
+        when(hallRepository.findAllById(anyIterable())).thenReturn(List.of(hall));
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> service.applyPlan(List.of(
+                assignment(1L, 1L), assignment(2L, 1L))));
+
+        assertTrue(error.getMessage().contains("already booked"));
+        assertNull(first.getHall());
+        assertNull(second.getHall());
+        verify(eventRepository, never()).saveAllAndFlush(any());
+    }
+
+    @Test
+    void applyPlanRejectsStaleBatch() {
+        Hall hall = hall(1L, 100);
+        Event pending = event(1L, 40, at(10, 0), at(11, 0));
+        Event decided = event(2L, 40, at(18, 0), at(19, 0));
+        decided.setStatus(Event.EventStatus.REJECTED);
+        HallAllocationService service = service(List.of(hall), List.of(), List.of(pending));
+        when(eventRepository.findAllById(anyIterable())).thenReturn(List.of(pending, decided));
+        when(hallRepository.findAllById(anyIterable())).thenReturn(List.of(hall));
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> service.applyPlan(List.of(
+                assignment(1L, 1L), assignment(2L, 1L))));
+
+        assertTrue(error.getMessage().contains("no longer pending approval"));
+        assertNull(pending.getHall());
+        verify(eventRepository, never()).saveAllAndFlush(any());
+    }
+
+    @Test
+    void applyPlanReportsConcurrentChanges() {
+        Hall hall = hall(1L, 100);
+        Event pending = event(1L, 40, at(10, 0), at(11, 0));
+        HallAllocationService service = service(List.of(hall), List.of(), List.of(pending));
+        when(eventRepository.findAllById(anyIterable())).thenReturn(List.of(pending));
+        when(hallRepository.findAllById(anyIterable())).thenReturn(List.of(hall));
+        when(eventRepository.saveAllAndFlush(any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Event.class, 1L));
+
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> service.applyPlan(List.of(assignment(1L, 1L))));
+
+        assertTrue(error.getMessage().contains("generate a new plan"));
+    }
+
+    @Test
+    void applyPlanKeepsAGivenLocation() {
+        Hall previous = hall(1L, 100);
+        Hall hall = hall(2L, 100);
+        Event named = event(1L, 40, at(10, 0), at(11, 0));
+        named.setLocation("Rooftop terrace");
+        Event unnamed = event(2L, 40, at(18, 0), at(19, 0));
+        Event inherited = event(3L, 40, at(14, 0), at(15, 0));
+        inherited.setHall(previous);
+        inherited.setLocation("Hall 1 - Block 1");
+        HallAllocationService service = service(List.of(previous, hall), List.of(), List.of(named, unnamed, inherited));
+        when(eventRepository.findAllById(anyIterable())).thenReturn(List.of(named, unnamed, inherited));
+        when(hallRepository.findAllById(anyIterable())).thenReturn(List.of(previous, hall));
+
+        assertEquals(3, service.applyPlan(List.of(
+                assignment(1L, 2L), assignment(2L, 2L), assignment(3L, 2L))));
+
+        assertEquals("Rooftop terrace", named.getLocation());
+        assertEquals("Hall 2 - Block 2", unnamed.getLocation());
+        // Filled in from the hall picked at submission, so it follows the new hall
+        assertEquals("Hall 2 - Block 2", inherited.getLocation());
+        assertEquals(hall, named.getHall());
+    }
+
+    private HallAllocationService service(List<Hall> halls, List<Event> approved, List<Event> pending) {
+        HallRepository indexHalls = mock(HallRepository.class);
+        EventRepository indexEvents = mock(EventRepository.class);
+        when(indexHalls.findByIsActiveTrueOrderBySeatingCapacityAsc()).thenReturn(halls);
+        List<Object[]> rows = new ArrayList<>();
+        for (Event booking : approved) {
+            rows.add(new Object[]{booking.getId(), booking.getHall().getId(), booking.getStartDate(), booking.getEndDate()});
+        }
+        when(indexEvents.findHallBookingRows()).thenReturn(rows);
+        HallAvailabilityIndex index = new HallAvailabilityIndex(indexHalls, indexEvents);
+        index.loadAll();
+
+        when(eventRepository.findActivePendingApprovalEvents()).thenReturn(pending);
+        return new HallAllocationService(eventRepository, hallRepository, index);
+    }
+
+    // Same rule as the availability index: the gap between the two must exceed the buffer
+    private static boolean withinBuffer(LocalDateTime start, LocalDateTime end,
+                                        LocalDateTime otherStart, LocalDateTime otherEnd) {
+        return !otherStart.minus(HallAvailabilityIndex.BOOKING_BUFFER).isAfter(end)
+                && !otherEnd.plus(HallAvailabilityIndex.BOOKING_BUFFER).isBefore(start);
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.plusHours(hour).plusMinutes(minute);
+    }
+
+    private static Hall hall(Long id, int seatingCapacity) {
+        return Hall.builder()
+                .id(id)
+                .name("Hall " + id)
+                .location("Block " + id)
+                .seatingCapacity(seatingCapacity)
+                .isActive(true)
+                .build();
+    }
+
+    private static Event event(Long id, int participants, LocalDateTime start, LocalDateTime end) {
+        return Event.builder()
+                .id(id)
+                .title("Event " + id)
+                .maxParticipants(participants)
+                .status(Event.EventStatus.PENDING_APPROVAL)
+                .approvalStatus(Event.ApprovalStatus.PENDING)
+                .startDate(start)
+                .endDate(end)
+                .build();
+    }
+
+    private static HallAssignmentDto assignment(Long eventId, Long hallId) {
+        return HallAssignmentDto.builder().eventId(eventId).hallId(hallId).build();
+    }
+}
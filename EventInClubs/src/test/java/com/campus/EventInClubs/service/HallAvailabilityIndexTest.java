@@ -0,0 +1,174 @@
+package com.campus.EventInClubs.service;
+
+import com.campus.EventInClubs.domain.model.Event;
+import com.campus.EventInClubs.domain.model.Hall;
+import com.campus.EventInClubs.repository.EventRepository;
+import com.campus.EventInClubs.repository.HallRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HallAvailabilityIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 2, 0, 0);
+
+    private final List<Hall> halls = List.of(
+            hall(1L, 50, true),
+            hall(2L, 80, true),
+            hall(3L, 200, true),
+            hall(4L, 60, false));
+
+    private final List<Event> events = List.of(
+            event(10L, 1L, Event.ApprovalStatus.APPROVED, Event.EventStatus.APPROVED, at(10, 0), at(12, 0)),
+            event(11L, 1L, Event.ApprovalStatus.APPROVED, Event.EventStatus.APPROVED, at(18, 0), at(19, 0)),
+            event(12L, 2L, Event.ApprovalStatus.PENDING, Event.EventStatus.PENDING_APPROVAL, at(10, 0), at(12, 0)),
+            event(13L, 2L, Event.ApprovalStatus.APPROVED, Event.EventStatus.CANCELLED, at(10, 0), at(12, 0)),
+            event(14L, 2L, Event.ApprovalStatus.APPROVED, Event.EventStatus.COMPLETED, at(14, 0), at(15, 0)),
+            event(15L, 3L, Event.ApprovalStatus.APPROVED, Event.EventStatus.ONGOING, null, null),
+            event(16L, 2L, Event.ApprovalStatus.APPROVED, Event.EventStatus.PUBLISHED, at(16, 0), at(17, 30)),
+            event(17L, 4L, Event.ApprovalStatus.APPROVED, Event.EventStatus.APPROVED, at(9, 0), at(10, 0)),
+            event(18L, null, Event.ApprovalStatus.APPROVED, Event.EventStatus.APPROVED, at(9, 0), at(10, 0)));
+
+    private HallAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        HallRepository hallRepository = mock(HallRepository.class);
+        EventRepository eventRepository = mock(EventRepository.class);
+        when(hallRepository.findByIsActiveTrueOrderBySeatingCapacityAsc())
+                .thenReturn(halls.stream().filter(Hall::getIsActive).toList());
+        when(eventRepository.findHallBookingRows()).thenReturn(bookingRows());
+
+        index = new HallAvailabilityIndex(hallRepository, eventRepository);
+        index.loadAll();
+    }
+
+    @Test
+    void matchesRemovedNotInQueryOnFixture() {
+        Long[] excluded = {null, 10L, 15L, 16L};
+        int[] capacities = {0, 50, 60, 100};
+        int[] lengths = {1, 30, 60, 180};
+        for (Long excludeEventId : excluded) {
+            for (int capacity : capacities) {
+                for (int minute = 6 * 60; minute <= 22 * 60; minute += 15) {
+                    for (int length : lengths) {
+                        LocalDateTime start = DAY.plusMinutes(minute);
+                        LocalDateTime end = start.plusMinutes(length);
+                        List<Long> actual = index.findAvailableHalls(capacity, start, end, excludeEventId).stream()
+                                .map(Hall::getId)
+                                .toList();
+                        assertEquals(expectedHallIds(capacity, start, end, excludeEventId), actual,
+                                "capacity " + capacity + ", " + start + " - " + end + ", excluding " + excludeEventId);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void bufferBoundaryIsInclusive() {
+        // Event 10 holds hall 1 from 10:00 to 12:00, so 08:00 to 14:00 is blocked
+        assertFalse(index.isHallFree(1L, at(14, 0), at(15, 0), null));
+        assertTrue(index.isHallFree(1L, at(14, 1), at(15, 0), null));
+        assertFalse(index.isHallFree(1L, at(7, 0), at(8, 0), null));
+        assertTrue(index.isHallFree(1L, at(7, 0), at(7, 59), null));
+    }
+
+    @Test
+    void undatedBookingBlocksItsHallEntirely() {
+        assertFalse(index.isHallFree(3L, at(0, 0), at(0, 1), null));
+        assertFalse(index.isHallFree(3L, null, null, null));
+        assertTrue(index.isHallFree(3L, at(0, 0), at(0, 1), 15L));
+    }
+
+    @Test
+    void syncAndRemoveUpdateBookings() {
+        // Outside a transaction AfterCommit applies the change right away
+        Event moved = event(10L, 2L, Event.ApprovalStatus.APPROVED, Event.EventStatus.APPROVED, at(10, 0), at(12, 0));
+        index.syncEvent(moved);
+        assertTrue(index.isHallFree(1L, at(11, 0), at(11, 30), null));
+        assertFalse(index.isHallFree(2L, at(11, 0), at(11, 30), null));
+
+        index.removeEvent(10L);
+        assertTrue(index.isHallFree(2L, at(11, 0), at(11, 30), null));
+        assertEquals(4, index.bookingCount());
+    }
+
+    private List<Object[]> bookingRows() {
+        // Same filter as EventRepository.findHallBookingRows
+        List<Object[]> rows = new ArrayList<>();
+        for (Event event : events) {
+            if (event.getHall() != null
+                    && event.getApprovalStatus() == Event.ApprovalStatus.APPROVED
+                    && event.getStatus() != Event.EventStatus.CANCELLED
+                    && event.getStatus() != Event.EventStatus.COMPLETED) {
+                rows.add(new Object[]{event.getId(), event.getHall().getId(), event.getStartDate(), event.getEndDate()});
+            }
+        }
+        return rows;
+    }
+
+    // Evaluates the removed HallRepository.findAvailableHalls native query against the fixture
+    private List<Long> expectedHallIds(int capacity, LocalDateTime start, LocalDateTime end, Long excludeEventId) {
+        return halls.stream()
+                .filter(hall -> hall.getIsActive() && hall.getSeatingCapacity() >= capacity)
+                .filter(hall -> events.stream().noneMatch(event -> blocks(event, hall.getId(), start, end, excludeEventId)))
+                .sorted(Comparator.comparing((Hall hall) -> hall.getSeatingCapacity() <= capacity + 20 ? 1 : 2)
+                        .thenComparing(Hall::getSeatingCapacity)
+                        .thenComparing(Hall::getId))
+                .map(Hall::getId)
+                .toList();
+    }
+
+    private static boolean blocks(Event event, Long hallId, LocalDateTime start, LocalDateTime end, Long excludeEventId) {
+        if (event.getHall() == null || !event.getHall().getId().equals(hallId)) {
+            return false;
+        }
+        if (Arrays.asList(Event.EventStatus.CANCELLED, Event.EventStatus.COMPLETED).contains(event.getStatus())
+                || event.getApprovalStatus() != Event.ApprovalStatus.APPROVED
+                || event.getId().equals(excludeEventId)) {
+            return false;
+        }
+        if (event.getStartDate() == null || event.getEndDate() == null) {
+            return true;
+        }
+        return !event.getStartDate().minusHours(2).isAfter(end) && !event.getEndDate().plusHours(2).isBefore(start);
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.plusHours(hour).plusMinutes(minute);
+    }
+
+    private static Hall hall(Long id, int seatingCapacity, boolean active) {
+        return Hall.builder()
+                .id(id)
+                .name("Hall " + id)
+                .seatingCapacity(seatingCapacity)
+                .isActive(active)
+                .build();
+    }
+
+    private Event event(Long id, Long hallId, Event.ApprovalStatus approvalStatus, Event.EventStatus status,
+                        LocalDateTime start, LocalDateTime end) {
+        return Event.builder()
+                .id(id)
+                .title("Event " + id)
+                .hall(hallId == null ? null : halls.stream().filter(h -> h.getId().equals(hallId)).findFirst().orElseThrow())
+                .approvalStatus(approvalStatus)
+                .status(status)
+                .startDate(start)
+                .endDate(end)
+                .build();
+    }
+}
@@ -0,0 +1,142 @@
+package com.campus.EventInClubs.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HallIntervalTreeTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 3, 2, 0, 0);
+
+    private static LocalDateTime at(int minutes) {
+        return BASE.plusMinutes(minutes);
+    }
+
+    private static HallIntervalTree.Interval interval(long eventId, int start, int end) {
+        return new HallIntervalTree.Interval(eventId, at(start), at(end));
+    }
+
+    @Test
+    void insertAndRemoveTrackSize() {
+        HallIntervalTree tree = new HallIntervalTree();
+        tree.insert(interval(1, 0, 60));
+        tree.insert(interval(2, 120, 180));
+
+        assertEquals(2, tree.size());
+        assertTrue(tree.remove(1L, at(0)));
+        assertFalse(tree.remove(1L, at(0)));
+        // The start must match the one the interval was inserted with
+        assertFalse(tree.remove(2L, at(121)));
+        assertEquals(1, tree.size());
+    }
+
+    @Test
+    void overlapsTreatsIntervalsAsClosed() {
+        HallIntervalTree tree = new HallIntervalTree();
+        tree.insert(interval(1, 100, 200));
+
+        assertTrue(tree.overlaps(at(200), at(300), null));
+        assertTrue(tree.overlaps(at(0), at(100), null));
+        assertTrue(tree.overlaps(at(120), at(130), null));
+        assertFalse(tree.overlaps(at(201), at(300), null));
+        assertFalse(tree.overlaps(at(0), at(99), null));
+    }
+
+    @Test
+    void overlapsIgnoresExcludedEvent() {
+        HallIntervalTree tree = new HallIntervalTree();
+        tree.insert(interval(1, 100, 200));
+
+        assertFalse(tree.overlaps(at(150), at(160), 1L));
+        tree.insert(interval(2, 150, 170));
+        assertTrue(tree.overlaps(at(150), at(160), 1L));
+    }
+
+    @Test
+    void duplicateStartTimesAreKeptApartByEventId() {
+        HallIntervalTree tree = new HallIntervalTree();
+        for (long id = 1; id <= 5; id++) {
+            tree.insert(interval(id, 100, 100 + 10 * (int) id));
+        }
+
+        assertTrue(tree.remove(3L, at(100)));
+        assertEquals(4, tree.size());
+
+        List<Long> ids = new ArrayList<>();
+        tree.forEachOverlapping(at(0), at(1000), booking -> ids.add(booking.eventId()));
+        assertEquals(List.of(1L, 2L, 4L, 5L), ids);
+
+        // Only event 5 reaches minute 145
+        assertTrue(tree.overlaps(at(145), at(146), null));
+        assertFalse(tree.overlaps(at(145), at(146), 5L));
+    }
+
+    @Test
+    void maxEndCoversLongIntervalsAfterRotations() {
+        HallIntervalTree tree = new HallIntervalTree();
+        // The earliest interval ends last, so later starts cannot cover a late query by themselves
+        tree.insert(interval(1, 0, 10_000));
+        for (int i = 2; i <= 64; i++) {
+            tree.insert(interval(i, 10 * i, 10 * i + 5));
+        }
+
+        assertTrue(tree.overlaps(at(9_000), at(9_001), null));
+        assertFalse(tree.overlaps(at(9_000), at(9_001), 1L));
+
+        // Removing internal nodes rebuilds nodes from successors; maxEnd must follow
+        for (int i = 2; i <= 64; i += 3) {
+            assertTrue(tree.remove((long) i, at(10 * i)));
+        }
+        assertTrue(tree.overlaps(at(9_000), at(9_001), null));
+        assertTrue(tree.remove(1L, at(0)));
+        assertFalse(tree.overlaps(at(9_000), at(9_001), null));
+    }
+
+    @Test
+    void matchesLinearScanThroughInsertsAndDeletes() {
+        Random random = new Random(41);
+        HallIntervalTree tree = new HallIntervalTree();
+        List<HallIntervalTree.Interval> expected = new ArrayList<>();
+        long nextId = 1;
+
+        for (int step = 0; step < 4000; step++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                // Coarse start times so many intervals share a start
+                int start = random.nextInt(200) * 15;
+                HallIntervalTree.Interval booking = interval(nextId++, start, start + random.nextInt(600));
+                tree.insert(booking);
+                expected.add(booking);
+            } else {
+                HallIntervalTree.Interval booking = expected.remove(random.nextInt(expected.size()));
+                assertTrue(tree.remove(booking.eventId(), booking.start()));
+            }
+            assertEquals(expected.size(), tree.size());
+
+            int from = random.nextInt(3600);
+            LocalDateTime queryFrom = at(from);
+            LocalDateTime queryTo = at(from + random.nextInt(240));
+            Long exclude = expected.isEmpty() || random.nextBoolean()
+                    ? null : expected.get(random.nextInt(expected.size())).eventId();
+
+            List<HallIntervalTree.Interval> overlapping = expected.stream()
+                    .filter(b -> !b.end().isBefore(queryFrom) && !b.start().isAfter(queryTo))
+                    .sorted(Comparator.comparing(HallIntervalTree.Interval::start)
+                            .thenComparing(HallIntervalTree.Interval::eventId))
+                    .toList();
+            boolean anyOther = overlapping.stream().anyMatch(b -> !b.eventId().equals(exclude));
+
+            assertEquals(anyOther, tree.overlaps(queryFrom, queryTo, exclude));
+            List<HallIntervalTree.Interval> visited = new ArrayList<>();
+            tree.forEachOverlapping(queryFrom, queryTo, visited::add);
+            assertEquals(overlapping, visited);
+        }
+    }
+}
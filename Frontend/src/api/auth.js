@@ -12,3 +12,10 @@ export const loginUser = async (payload) => {
   }
 };
 export const googleLogin = (idToken) => http.post("/auth/google", { idToken });
+// Revokes the access and refresh tokens on the server; the caller clears local auth data
+export const logoutUser = () => {
+  const token = localStorage.getItem('token');
+  return http.post("/auth/logout", { refreshToken: localStorage.getItem('refreshToken') }, {
+    headers: token ? { Authorization: `Bearer ${token}` } : {}
+  });
+};
@@ -1,4 +1,5 @@
 import { getCurrentUser } from '../services/authService';
+import { authFetch } from './http';
 
 const API_BASE_URL = import.meta.env.VITE_API_URL || 'http://localhost:8080/api';
 
@@ -25,7 +26,7 @@ const getAuthHeaders = () => {
 export const eventApi = {
   // Get all events
   getAllEvents: async () => {
-    const response = await fetch(`${API_BASE_URL}/events`, {
+    const response = await authFetch(`${API_BASE_URL}/events`, {
       method: 'GET',
       headers: getAuthHeaders(),
     });
@@ -39,7 +40,7 @@ export const eventApi = {
 
   // Get upcoming events
   getUpcomingEvents: async () => {
-    const response = await fetch(`${API_BASE_URL}/events/upcoming`, {
+    const response = await authFetch(`${API_BASE_URL}/events/upcoming`, {
       method: 'GET',
       headers: getAuthHeaders(),
     });
@@ -53,7 +54,7 @@ export const eventApi = {
 
   // Get ongoing events
   getOngoingEvents: async () => {
-    const response = await fetch(`${API_BASE_URL}/events/ongoing`, {
+    const response = await authFetch(`${API_BASE_URL}/events/ongoing`, {
       method: 'GET',
       headers: getAuthHeaders(),
     });
@@ -67,7 +68,7 @@ export const eventApi = {
 
   // Get events by club
   getEventsByClub: async (clubId) => {
-    const response = await fetch(`${API_BASE_URL}/events/club/${clubId}`, {
+    const response = await authFetch(`${API_BASE_URL}/events/club/${clubId}`, {
       method: 'GET',
       headers: getAuthHeaders(),
     });
@@ -81,7 +82,7 @@ export const eventApi = {
 
   // Get event by ID
   getEventById: async (id) => {
-    const response = await fetch(`${API_BASE_URL}/events/${id}`, {
+    const response = await authFetch(`${API_BASE_URL}/events/${id}`, {
       method: 'GET',
       headers: getAuthHeaders(),
     });
@@ -95,7 +96,7 @@ export const eventApi = {
 
   // Create new event
   createEvent: async (eventData) => {
-    const response = await fetch(`${API_BASE_URL}/events`, {
+    const response = await authFetch(`${API_BASE_URL}/events`, {
       method: 'POST',
       headers: getAuthHeaders(),
       body: JSON.stringify(eventData),
@@ -110,7 +111,7 @@ export const eventApi = {
 
   // Update event
   updateEvent: async (id, eventData) => {
-    const response = await fetch(`${API_BASE_URL}/events/${id}`, {
+    const response = await authFetch(`${API_BASE_URL}/events/${id}`, {
       method: 'PUT',
       headers: getAuthHeaders(),
       body: JSON.stringify(eventData),
@@ -125,7 +126,7 @@ export const eventApi = {
 
   // Delete event
   deleteEvent: async (id) => {
-    const response = await fetch(`${API_BASE_URL}/events/${id}`, {
+    const response = await authFetch(`${API_BASE_URL}/events/${id}`, {
       method: 'DELETE',
       headers: getAuthHeaders(),
     });
@@ -139,7 +140,7 @@ export const eventApi = {
 
   // Publish event
   publishEvent: async (id) => {
-    const response = await fetch(`${API_BASE_URL}/events/${id}/publish`, {
+    const response = await authFetch(`${API_BASE_URL}/events/${id}/publish`, {
       method: 'PUT',
       headers: getAuthHeaders(),
     });
@@ -153,7 +154,7 @@ export const eventApi = {
 
   // Search events
   searchEvents: async (keyword) => {
-    const response = await fetch(`${API_BASE_URL}/events/search?keyword=${encodeURIComponent(keyword)}`, {
+    const response = await authFetch(`${API_BASE_URL}/events/search?keyword=${encodeURIComponent(keyword)}`, {
       method: 'GET',
       headers: getAuthHeaders(),
     });
@@ -167,7 +168,7 @@ export const eventApi = {
 
   // Get event count by club
   getEventCountByClub: async (clubId) => {
-    const response = await fetch(`${API_BASE_URL}/events/stats/club/${clubId}`, {
+    const response = await authFetch(`${API_BASE_URL}/events/stats/club/${clubId}`, {
       method: 'GET',
       headers: getAuthHeaders(),
     });
@@ -181,7 +182,7 @@ export const eventApi = {
 
   // Get events accepting ideas
   getEventsAcceptingIdeas: async () => {
-    const response = await fetch(`${API_BASE_URL}/events/accepting-ideas`, {
+    const response = await authFetch(`${API_BASE_URL}/events/accepting-ideas`, {
       method: 'GET',
       headers: getAuthHeaders(),
     });
@@ -195,7 +196,7 @@ export const eventApi = {
 
   // Get events for club topics (events that accept ideas)
   getEventsForClubTopics: async () => {
-    const response = await fetch(`${API_BASE_URL}/events/club-topics`, {
+    const response = await authFetch(`${API_BASE_URL}/events/club-topics`, {
       method: 'GET',
       headers: getAuthHeaders(),
     });
@@ -213,7 +214,7 @@ export const eventApi = {
     console.log('Event ID:', eventId);
     
     try {
-      const response = await fetch(`${API_BASE_URL}/events/${eventId}/ideas`, {
+      const response = await authFetch(`${API_BASE_URL}/events/${eventId}/ideas`, {
         method: 'GET',
         headers: getAuthHeaders(),
       });
@@ -286,7 +287,7 @@ export const eventApi = {
 
       console.log('Sending idea payload:', ideaPayload);
 
-      const response = await fetch(`${API_BASE_URL}/events/${eventId}/ideas?userId=${user.id}`, {
+      const response = await authFetch(`${API_BASE_URL}/events/${eventId}/ideas?userId=${user.id}`, {
         method: 'POST',
         headers: headers,
         credentials: 'include',
@@ -319,7 +320,7 @@ export const eventApi = {
   // Update event status (approve/reject)
   updateEventStatus: async (eventId, status) => {
     try {
-      const response = await fetch(`${API_BASE_URL}/events/${eventId}/status`, {
+      const response = await authFetch(`${API_BASE_URL}/events/${eventId}/status`, {
         method: 'PUT',
         headers: getAuthHeaders(),
         body: JSON.stringify({ status }),
@@ -381,7 +382,7 @@ export const eventApi = {
         console.log(`${key}: ${value}`);
       }
 
-      const response = await fetch(`${API_BASE_URL}/events/approve-proposal`, {
+      const response = await authFetch(`${API_BASE_URL}/events/approve-proposal`, {
         method: 'POST',
         headers: {
           // Don't set Content-Type for FormData, let browser set it with boundary
@@ -404,7 +405,7 @@ export const eventApi = {
 
   // Super Admin: Get pending events for approval
   getPendingEventsForApproval: async () => {
-    const response = await fetch(`${API_BASE_URL}/events/pending-approval`, {
+    const response = await authFetch(`${API_BASE_URL}/events/pending-approval`, {
       method: 'GET',
       headers: getAuthHeaders(),
     });
@@ -418,7 +419,7 @@ export const eventApi = {
 
   // Super Admin: Approve event
   approveEvent: async (eventId, superAdminId) => {
-    const response = await fetch(`${API_BASE_URL}/events/approve/${eventId}?superAdminId=${superAdminId}`, {
+    const response = await authFetch(`${API_BASE_URL}/events/approve/${eventId}?superAdminId=${superAdminId}`, {
       method: 'POST',
       headers: getAuthHeaders(),
     });
@@ -433,7 +434,7 @@ export const eventApi = {
 
   // Super Admin: Reject event
   rejectEvent: async (eventId, superAdminId, rejectionReason) => {
-    const response = await fetch(
+    const response = await authFetch(
       `${API_BASE_URL}/events/reject/${eventId}?superAdminId=${superAdminId}&rejectionReason=${encodeURIComponent(rejectionReason)}`,
       {
         method: 'POST',
@@ -451,7 +452,7 @@ export const eventApi = {
 
   // Super Admin: Get all approved events
   getApprovedEvents: async () => {
-    const response = await fetch(`${API_BASE_URL}/events/approved`, {
+    const response = await authFetch(`${API_BASE_URL}/events/approved`, {
       method: 'GET',
       headers: getAuthHeaders(),
     });
@@ -465,7 +466,7 @@ export const eventApi = {
 
   // Super Admin: Get all rejected events
   getRejectedEvents: async () => {
-    const response = await fetch(`${API_BASE_URL}/events/rejected`, {
+    const response = await authFetch(`${API_BASE_URL}/events/rejected`, {
       method: 'GET',
       headers: getAuthHeaders(),
     });
@@ -20,11 +20,40 @@ http.interceptors.request.use(config => {
   return Promise.reject(error);
 });
 
+// Access tokens are short-lived: on a 401, renew them once with the refresh token and retry
+let refreshing = null;
+
+const refreshAccessToken = () => {
+  if (!refreshing) {
+    refreshing = axios.post(`${API_BASE}/auth/refresh`, { refreshToken: localStorage.getItem('refreshToken') })
+      .then(res => {
+        localStorage.setItem('token', res.data.token);
+        localStorage.setItem('refreshToken', res.data.refreshToken);
+        return res.data.token;
+      })
+      .finally(() => { refreshing = null; });
+  }
+  return refreshing;
+};
+
 // Add response interceptor for logging
 http.interceptors.response.use(response => {
   console.log(`Response: ${response.status} ${response.config.method.toUpperCase()} ${response.config.url}`);
   return response;
-}, error => {
+}, async error => {
+  const original = error.config;
+  // Without an access token the user is logged out; never renew a leftover refresh token then
+  if (error.response?.status === 401 && original && !original._retried && localStorage.getItem('token')
+      && localStorage.getItem('refreshToken') && !original.url?.includes('/auth/')) {
+    original._retried = true;
+    try {
+      const token = await refreshAccessToken();
+      original.headers = { ...original.headers, Authorization: `Bearer ${token}` };
+      return http(original);
+    } catch (refreshError) {
+      localStorage.removeItem('refreshToken');
+    }
+  }
   console.error('Response Error:', {
     status: error.response?.status,
     url: error.config?.url,
@@ -34,5 +63,25 @@ http.interceptors.response.use(response => {
   return Promise.reject(error);
 });
 
+// Same 401 handling for code still calling fetch directly; resolves to the fetch Response like fetch does
+const authFetch = async (input, init = {}) => {
+  const response = await fetch(input, init);
+  const url = typeof input === 'string' ? input : input.url;
+  if (response.status !== 401 || !localStorage.getItem('token') || !localStorage.getItem('refreshToken')
+      || url.includes('/auth/')) {
+    return response;
+  }
+  let token;
+  try {
+    token = await refreshAccessToken();
+  } catch (refreshError) {
+    localStorage.removeItem('refreshToken');
+    return response;
+  }
+  const headers = new Headers(init.headers);
+  headers.set('Authorization', `Bearer ${token}`);
+  return fetch(input, { ...init, headers });
+};
+
 export default http;
-export { http as httpClient };
\ No newline at end of file
+export { http as httpClient, authFetch };
\ No newline at end of file
@@ -40,7 +40,7 @@ const ideaApi = {
   // Search ideas
   searchIdeas: async (query) => {
     const response = await http.get(`/ideas/search?q=${encodeURIComponent(query)}`);
-    return response.data;
+    return response.data.results;
   },
 
   // Get idea by ID
@@ -28,7 +28,7 @@ const problemApi = {
   // Search problems
   searchProblems: async (query) => {
     const response = await http.get(`/problems/search?q=${encodeURIComponent(query)}`);
-    return response.data;
+    return response.data.results;
   },
 
   // Get problem by ID
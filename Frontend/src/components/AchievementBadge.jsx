@@ -1,5 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import './AchievementBadge.css';
+import { authFetch } from '../api/http';
 
 const AchievementBadge = () => {
   const [achievements, setAchievements] = useState([]);
@@ -17,7 +18,7 @@ const AchievementBadge = () => {
       const token = localStorage.getItem('token');
       if (!token) return;
 
-      const response = await fetch(`${import.meta.env.VITE_API_BASE_URL}/api/achievements`, {
+      const response = await authFetch(`${import.meta.env.VITE_API_BASE_URL}/api/achievements`, {
         headers: {
           'Authorization': `Bearer ${token}`,
           'Content-Type': 'application/json'
@@ -38,7 +39,7 @@ const AchievementBadge = () => {
       const token = localStorage.getItem('token');
       if (!token) return;
 
-      const response = await fetch(`${import.meta.env.VITE_API_BASE_URL}/api/achievements/points`, {
+      const response = await authFetch(`${import.meta.env.VITE_API_BASE_URL}/api/achievements/points`, {
         headers: {
           'Authorization': `Bearer ${token}`,
           'Content-Type': 'application/json'
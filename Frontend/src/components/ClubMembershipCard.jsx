@@ -1,6 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { Users, Crown, Shield, User, Settings, UserMinus, UserPlus } from 'lucide-react';
 import './ClubMembershipCard.css';
+import { authFetch } from '../api/http';
 
 const ClubMembershipCard = ({ clubId, isAdmin = false }) => {
   const [members, setMembers] = useState([]);
@@ -20,7 +21,7 @@ const ClubMembershipCard = ({ clubId, isAdmin = false }) => {
       const token = localStorage.getItem('token');
       if (!token) return;
 
-      const response = await fetch(`${import.meta.env.VITE_API_BASE_URL}/api/clubs/${clubId}/members`, {
+      const response = await authFetch(`${import.meta.env.VITE_API_BASE_URL}/api/clubs/${clubId}/members`, {
         headers: {
           'Authorization': `Bearer ${token}`,
           'Content-Type': 'application/json'
@@ -41,7 +42,7 @@ const ClubMembershipCard = ({ clubId, isAdmin = false }) => {
       const token = localStorage.getItem('token');
       if (!token) return;
 
-      const response = await fetch(`${import.meta.env.VITE_API_BASE_URL}/api/users/memberships`, {
+      const response = await authFetch(`${import.meta.env.VITE_API_BASE_URL}/api/users/memberships`, {
         headers: {
           'Authorization': `Bearer ${token}`,
           'Content-Type': 'application/json'
@@ -64,7 +65,7 @@ const ClubMembershipCard = ({ clubId, isAdmin = false }) => {
       const token = localStorage.getItem('token');
       if (!token) return;
 
-      const response = await fetch(`${import.meta.env.VITE_API_BASE_URL}/api/clubs/${clubId}/members/join`, {
+      const response = await authFetch(`${import.meta.env.VITE_API_BASE_URL}/api/clubs/${clubId}/members/join`, {
         method: 'POST',
         headers: {
           'Authorization': `Bearer ${token}`,
@@ -95,7 +96,7 @@ const ClubMembershipCard = ({ clubId, isAdmin = false }) => {
       const token = localStorage.getItem('token');
       if (!token) return;
 
-      const response = await fetch(`${import.meta.env.VITE_API_BASE_URL}/api/clubs/${clubId}/members/leave`, {
+      const response = await authFetch(`${import.meta.env.VITE_API_BASE_URL}/api/clubs/${clubId}/members/leave`, {
         method: 'POST',
         headers: {
           'Authorization': `Bearer ${token}`,
@@ -123,7 +124,7 @@ const ClubMembershipCard = ({ clubId, isAdmin = false }) => {
       const token = localStorage.getItem('token');
       if (!token) return;
 
-      const response = await fetch(`${import.meta.env.VITE_API_BASE_URL}/api/clubs/${clubId}/members/${membershipId}/role`, {
+      const response = await authFetch(`${import.meta.env.VITE_API_BASE_URL}/api/clubs/${clubId}/members/${membershipId}/role`, {
         method: 'PUT',
         headers: {
           'Authorization': `Bearer ${token}`,
@@ -151,7 +152,7 @@ const ClubMembershipCard = ({ clubId, isAdmin = false }) => {
       const token = localStorage.getItem('token');
       if (!token) return;
 
-      const response = await fetch(`${import.meta.env.VITE_API_BASE_URL}/api/clubs/${clubId}/members/${membershipId}`, {
+      const response = await authFetch(`${import.meta.env.VITE_API_BASE_URL}/api/clubs/${clubId}/members/${membershipId}`, {
         method: 'DELETE',
         headers: {
           'Authorization': `Bearer ${token}`,
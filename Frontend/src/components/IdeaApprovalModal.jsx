@@ -1,5 +1,6 @@
 import React, { useState } from 'react';
 import './IdeaApprovalModal.css';
+import { authFetch } from '../api/http';
 
 const IdeaApprovalModal = ({ idea, onClose, onApprove }) => {
   const [formData, setFormData] = useState({
@@ -68,7 +69,7 @@ const IdeaApprovalModal = ({ idea, onClose, onApprove }) => {
         const uploadFormData = new FormData();
         uploadFormData.append('file', file);
         
-        const uploadResponse = await fetch('http://localhost:8080/api/upload/ppt', {
+        const uploadResponse = await authFetch('http://localhost:8080/api/upload/ppt', {
           method: 'POST',
           body: uploadFormData
         });
@@ -107,7 +108,7 @@ const IdeaApprovalModal = ({ idea, onClose, onApprove }) => {
       }
 
       // Call the approve with PPT API
-      const response = await fetch(`http://localhost:8080/api/ideas/${idea.id}/approve-with-ppt`, {
+      const response = await authFetch(`http://localhost:8080/api/ideas/${idea.id}/approve-with-ppt`, {
         method: 'PUT',
         headers: {
           'Content-Type': 'application/x-www-form-urlencoded',
@@ -2,6 +2,8 @@ import React, { useState, useEffect } from "react";
 import { Link, useNavigate, useLocation } from "react-router-dom";
 import NotificationBell from "./NotificationBell";
 import AchievementBadge from "./AchievementBadge";
+import { logoutUser } from "../api/auth";
+import { clearAuthData } from "../services/authService";
 import "./Navbar.css";
 
 export default function Navbar() {
@@ -35,8 +37,13 @@ export default function Navbar() {
     return () => window.removeEventListener('authStateChanged', handleAuthChange);
   }, []);
 
-  const logout = () => {
-    localStorage.removeItem("token");
+  const logout = async () => {
+    try {
+      await logoutUser();
+    } catch (error) {
+      console.error('Logout request failed:', error);
+    }
+    clearAuthData();
     localStorage.removeItem("role");
     localStorage.removeItem("email");
     // SUPER_ADMIN functionality disabled
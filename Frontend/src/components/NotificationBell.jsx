@@ -1,5 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import './NotificationBell.css';
+import { authFetch } from '../api/http';
 
 const NotificationBell = () => {
   const [notifications, setNotifications] = useState([]);
@@ -19,7 +20,7 @@ const NotificationBell = () => {
       const token = localStorage.getItem('token');
       if (!token) return;
 
-      const response = await fetch(`${import.meta.env.VITE_API_BASE_URL}/api/notifications`, {
+      const response = await authFetch(`${import.meta.env.VITE_API_BASE_URL}/api/notifications`, {
         headers: {
           'Authorization': `Bearer ${token}`,
           'Content-Type': 'application/json'
@@ -41,7 +42,7 @@ const NotificationBell = () => {
       const token = localStorage.getItem('token');
       if (!token) return;
 
-      const response = await fetch(`${import.meta.env.VITE_API_BASE_URL}/api/notifications/${notificationId}/read`, {
+      const response = await authFetch(`${import.meta.env.VITE_API_BASE_URL}/api/notifications/${notificationId}/read`, {
         method: 'PUT',
         headers: {
           'Authorization': `Bearer ${token}`,
@@ -65,7 +66,7 @@ const NotificationBell = () => {
       const token = localStorage.getItem('token');
       if (!token) return;
 
-      const response = await fetch(`${import.meta.env.VITE_API_BASE_URL}/api/notifications/${notificationId}`, {
+      const response = await authFetch(`${import.meta.env.VITE_API_BASE_URL}/api/notifications/${notificationId}`, {
         method: 'DELETE',
         headers: {
           'Authorization': `Bearer ${token}`,
@@ -90,7 +91,7 @@ const NotificationBell = () => {
       const token = localStorage.getItem('token');
       if (!token) return;
 
-      const response = await fetch(`${import.meta.env.VITE_API_BASE_URL}/api/notifications/read-all`, {
+      const response = await authFetch(`${import.meta.env.VITE_API_BASE_URL}/api/notifications/read-all`, {
         method: 'PUT',
         headers: {
           'Authorization': `Bearer ${token}`,
@@ -1,6 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import EventCreationModal from './EventCreationModal';
 import './RejectedEventsPanel.css';
+import { authFetch } from '../api/http';
 
 const RejectedEventsPanel = ({ clubId }) => {
   const [rejectedEvents, setRejectedEvents] = useState([]);
@@ -34,7 +35,7 @@ const RejectedEventsPanel = ({ clubId }) => {
       console.log('Request URL:', url);
       console.log('Headers:', headers);
       
-      const response = await fetch(url, {
+      const response = await authFetch(url, {
         credentials: 'include',
         headers: headers
       });
@@ -92,7 +93,7 @@ const RejectedEventsPanel = ({ clubId }) => {
         params.append('hallId', eventData.hallId.toString());
       }
 
-      const submitResponse = await fetch(`http://localhost:8080/api/events/resubmit-rejected?${params.toString()}`, {
+      const submitResponse = await authFetch(`http://localhost:8080/api/events/resubmit-rejected?${params.toString()}`, {
         method: 'POST',
         headers: headers,
         credentials: 'include'
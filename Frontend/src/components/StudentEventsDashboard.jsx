@@ -1,5 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import './StudentEventsDashboard.css';
+import { authFetch } from '../api/http';
 
 const StudentEventsDashboard = () => {
   const [approvedEvents, setApprovedEvents] = useState([]);
@@ -14,7 +15,7 @@ const StudentEventsDashboard = () => {
   const fetchApprovedEvents = async () => {
     try {
       setLoading(true);
-      const response = await fetch('/api/events/approved-for-students', {
+      const response = await authFetch('/api/events/approved-for-students', {
         credentials: 'include'
       });
       
@@ -34,7 +35,7 @@ const StudentEventsDashboard = () => {
   const handleRegister = async (eventId) => {
     try {
       // This would integrate with your existing registration system
-      const response = await fetch(`/api/events/${eventId}/register`, {
+      const response = await authFetch(`/api/events/${eventId}/register`, {
         method: 'POST',
         credentials: 'include'
       });
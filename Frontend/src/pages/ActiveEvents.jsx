@@ -1,6 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { eventApi } from '../api/event';
 import './ActiveEvents.css';
+import { authFetch } from '../api/http';
 
 const ActiveEvents = () => {
   const [events, setEvents] = useState([]);
@@ -22,7 +23,7 @@ const ActiveEvents = () => {
     try {
       setLoading(true);
       // Fetch active events specifically for students
-      const response = await fetch('http://localhost:8080/api/events/active');
+      const response = await authFetch('http://localhost:8080/api/events/active');
       const activeEvents = await response.json();
       
       setEvents(activeEvents);
@@ -50,7 +51,7 @@ const ActiveEvents = () => {
         return;
       }
 
-      const response = await fetch('http://localhost:8080/api/event-registrations/register', {
+      const response = await authFetch('http://localhost:8080/api/event-registrations/register', {
         method: 'POST',
         headers: {
           'Content-Type': 'application/x-www-form-urlencoded',
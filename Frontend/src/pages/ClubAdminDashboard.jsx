@@ -7,6 +7,7 @@ import EventApprovalModal from '../components/EventApprovalModal';
 import RejectedEventsPanel from '../components/RejectedEventsPanel';
 import { clubApi } from '../api/club';
 import { eventApi } from '../api/event.js';
+import { authFetch } from '../api/http';
 
 export default function ClubAdminDashboard() {
   const navigate = useNavigate();
@@ -153,7 +154,7 @@ export default function ClubAdminDashboard() {
   const fetchProposals = async () => {
     try {
       // Fetch events that accept ideas for proposals section
-      const response = await fetch('http://localhost:8080/api/events/club-topics');
+      const response = await authFetch('http://localhost:8080/api/events/club-topics');
       const eventsData = await response.json();
       const proposalsData = eventsData.map(event => ({
         id: event.id,
@@ -282,7 +283,7 @@ export default function ClubAdminDashboard() {
   const fetchEvents = async () => {
     try {
       // Fetch events that accept ideas for the Topics for Ideas section
-      const response = await fetch('http://localhost:8080/api/events/club-topics');
+      const response = await authFetch('http://localhost:8080/api/events/club-topics');
       const eventsData = await response.json();
       setEvents(eventsData || []);
     } catch (error) {
@@ -336,7 +337,7 @@ export default function ClubAdminDashboard() {
       console.log('Fetching all rejected events...');
       
       // Fetch ALL rejected events
-      const response = await fetch('http://localhost:8080/api/events/rejected', {
+      const response = await authFetch('http://localhost:8080/api/events/rejected', {
         headers: headers
       });
       
@@ -368,7 +369,7 @@ export default function ClubAdminDashboard() {
   const fetchActiveEvents = async () => {
     try {
       // Fetch published events for admin dashboard
-      const response = await fetch('http://localhost:8080/api/events/admin/published');
+      const response = await authFetch('http://localhost:8080/api/events/admin/published');
       const activeEventsData = await response.json();
       const list = activeEventsData || [];
       setActiveEvents(list);
@@ -377,7 +378,7 @@ export default function ClubAdminDashboard() {
         const counts = await Promise.all(
           (list || []).map(async ev => {
             try {
-              const r = await fetch(`http://localhost:8080/api/event-registrations/event/${ev.id}/count`);
+              const r = await authFetch(`http://localhost:8080/api/event-registrations/event/${ev.id}/count`);
               if (!r.ok) return { id: ev.id, count: ev.currentParticipants || 0 };
               const json = await r.json();
               return { id: ev.id, count: json?.count ?? (ev.currentParticipants || 0) };
@@ -508,7 +509,7 @@ export default function ClubAdminDashboard() {
     try {
       setRegistrationsEventId(eventId);
       // Fetch registrations for this event
-      const response = await fetch(`http://localhost:8080/api/event-registrations/event/${eventId}`);
+      const response = await authFetch(`http://localhost:8080/api/event-registrations/event/${eventId}`);
       if (response.ok) {
         const data = await response.json();
         setRegistrations(data);
@@ -543,7 +544,7 @@ export default function ClubAdminDashboard() {
     
     try {
       // Update backend immediately
-      const response = await fetch(`http://localhost:8080/api/event-registrations/${registrationId}/status?status=${newStatus}`, { 
+      const response = await authFetch(`http://localhost:8080/api/event-registrations/${registrationId}/status?status=${newStatus}`, { 
         method: 'PUT' 
       });
       
@@ -617,7 +618,7 @@ export default function ClubAdminDashboard() {
       if (registrationsEventId) {
         localStorage.removeItem(`attendance:event:${registrationsEventId}`);
         // Reload registrations to get updated statuses and refresh the modal
-        const response = await fetch(`http://localhost:8080/api/event-registrations/event/${registrationsEventId}`);
+        const response = await authFetch(`http://localhost:8080/api/event-registrations/event/${registrationsEventId}`);
         if (response.ok) {
           const data = await response.json();
           setRegistrations(data);
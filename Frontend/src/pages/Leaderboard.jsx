@@ -1,6 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { Trophy, Medal, Award, Users, Star, Crown } from 'lucide-react';
 import '../styles/Leaderboard.css';
+import { authFetch } from '../api/http';
 
 const Leaderboard = () => {
   const [leaderboardData, setLeaderboardData] = useState([]);
@@ -20,7 +21,7 @@ const Leaderboard = () => {
         return;
       }
 
-      const response = await fetch('http://localhost:8080/api/achievements/leaderboard?limit=50', {
+      const response = await authFetch('http://localhost:8080/api/achievements/leaderboard?limit=50', {
         method: 'GET',
         headers: {
           'Authorization': `Bearer ${token}`,
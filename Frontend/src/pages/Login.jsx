@@ -115,6 +115,9 @@ export default function Login() {
         
         // Store token first
         localStorage.setItem("token", token);
+        if (res.data.refreshToken) {
+          localStorage.setItem("refreshToken", res.data.refreshToken);
+        }
         
         // Store complete user data
         localStorage.setItem("user", JSON.stringify(userData));
@@ -168,6 +171,9 @@ export default function Login() {
     if (response.token) {
       localStorage.setItem('token', response.token);
     }
+    if (response.refreshToken) {
+      localStorage.setItem('refreshToken', response.refreshToken);
+    }
     
     if (response.user) {
       localStorage.setItem('user', JSON.stringify(response.user));
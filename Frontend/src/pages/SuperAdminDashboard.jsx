@@ -4,6 +4,8 @@ import { eventApi } from '../api/event.js';
 import { userApi } from '../api/user';
 import { analyticsApi } from '../api/analytics';
 import { superAdminRequestApi } from '../api/superAdminRequests';
+import { logoutUser } from '../api/auth';
+import { clearAuthData } from '../services/authService';
 import SuperAdminRequests from './SuperAdminRequests';
 import SuperAdminApprovalDashboard from '../components/SuperAdminApprovalDashboard';
 import './SuperAdminDashboard.css';
@@ -87,7 +89,13 @@ export default function SuperAdminDashboard() {
     }
   };
 
-  const handleLogout = () => {
+  const handleLogout = async () => {
+    try {
+      await logoutUser();
+    } catch (error) {
+      console.error('Logout request failed:', error);
+    }
+    clearAuthData();
     localStorage.removeItem('superAdminToken');
     localStorage.removeItem('userRole');
     localStorage.removeItem('userId');
@@ -71,6 +71,7 @@ export const setAuthData = (token, user) => {
  */
 export const clearAuthData = () => {
   localStorage.removeItem('token');
+  localStorage.removeItem('refreshToken');
   localStorage.removeItem('user');
 };
 